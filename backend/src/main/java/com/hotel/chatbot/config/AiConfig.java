@@ -1,25 +1,156 @@
 package com.hotel.chatbot.config;
 
+import com.hotel.chatbot.llm.ModelTierAdvisor;
+import com.hotel.chatbot.llm.OllamaEndpoint;
+import com.hotel.chatbot.llm.ResilientChatModel;
+import com.hotel.chatbot.llm.RoutingChatModel;
+import com.hotel.chatbot.memory.BoundedChatMemory;
+import com.hotel.chatbot.memory.CompactionAdvisor;
+import com.hotel.chatbot.memory.ConversationCompactor;
+import com.hotel.chatbot.memory.ObservableChatMemory;
+import com.hotel.chatbot.memory.PersistentChatMemory;
+import com.hotel.chatbot.repository.ConversationMessageRepository;
+import com.hotel.chatbot.service.LlmConcurrencyLimiter;
+import com.hotel.chatbot.tool.ParallelToolCallingManager;
+import io.micrometer.observation.ObservationRegistry;
+import org.springframework.ai.autoconfigure.ollama.OllamaChatProperties;
 import org.springframework.ai.chat.client.ChatClient;
 import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
-import org.springframework.ai.chat.memory.InMemoryChatMemory;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.ollama.OllamaChatModel;
+import org.springframework.ai.ollama.api.OllamaApi;
+import org.springframework.ai.tool.execution.ToolExecutionExceptionProcessor;
+import org.springframework.ai.tool.resolution.ToolCallbackResolver;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
 
 /**
  * Configuration for Spring AI ChatClient with Ollama.
  */
 @Configuration
+@EnableScheduling
 public class AiConfig {
 
+    /**
+     * Creates the tool-calling manager shared by the Ollama clients: Spring AI's default
+     * manager, with consecutive calls to the {@code app.chat.tools.parallel} tools of one
+     * model response run concurrently. Replaces the auto-configured manager.
+     */
+    @Bean
+    ParallelToolCallingManager toolCallingManager(
+            @Value("${app.chat.tools.parallel:searchHotels,getBookingDetails}") Set<String> parallelTools,
+            ToolCallbackResolver toolCallbackResolver,
+            ToolExecutionExceptionProcessor toolExecutionExceptionProcessor,
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        ToolCallingManager defaultManager = ToolCallingManager.builder()
+                .observationRegistry(observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP))
+                .toolCallbackResolver(toolCallbackResolver)
+                .toolExecutionExceptionProcessor(toolExecutionExceptionProcessor)
+                .build();
+        return new ParallelToolCallingManager(defaultManager, parallelTools);
+    }
+
+    /**
+     * Creates one Ollama client per configured endpoint behind a least-outstanding-requests
+     * router with session affinity. Defaults to the single {@code spring.ai.ollama.base-url} endpoint.
+     */
+    @Bean
+    RoutingChatModel routingChatModel(
+            @Value("${app.chat.llm.endpoints:${spring.ai.ollama.base-url:http://localhost:11434}}") List<String> endpoints,
+            @Value("${app.chat.llm.unhealthy-cooldown:30s}") Duration unhealthyCooldown,
+            @Value("${app.chat.llm.affinity-slack:2}") int affinitySlack,
+            OllamaChatProperties chatProperties,
+            ToolCallingManager toolCallingManager,
+            ObjectProvider<ObservationRegistry> observationRegistry) {
+        List<OllamaEndpoint> ollamaEndpoints = endpoints.stream()
+                .map(String::trim)
+                .filter(url -> !url.isEmpty())
+                .map(url -> new OllamaEndpoint(url, OllamaChatModel.builder()
+                        .ollamaApi(new OllamaApi(url))
+                        .defaultOptions(chatProperties.getOptions())
+                        .toolCallingManager(toolCallingManager)
+                        .observationRegistry(observationRegistry.getIfUnique(() -> ObservationRegistry.NOOP))
+                        .build()))
+                .toList();
+        return new RoutingChatModel(ollamaEndpoints, unhealthyCooldown, affinitySlack);
+    }
+
+    /**
+     * Creates the chat model used by the ChatClient: the endpoint router behind per-call
+     * deadlines, a circuit breaker and optional hedging to a second endpoint.
+     */
+    @Bean
+    @Primary
+    ResilientChatModel resilientChatModel(
+            RoutingChatModel routingChatModel,
+            @Value("${app.chat.llm.call-timeout:120s}") Duration callTimeout,
+            @Value("${app.chat.llm.circuit-breaker.failure-threshold:5}") int failureThreshold,
+            @Value("${app.chat.llm.circuit-breaker.open-duration:30s}") Duration openDuration,
+            @Value("${app.chat.llm.hedging.enabled:false}") boolean hedgingEnabled,
+            @Value("${app.chat.llm.hedging.percentile:95}") double hedgePercentile,
+            @Value("${app.chat.llm.hedging.min-delay:2s}") Duration minHedgeDelay,
+            LlmConcurrencyLimiter llmConcurrencyLimiter,
+            ToolCallingManager toolCallingManager) {
+        return new ResilientChatModel(routingChatModel, callTimeout, failureThreshold, openDuration,
+                hedgingEnabled, hedgePercentile, minHedgeDelay, llmConcurrencyLimiter, toolCallingManager);
+    }
+
+    /**
+     * Creates the conversation memory shared by all chat sessions.
+     * Retention is bounded per session, by idle time, and by total size. With
+     * {@code app.chat.memory.store=jdbc} the bounded memory becomes a hot cache in
+     * front of the {@code chat_messages} table, written behind in batches.
+     */
+    @Bean
+    ObservableChatMemory chatMemory(
+            @Value("${app.chat.memory.store:memory}") String store,
+            @Value("${app.chat.memory.max-messages-per-session:40}") int maxMessagesPerSession,
+            @Value("${app.chat.memory.max-tokens-per-session:4000}") int maxTokensPerSession,
+            @Value("${app.chat.memory.idle-ttl:30m}") Duration idleTtl,
+            @Value("${app.chat.memory.max-total-size:64MB}") DataSize maxTotalSize,
+            @Value("${app.chat.memory.jdbc.batch-size:50}") int batchSize,
+            @Value("${app.chat.memory.jdbc.max-pending:10000}") int maxPending,
+            ConversationMessageRepository conversationMessageRepository) {
+        var bounded = new BoundedChatMemory(maxMessagesPerSession, maxTokensPerSession, idleTtl, maxTotalSize.toBytes());
+        if ("jdbc".equalsIgnoreCase(store)) {
+            return new PersistentChatMemory(bounded, conversationMessageRepository,
+                    batchSize, maxPending, maxMessagesPerSession);
+        }
+        return bounded;
+    }
+
+    /**
+     * Creates the advisor that sends simple turns to {@code app.chat.llm.tiering.small-model}.
+     * Tiering is off while no small model is configured.
+     */
+    @Bean
+    ModelTierAdvisor modelTierAdvisor(
+            @Value("${app.chat.llm.tiering.small-model:}") String smallModel,
+            @Value("${app.chat.llm.tiering.small-max-words:8}") int smallMaxWords) {
+        return new ModelTierAdvisor(smallModel, smallMaxWords);
+    }
+
     /**
      * Creates a ChatClient bean with conversation memory support.
      * Uses the default ChatClient.Builder provided by Spring AI Ollama autoconfiguration.
+     * Long conversations are compacted in the background after each answered turn, and
+     * simple turns are routed to the small model tier.
      */
     @Bean
-    ChatClient chatClient(ChatClient.Builder builder) {
+    ChatClient chatClient(ChatClient.Builder builder, ObservableChatMemory chatMemory,
+                          ConversationCompactor compactor, ModelTierAdvisor modelTierAdvisor) {
         return builder
-                .defaultAdvisors(new MessageChatMemoryAdvisor(new InMemoryChatMemory()))
+                .defaultAdvisors(new MessageChatMemoryAdvisor(chatMemory), new CompactionAdvisor(compactor),
+                        modelTierAdvisor)
                 .build();
     }
 }
@@ -0,0 +1,22 @@
+package com.hotel.chatbot.config;
+
+import com.hotel.chatbot.llm.ModelWarmer;
+import org.springframework.boot.CommandLineRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Configuration class that warms up the chat models on startup.
+ * Warm-up runs in the background; {@code /api/health} reports it until it finishes.
+ * Both are switched off together by {@code app.chat.llm.warmup.enabled=false}.
+ */
+@Configuration
+public class ModelWarmup {
+
+    @Bean
+    @ConditionalOnProperty(name = "app.chat.llm.warmup.enabled", matchIfMissing = true)
+    CommandLineRunner warmUpModels(ModelWarmer modelWarmer) {
+        return args -> Thread.ofVirtual().name("model-warmup").start(modelWarmer::warmUp);
+    }
+}
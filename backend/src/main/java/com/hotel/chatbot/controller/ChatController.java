@@ -1,13 +1,22 @@
 package com.hotel.chatbot.controller;
 
+import com.hotel.chatbot.dto.ChatJob;
 import com.hotel.chatbot.dto.ChatRequest;
 import com.hotel.chatbot.dto.ChatResponse;
+import com.hotel.chatbot.dto.ChatStreamEvent;
+import com.hotel.chatbot.service.ChatJobService;
 import com.hotel.chatbot.service.ChatService;
 import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.http.codec.ServerSentEvent;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import java.net.URI;
+import java.util.Map;
 
 /**
  * REST controller for chat interactions.
@@ -20,9 +29,11 @@ public class ChatController {
     private static final Logger log = LoggerFactory.getLogger(ChatController.class);
 
     private final ChatService chatService;
+    private final ChatJobService chatJobService;
 
-    public ChatController(ChatService chatService) {
+    public ChatController(ChatService chatService, ChatJobService chatJobService) {
         this.chatService = chatService;
+        this.chatJobService = chatJobService;
     }
 
     /**
@@ -40,6 +51,57 @@ public class ChatController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Processes a user chat message and streams the AI response as Server-Sent Events.
+     * Emits {@code token} events as the model generates text, followed by a single
+     * {@code complete} event containing the full chat response. Token text is wrapped
+     * in a JSON object so leading whitespace survives SSE parsing.
+     *
+     * @param request the chat request containing the user's message
+     * @return the stream of chat events
+     */
+    @PostMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<ServerSentEvent<Object>> streamChat(@Valid @RequestBody ChatRequest request) {
+        log.debug("Received streaming chat message: {}", request.message());
+
+        return chatService.streamChat(request.message(), request.sessionId())
+                .map(event -> ServerSentEvent.builder()
+                        .event(event.type())
+                        .data(ChatStreamEvent.TOKEN.equals(event.type())
+                                ? Map.of("content", event.content())
+                                : event.response())
+                        .build());
+    }
+
+    /**
+     * Accepts a chat message to be answered in the background.
+     * Poll the returned job's location for the response.
+     *
+     * @param request the chat request containing the user's message
+     * @return 202 Accepted with the queued job
+     */
+    @PostMapping("/jobs")
+    public ResponseEntity<ChatJob> submitJob(@Valid @RequestBody ChatRequest request) {
+        log.debug("Received chat job: {}", request.message());
+
+        ChatJob job = chatJobService.submit(request.message(), request.sessionId());
+
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/chat/jobs/" + job.jobId()))
+                .body(job);
+    }
+
+    /**
+     * Returns the status of a chat job, with its response once completed.
+     *
+     * @param jobId the job ID
+     * @return the job
+     */
+    @GetMapping("/jobs/{jobId}")
+    public ResponseEntity<ChatJob> getJob(@PathVariable String jobId) {
+        return ResponseEntity.ok(chatJobService.get(jobId));
+    }
+
     /**
      * Clears the chat session history.
      *
@@ -1,5 +1,7 @@
 package com.hotel.chatbot.controller;
 
+import com.hotel.chatbot.llm.ModelWarmer;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
@@ -15,15 +17,24 @@ import java.util.Map;
 @RequestMapping("/api/health")
 public class HealthController {
 
+    private final ModelWarmer modelWarmer;
+
+    public HealthController(ModelWarmer modelWarmer) {
+        this.modelWarmer = modelWarmer;
+    }
+
     /**
      * Returns the health status of the application.
+     * Reports {@code WARMING_UP} with 503 until the chat models have been loaded.
      *
      * @return health status with timestamp
      */
     @GetMapping
     public ResponseEntity<Map<String, Object>> health() {
-        return ResponseEntity.ok(Map.of(
-                "status", "UP",
+        boolean ready = modelWarmer.isReady();
+        return ResponseEntity.status(ready ? HttpStatus.OK : HttpStatus.SERVICE_UNAVAILABLE).body(Map.of(
+                "status", ready ? "UP" : "WARMING_UP",
+                "models", modelWarmer.getState().name(),
                 "timestamp", LocalDateTime.now().toString(),
                 "service", "Hotel Booking Chatbot"
         ));
@@ -0,0 +1,110 @@
+package com.hotel.chatbot.controller;
+
+import com.hotel.chatbot.llm.ModelTierAdvisor;
+import com.hotel.chatbot.llm.ModelWarmer;
+import com.hotel.chatbot.llm.ResilientChatModel;
+import com.hotel.chatbot.llm.RoutingChatModel;
+import com.hotel.chatbot.memory.ConversationCompactor;
+import com.hotel.chatbot.memory.ObservableChatMemory;
+import com.hotel.chatbot.service.ChatJobService;
+import com.hotel.chatbot.service.HotelCatalogIndex;
+import com.hotel.chatbot.service.HotelNameResolver;
+import com.hotel.chatbot.service.InventoryService;
+import com.hotel.chatbot.service.HotelSearchPrefetcher;
+import com.hotel.chatbot.service.IntentRouter;
+import com.hotel.chatbot.service.LlmConcurrencyLimiter;
+import com.hotel.chatbot.service.ResponseCache;
+import com.hotel.chatbot.service.SessionLanes;
+import com.hotel.chatbot.tool.ParallelToolCallingManager;
+import com.hotel.chatbot.tool.ToolResultMemo;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Exposes runtime counters for monitoring chat throughput and capacity.
+ */
+@RestController
+@RequestMapping("/api/metrics")
+public class MetricsController {
+
+    private final LlmConcurrencyLimiter llmLimiter;
+    private final ObservableChatMemory chatMemory;
+    private final IntentRouter intentRouter;
+    private final ConversationCompactor compactor;
+    private final ResponseCache responseCache;
+    private final RoutingChatModel chatModel;
+    private final ResilientChatModel resilientChatModel;
+    private final ChatJobService chatJobService;
+    private final SessionLanes sessionLanes;
+    private final ModelTierAdvisor modelTierAdvisor;
+    private final ModelWarmer modelWarmer;
+    private final HotelSearchPrefetcher prefetcher;
+    private final ToolResultMemo toolMemo;
+    private final ParallelToolCallingManager toolCallingManager;
+    private final HotelCatalogIndex catalogIndex;
+    private final HotelNameResolver nameResolver;
+    private final InventoryService inventory;
+
+    public MetricsController(LlmConcurrencyLimiter llmLimiter, ObservableChatMemory chatMemory,
+                             IntentRouter intentRouter, ConversationCompactor compactor,
+                             ResponseCache responseCache, RoutingChatModel chatModel,
+                             ResilientChatModel resilientChatModel, ChatJobService chatJobService,
+                             SessionLanes sessionLanes, ModelTierAdvisor modelTierAdvisor,
+                             ModelWarmer modelWarmer, HotelSearchPrefetcher prefetcher,
+                             ToolResultMemo toolMemo, ParallelToolCallingManager toolCallingManager,
+                             HotelCatalogIndex catalogIndex, HotelNameResolver nameResolver,
+                             InventoryService inventory) {
+        this.llmLimiter = llmLimiter;
+        this.chatMemory = chatMemory;
+        this.intentRouter = intentRouter;
+        this.compactor = compactor;
+        this.responseCache = responseCache;
+        this.chatModel = chatModel;
+        this.resilientChatModel = resilientChatModel;
+        this.chatJobService = chatJobService;
+        this.sessionLanes = sessionLanes;
+        this.modelTierAdvisor = modelTierAdvisor;
+        this.modelWarmer = modelWarmer;
+        this.prefetcher = prefetcher;
+        this.toolMemo = toolMemo;
+        this.toolCallingManager = toolCallingManager;
+        this.catalogIndex = catalogIndex;
+        this.nameResolver = nameResolver;
+        this.inventory = inventory;
+    }
+
+    /**
+     * Returns a snapshot of the application's runtime counters.
+     *
+     * @return metrics grouped by component
+     */
+    @GetMapping
+    public ResponseEntity<Map<String, Object>> metrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("timestamp", LocalDateTime.now().toString());
+        metrics.put("llm", llmLimiter.stats());
+        metrics.put("llmEndpoints", chatModel.stats());
+        metrics.put("llmResilience", resilientChatModel.stats());
+        metrics.put("modelTiers", modelTierAdvisor.stats());
+        metrics.put("modelWarmup", modelWarmer.stats());
+        metrics.put("sessionLanes", sessionLanes.stats());
+        metrics.put("chatMemory", chatMemory.stats());
+        metrics.put("fastPath", intentRouter.stats());
+        metrics.put("catalogIndex", catalogIndex.stats());
+        metrics.put("hotelNames", nameResolver.stats());
+        metrics.put("inventory", inventory.stats());
+        metrics.put("prefetch", prefetcher.stats());
+        metrics.put("toolMemo", toolMemo.stats());
+        metrics.put("toolCalls", toolCallingManager.stats());
+        metrics.put("compaction", compactor.stats());
+        metrics.put("responseCache", responseCache.stats());
+        metrics.put("chatJobs", chatJobService.stats());
+        return ResponseEntity.ok(metrics);
+    }
+}
@@ -0,0 +1,24 @@
+package com.hotel.chatbot.dto;
+
+import java.time.Instant;
+
+/**
+ * Status of an asynchronous chat turn.
+ *
+ * @param jobId       the job ID to poll
+ * @param status      where the job is in its lifecycle
+ * @param result      the chat response once the job has completed
+ * @param error       why the job failed, if it did
+ * @param submittedAt when the job was accepted
+ * @param completedAt when the job completed or failed
+ */
+public record ChatJob(
+        String jobId,
+        Status status,
+        ChatResponse result,
+        String error,
+        Instant submittedAt,
+        Instant completedAt
+) {
+    public enum Status { QUEUED, RUNNING, COMPLETED, FAILED }
+}
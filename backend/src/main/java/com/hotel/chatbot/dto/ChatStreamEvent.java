@@ -0,0 +1,31 @@
+package com.hotel.chatbot.dto;
+
+/**
+ * A single event emitted on the streaming chat endpoint.
+ *
+ * @param type     the event type ({@code token} or {@code complete})
+ * @param content  the token text for {@code token} events
+ * @param response the final structured response for {@code complete} events
+ */
+public record ChatStreamEvent(
+        String type,
+        String content,
+        ChatResponse response
+) {
+    public static final String TOKEN = "token";
+    public static final String COMPLETE = "complete";
+
+    /**
+     * Creates an event carrying a chunk of generated text.
+     */
+    public static ChatStreamEvent token(String content) {
+        return new ChatStreamEvent(TOKEN, content, null);
+    }
+
+    /**
+     * Creates the terminal event carrying the full structured response.
+     */
+    public static ChatStreamEvent complete(ChatResponse response) {
+        return new ChatStreamEvent(COMPLETE, null, response);
+    }
+}
@@ -3,6 +3,7 @@ package com.hotel.chatbot.dto;
 import com.hotel.chatbot.entity.Hotel;
 
 import java.math.BigDecimal;
+import java.util.UUID;
 
 /**
  * DTO for hotel search results.
@@ -15,6 +16,7 @@ import java.math.BigDecimal;
  * @param roomType      type of room (single, double, suite)
  * @param rating        hotel rating (1-5)
  * @param available     availability status
+ * @param totalRooms    rooms of this type the hotel offers
  */
 public record HotelSearchResult(
         String id,
@@ -24,8 +26,17 @@ public record HotelSearchResult(
         Integer pricePerNight,
         String roomType,
         BigDecimal rating,
-        Boolean available
+        Boolean available,
+        Integer totalRooms
 ) {
+    /**
+     * Creates a HotelSearchResult from selected hotel columns, for query projections.
+     */
+    public HotelSearchResult(UUID id, String name, String city, String address, Integer pricePerNight,
+                             String roomType, BigDecimal rating, Boolean available, Integer totalRooms) {
+        this(id.toString(), name, city, address, pricePerNight, roomType, rating, available, totalRooms);
+    }
+
     /**
      * Creates a HotelSearchResult from a Hotel entity.
      */
@@ -38,7 +49,8 @@ public record HotelSearchResult(
                 hotel.getPricePerNight(),
                 hotel.getRoomType(),
                 hotel.getRating(),
-                hotel.getAvailability()
+                hotel.getAvailability(),
+                hotel.getTotalRooms()
         );
     }
 }
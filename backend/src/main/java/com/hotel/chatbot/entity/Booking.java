@@ -167,6 +167,17 @@ public class Booking {
         calculateTotalPrice();
     }
 
+    /**
+     * Moves the booking to new dates, checking them together so the stay can move
+     * past its old check-out date.
+     */
+    public void reschedule(LocalDate checkIn, LocalDate checkOut) {
+        this.checkIn = Objects.requireNonNull(checkIn, "Check-in date must not be null");
+        this.checkOut = Objects.requireNonNull(checkOut, "Check-out date must not be null");
+        validateDates();
+        calculateTotalPrice();
+    }
+
     public void setGuests(Integer guests) {
         this.guests = Objects.requireNonNull(guests, "Number of guests must not be null");
     }
@@ -0,0 +1,93 @@
+package com.hotel.chatbot.entity;
+
+import jakarta.persistence.*;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+
+/**
+ * Entity representing a single persisted chat message in a conversation.
+ * Backs the durable chat memory so sessions survive restarts and are shared across nodes.
+ */
+@Entity
+@Table(name = "chat_messages", indexes = {
+        @Index(name = "idx_chat_messages_conversation", columnList = "conversation_id, sequence")
+})
+public class ConversationMessage {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.UUID)
+    @Column(name = "message_id")
+    private UUID id;
+
+    @Column(name = "conversation_id", nullable = false, length = 100)
+    private String conversationId;
+
+    @Column(name = "message_type", nullable = false, length = 20)
+    private String messageType;
+
+    @Column(columnDefinition = "TEXT")
+    private String content;
+
+    @Column(nullable = false)
+    private Long sequence;
+
+    @Column(name = "created_at", updatable = false)
+    private LocalDateTime createdAt;
+
+    protected ConversationMessage() {
+        // JPA requires a no-arg constructor
+    }
+
+    public ConversationMessage(String conversationId, String messageType, String content, long sequence) {
+        this.conversationId = Objects.requireNonNull(conversationId, "Conversation ID must not be null");
+        this.messageType = Objects.requireNonNull(messageType, "Message type must not be null");
+        this.content = content;
+        this.sequence = sequence;
+        this.createdAt = LocalDateTime.now();
+    }
+
+    // Getters
+    public UUID getId() {
+        return id;
+    }
+
+    public String getConversationId() {
+        return conversationId;
+    }
+
+    public String getMessageType() {
+        return messageType;
+    }
+
+    public String getContent() {
+        return content;
+    }
+
+    public Long getSequence() {
+        return sequence;
+    }
+
+    public LocalDateTime getCreatedAt() {
+        return createdAt;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        ConversationMessage that = (ConversationMessage) o;
+        return Objects.equals(id, that.id);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(id);
+    }
+
+    @Override
+    public String toString() {
+        return "ConversationMessage{id=" + id + ", conversationId='" + conversationId +
+               "', messageType=" + messageType + ", sequence=" + sequence + "}";
+    }
+}
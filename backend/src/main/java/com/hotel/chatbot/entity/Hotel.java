@@ -3,17 +3,24 @@ package com.hotel.chatbot.entity;
 import jakarta.persistence.*;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.Objects;
 import java.util.UUID;
 
 /**
  * Entity representing a hotel in the booking system.
  * Hotels have rooms available for booking with various attributes.
+ * Each hotel row offers {@link #getTotalRooms()} rooms of its room type.
  */
 @Entity
 @Table(name = "hotels")
 public class Hotel {
 
+    /**
+     * Rooms a hotel offers unless told otherwise; matches the column default in init.sql.
+     */
+    public static final int DEFAULT_TOTAL_ROOMS = 10;
+
     @Id
     @GeneratedValue(strategy = GenerationType.UUID)
     @Column(name = "hotel_id")
@@ -37,12 +44,18 @@ public class Hotel {
     @Column
     private Boolean availability = true;
 
+    @Column(name = "total_rooms", nullable = false)
+    private Integer totalRooms = DEFAULT_TOTAL_ROOMS;
+
     @Column(precision = 2, scale = 1)
     private BigDecimal rating;
 
     @Column(name = "created_at", updatable = false)
     private LocalDateTime createdAt;
 
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+
     protected Hotel() {
         // JPA requires a no-arg constructor
     }
@@ -58,6 +71,17 @@ public class Hotel {
     @PrePersist
     protected void onCreate() {
         this.createdAt = LocalDateTime.now();
+        this.updatedAt = now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        this.updatedAt = now();
+    }
+
+    // The database keeps microseconds; truncating keeps updatedAt equal to the stored value
+    private static LocalDateTime now() {
+        return LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
     }
 
     // Getters
@@ -89,6 +113,10 @@ public class Hotel {
         return availability;
     }
 
+    public Integer getTotalRooms() {
+        return totalRooms;
+    }
+
     public BigDecimal getRating() {
         return rating;
     }
@@ -97,6 +125,10 @@ public class Hotel {
         return createdAt;
     }
 
+    public LocalDateTime getUpdatedAt() {
+        return updatedAt;
+    }
+
     // Setters
     public void setName(String name) {
         this.name = Objects.requireNonNull(name, "Hotel name must not be null");
@@ -122,6 +154,13 @@ public class Hotel {
         this.availability = availability;
     }
 
+    public void setTotalRooms(Integer totalRooms) {
+        if (totalRooms == null || totalRooms < 0) {
+            throw new IllegalArgumentException("Total rooms must not be negative");
+        }
+        this.totalRooms = totalRooms;
+    }
+
     public void setRating(BigDecimal rating) {
         this.rating = rating;
     }
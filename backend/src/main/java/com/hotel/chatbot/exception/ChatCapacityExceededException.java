@@ -0,0 +1,11 @@
+package com.hotel.chatbot.exception;
+
+/**
+ * Exception thrown when a chat request cannot obtain an LLM slot in time.
+ */
+public class ChatCapacityExceededException extends RuntimeException {
+
+    public ChatCapacityExceededException(String message) {
+        super(message);
+    }
+}
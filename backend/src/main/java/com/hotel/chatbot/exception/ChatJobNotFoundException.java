@@ -0,0 +1,11 @@
+package com.hotel.chatbot.exception;
+
+/**
+ * Exception thrown when a chat job is unknown or its result has expired.
+ */
+public class ChatJobNotFoundException extends RuntimeException {
+
+    public ChatJobNotFoundException(String jobId) {
+        super("Chat job not found or expired: " + jobId);
+    }
+}
@@ -2,6 +2,7 @@ package com.hotel.chatbot.exception;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -74,6 +75,72 @@ public class GlobalExceptionHandler {
         ));
     }
 
+    /**
+     * Handles chat job not found exceptions.
+     */
+    @ExceptionHandler(ChatJobNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleChatJobNotFound(ChatJobNotFoundException ex) {
+        log.warn("Chat job not found: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(new ErrorResponse(
+                HttpStatus.NOT_FOUND.value(),
+                "Chat job not found",
+                ex.getMessage(),
+                LocalDateTime.now()
+        ));
+    }
+
+    /**
+     * Handles requests rejected because the LLM is saturated.
+     */
+    @ExceptionHandler(ChatCapacityExceededException.class)
+    public ResponseEntity<ErrorResponse> handleChatCapacityExceeded(ChatCapacityExceededException ex) {
+        log.warn("Chat capacity exceeded: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .body(new ErrorResponse(
+                        HttpStatus.SERVICE_UNAVAILABLE.value(),
+                        "Service busy",
+                        ex.getMessage(),
+                        LocalDateTime.now()
+                ));
+    }
+
+    /**
+     * Handles turns rejected because their session already has too many turns queued.
+     */
+    @ExceptionHandler(SessionBusyException.class)
+    public ResponseEntity<ErrorResponse> handleSessionBusy(SessionBusyException ex) {
+        log.warn("Session busy: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "2")
+                .body(new ErrorResponse(
+                        HttpStatus.TOO_MANY_REQUESTS.value(),
+                        "Session busy",
+                        ex.getMessage(),
+                        LocalDateTime.now()
+                ));
+    }
+
+    /**
+     * Handles requests failed fast because the model backend is slow or unhealthy.
+     */
+    @ExceptionHandler(LlmUnavailableException.class)
+    public ResponseEntity<ErrorResponse> handleLlmUnavailable(LlmUnavailableException ex) {
+        log.warn("LLM unavailable: {}", ex.getMessage());
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(Math.max(1, ex.getRetryAfter().toSeconds())))
+                .body(new ErrorResponse(
+                        HttpStatus.SERVICE_UNAVAILABLE.value(),
+                        "Model unavailable",
+                        ex.getMessage(),
+                        LocalDateTime.now()
+                ));
+    }
+
     /**
      * Handles all other uncaught exceptions.
      */
@@ -0,0 +1,24 @@
+package com.hotel.chatbot.exception;
+
+import java.time.Duration;
+
+/**
+ * Exception thrown when the model backend misses its deadline or is failing fast
+ * behind an open circuit breaker.
+ */
+public class LlmUnavailableException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public LlmUnavailableException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * Returns how long the client should wait before retrying.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
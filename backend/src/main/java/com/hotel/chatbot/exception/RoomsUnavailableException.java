@@ -0,0 +1,13 @@
+package com.hotel.chatbot.exception;
+
+import java.time.LocalDate;
+
+/**
+ * Exception thrown when a hotel has no room free for some night of a stay.
+ */
+public class RoomsUnavailableException extends RuntimeException {
+
+    public RoomsUnavailableException(String hotelName, LocalDate checkIn, LocalDate checkOut) {
+        super("No rooms are available at " + hotelName + " from " + checkIn + " to " + checkOut + ".");
+    }
+}
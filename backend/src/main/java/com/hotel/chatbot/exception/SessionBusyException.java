@@ -0,0 +1,11 @@
+package com.hotel.chatbot.exception;
+
+/**
+ * Exception thrown when a chat session already has as many turns queued as it may hold.
+ */
+public class SessionBusyException extends RuntimeException {
+
+    public SessionBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,148 @@
+package com.hotel.chatbot.llm;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Consecutive-failure circuit breaker for calls into the model backend.
+ * <p>
+ * After {@code failureThreshold} failed calls in a row the breaker opens and rejects
+ * calls for {@code openDuration}. It then lets a single trial call through: success
+ * closes the breaker, failure opens it again for another {@code openDuration}.
+ */
+public class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int failureThreshold;
+    private final Duration openDuration;
+    private final Clock clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private State state = State.CLOSED;
+    private int consecutiveFailures;
+    private Instant openUntil = Instant.MIN;
+    private boolean trialInFlight;
+
+    private long opened;
+    private long rejected;
+
+    public CircuitBreaker(int failureThreshold, Duration openDuration, Clock clock) {
+        this.failureThreshold = failureThreshold;
+        this.openDuration = openDuration;
+        this.clock = clock;
+    }
+
+    /**
+     * Asks to make a call.
+     *
+     * @return true if the call may proceed; the caller must then report its outcome
+     *         through {@link #onSuccess()}, {@link #onFailure()} or {@link #onAbandoned()}
+     */
+    public boolean tryAcquire() {
+        lock.lock();
+        try {
+            if (state == State.OPEN && !clock.instant().isBefore(openUntil)) {
+                state = State.HALF_OPEN;
+            }
+            if (state == State.CLOSED) {
+                return true;
+            }
+            if (state == State.HALF_OPEN && !trialInFlight) {
+                trialInFlight = true;
+                return true;
+            }
+            rejected++;
+            return false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a successful call, closing the breaker.
+     */
+    public void onSuccess() {
+        lock.lock();
+        try {
+            state = State.CLOSED;
+            consecutiveFailures = 0;
+            trialInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a failed call, opening the breaker at the threshold or after a failed trial.
+     */
+    public void onFailure() {
+        lock.lock();
+        try {
+            consecutiveFailures++;
+            trialInFlight = false;
+            if (state == State.HALF_OPEN || (state == State.CLOSED && consecutiveFailures >= failureThreshold)) {
+                state = State.OPEN;
+                openUntil = clock.instant().plus(openDuration);
+                opened++;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Records a call that ended without an outcome, such as a cancelled stream,
+     * so a half-open breaker can admit another trial.
+     */
+    public void onAbandoned() {
+        lock.lock();
+        try {
+            trialInFlight = false;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns how long until the breaker admits a trial call, or zero if it is not open.
+     */
+    public Duration retryAfter() {
+        lock.lock();
+        try {
+            if (state != State.OPEN) {
+                return Duration.ZERO;
+            }
+            Duration remaining = Duration.between(clock.instant(), openUntil);
+            return remaining.isNegative() ? Duration.ZERO : remaining;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public State getState() {
+        lock.lock();
+        try {
+            return state;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    Map<String, Object> stats() {
+        lock.lock();
+        try {
+            return Map.of(
+                    "state", state.name(),
+                    "consecutiveFailures", consecutiveFailures,
+                    "opened", opened,
+                    "rejected", rejected
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+}
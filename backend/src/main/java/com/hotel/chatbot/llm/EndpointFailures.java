@@ -0,0 +1,48 @@
+package com.hotel.chatbot.llm;
+
+import com.hotel.chatbot.exception.LlmUnavailableException;
+import org.springframework.ai.retry.TransientAiException;
+import org.springframework.web.client.HttpServerErrorException;
+import org.springframework.web.client.ResourceAccessException;
+import org.springframework.web.reactive.function.client.WebClientRequestException;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+
+import java.io.IOException;
+import java.util.regex.Pattern;
+
+/**
+ * Tells failures of the Ollama endpoint itself apart from failures raised while the
+ * model's answer was being processed.
+ * <p>
+ * Only transport errors, 5xx responses and deadlines say anything about the endpoint's
+ * health. A 4xx response or an exception thrown by a tool means the endpoint answered.
+ */
+final class EndpointFailures {
+
+    /** Message of the exception Ollama's response error handler throws: {@code [status] reason - body}. */
+    private static final Pattern OLLAMA_SERVER_ERROR = Pattern.compile("^\\[5\\d\\d] .*", Pattern.DOTALL);
+
+    private EndpointFailures() {
+    }
+
+    static boolean isEndpointFailure(Throwable error) {
+        for (Throwable e = error; e != null; e = e.getCause() == e ? null : e.getCause()) {
+            if (e instanceof LlmUnavailableException
+                    || e instanceof ResourceAccessException
+                    || e instanceof WebClientRequestException
+                    || e instanceof IOException
+                    || e instanceof HttpServerErrorException
+                    || e instanceof TransientAiException) {
+                return true;
+            }
+            if (e instanceof WebClientResponseException response) {
+                return response.getStatusCode().is5xxServerError();
+            }
+            if (e.getClass() == RuntimeException.class && e.getMessage() != null
+                    && OLLAMA_SERVER_ERROR.matcher(e.getMessage()).matches()) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -0,0 +1,176 @@
+package com.hotel.chatbot.llm;
+
+import org.springframework.ai.chat.client.advisor.api.AdvisedRequest;
+import org.springframework.ai.chat.client.advisor.api.AdvisedResponse;
+import org.springframework.ai.chat.client.advisor.api.Advisor;
+import org.springframework.ai.chat.client.advisor.api.CallAroundAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAroundAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAroundAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAroundAdvisorChain;
+import org.springframework.ai.chat.metadata.Usage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.ollama.api.OllamaOptions;
+import reactor.core.publisher.Flux;
+
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Pattern;
+
+/**
+ * Sends simple turns to a small, fast model and everything else to the configured model.
+ * <p>
+ * Turns are classified with cheap heuristics on the user's message: a short message with
+ * no numbers, dates or booking constraints (e.g. "thanks", "yes, book it") goes to the
+ * small model; anything longer or carrying constraints stays on the large model, which is
+ * the model in the request's options. Tiering is off when no small model is configured.
+ * Latency and token usage are counted per tier.
+ */
+public class ModelTierAdvisor implements CallAroundAdvisor, StreamAroundAdvisor {
+
+    public enum Tier { SMALL, LARGE }
+
+    /**
+     * Advise-context key under which the chosen tier is recorded.
+     */
+    public static final String TIER_KEY = "modelTier";
+
+    private static final Pattern CONSTRAINT = Pattern.compile(
+            "\\d|\\b(jan|feb|mar|apr|may|jun|jul|aug|sep|oct|nov|dec)[a-z]*\\b"
+                    + "|\\b(today|tomorrow|tonight|weekend|next|from|until|between|under|below|above|budget"
+                    + "|cheap|cheaper|cheapest|price|rupees|inr|suite|single|double|guests?|people|adults?"
+                    + "|children|kids|nights?|check-?in|check-?out|change|modify|cancel|instead|compare"
+                    + "|recommend|itinerary|but|also|except|near|hbk)\\b");
+
+    private final String smallModel;
+    private final int smallMaxWords;
+    private final Map<Tier, TierStats> tierStats = new EnumMap<>(Tier.class);
+
+    public ModelTierAdvisor(String smallModel, int smallMaxWords) {
+        this.smallModel = smallModel == null || smallModel.isBlank() ? null : smallModel.trim();
+        this.smallMaxWords = smallMaxWords;
+        for (Tier tier : Tier.values()) {
+            tierStats.put(tier, new TierStats());
+        }
+    }
+
+    @Override
+    public AdvisedResponse aroundCall(AdvisedRequest advisedRequest, CallAroundAdvisorChain chain) {
+        Tier tier = classify(advisedRequest.userText());
+        TierStats stats = tierStats.get(tier);
+        long start = System.nanoTime();
+        try {
+            AdvisedResponse response = chain.nextAroundCall(route(advisedRequest, tier));
+            stats.record(System.nanoTime() - start, response.response());
+            return response;
+        } catch (RuntimeException e) {
+            stats.failures.increment();
+            throw e;
+        }
+    }
+
+    @Override
+    public Flux<AdvisedResponse> aroundStream(AdvisedRequest advisedRequest, StreamAroundAdvisorChain chain) {
+        return Flux.defer(() -> {
+            Tier tier = classify(advisedRequest.userText());
+            TierStats stats = tierStats.get(tier);
+            long start = System.nanoTime();
+            // Ollama reports token counts on the final chunk only
+            var last = new AtomicReference<ChatResponse>();
+            return chain.nextAroundStream(route(advisedRequest, tier))
+                    .doOnNext(response -> {
+                        if (response.response() != null) {
+                            last.set(response.response());
+                        }
+                    })
+                    .doOnComplete(() -> stats.record(System.nanoTime() - start, last.get()))
+                    .doOnError(e -> stats.failures.increment());
+        });
+    }
+
+    @Override
+    public String getName() {
+        return getClass().getSimpleName();
+    }
+
+    @Override
+    public int getOrder() {
+        return Advisor.DEFAULT_CHAT_MEMORY_PRECEDENCE_ORDER + 1;
+    }
+
+    /**
+     * Picks the tier for a user message.
+     */
+    public Tier classify(String userText) {
+        if (smallModel == null || userText == null) {
+            return Tier.LARGE;
+        }
+        String text = userText.toLowerCase(Locale.ROOT).strip();
+        if (text.isEmpty() || text.split("\\s+").length > smallMaxWords || CONSTRAINT.matcher(text).find()) {
+            return Tier.LARGE;
+        }
+        return Tier.SMALL;
+    }
+
+    /**
+     * Returns per-tier turn counts, latency and token usage.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", smallModel != null);
+        for (Tier tier : Tier.values()) {
+            Map<String, Object> tierMap = new LinkedHashMap<>(tierStats.get(tier).snapshot());
+            if (tier == Tier.SMALL) {
+                tierMap.put("model", smallModel);
+            }
+            stats.put(tier.name().toLowerCase(Locale.ROOT), tierMap);
+        }
+        return stats;
+    }
+
+    private AdvisedRequest route(AdvisedRequest advisedRequest, Tier tier) {
+        var withTier = advisedRequest.updateContext(context -> {
+            Map<String, Object> updated = new LinkedHashMap<>(context);
+            updated.put(TIER_KEY, tier.name());
+            return updated;
+        });
+        if (tier == Tier.SMALL && advisedRequest.chatOptions() instanceof OllamaOptions options) {
+            OllamaOptions small = options.copy();
+            small.setModel(smallModel);
+            return AdvisedRequest.from(withTier).chatOptions(small).build();
+        }
+        return withTier;
+    }
+
+    private static final class TierStats {
+        private final LongAdder turns = new LongAdder();
+        private final LongAdder failures = new LongAdder();
+        private final LongAdder latencyNanos = new LongAdder();
+        private final LongAdder promptTokens = new LongAdder();
+        private final LongAdder completionTokens = new LongAdder();
+
+        private void record(long elapsedNanos, ChatResponse response) {
+            turns.increment();
+            latencyNanos.add(elapsedNanos);
+            Usage usage = response != null && response.getMetadata() != null ? response.getMetadata().getUsage() : null;
+            if (usage != null) {
+                promptTokens.add(usage.getPromptTokens() != null ? usage.getPromptTokens() : 0);
+                completionTokens.add(usage.getCompletionTokens() != null ? usage.getCompletionTokens() : 0);
+            }
+        }
+
+        private Map<String, Object> snapshot() {
+            long count = turns.sum();
+            return Map.of(
+                    "turns", count,
+                    "failures", failures.sum(),
+                    "avgLatencyMs", count == 0 ? 0 : latencyNanos.sum() / count / 1_000_000,
+                    "promptTokens", promptTokens.sum(),
+                    "completionTokens", completionTokens.sum()
+            );
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.hotel.chatbot.llm;
+
+import com.hotel.chatbot.service.ChatService;
+import com.hotel.chatbot.service.LlmConcurrencyLimiter;
+import com.hotel.chatbot.tool.BookingToolCallbacks;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.ollama.api.OllamaOptions;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Loads the chat models on every Ollama endpoint before the first user turn and keeps
+ * them resident afterwards.
+ * <p>
+ * Warm-up sends each configured model (the chat model and, if set, the small tier model)
+ * a one-token request carrying the chat system prompt and tool schema, so the model is
+ * loaded and the server has the shared prompt prefix cached. Until warm-up finishes the
+ * application reports itself as warming up; endpoints that fail warm-up leave it
+ * {@code DEGRADED} rather than holding readiness back. Keep-alive pings repeat the same
+ * request periodically so Ollama does not unload an idle model, and move the state between
+ * {@code READY} and {@code DEGRADED} as endpoints fail or recover. Priming requests take an
+ * {@link LlmConcurrencyLimiter} permit like any other call, so they queue behind user turns
+ * instead of adding to the load on the endpoints.
+ * <p>
+ * Each priming request runs on its own virtual thread and is abandoned after the warm-up
+ * call timeout, so a stalled endpoint can neither hold warm-up back forever nor block the
+ * shared scheduler thread that triggers keep-alive pings.
+ */
+@Component
+public class ModelWarmer implements AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ModelWarmer.class);
+
+    public enum State { WARMING_UP, READY, DEGRADED }
+
+    private final RoutingChatModel router;
+    private final BookingToolCallbacks bookingTools;
+    private final LlmConcurrencyLimiter limiter;
+    private final List<String> models;
+    private final String keepAlive;
+    private final boolean enabled;
+    private final Duration callTimeout;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final AtomicBoolean pinging = new AtomicBoolean();
+
+    private volatile State state;
+    private volatile Instant lastPing;
+    private final AtomicLong primed = new AtomicLong();
+    private final AtomicLong pings = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+
+    public ModelWarmer(RoutingChatModel router, BookingToolCallbacks bookingTools, LlmConcurrencyLimiter limiter,
+                       @Value("${app.chat.llm.warmup.enabled:true}") boolean enabled,
+                       @Value("${app.chat.llm.warmup.keep-alive:30m}") String keepAlive,
+                       @Value("${app.chat.llm.warmup.call-timeout:60s}") Duration callTimeout,
+                       @Value("${app.chat.llm.tiering.small-model:}") String smallModel) {
+        this.router = router;
+        this.bookingTools = bookingTools;
+        this.limiter = limiter;
+        this.enabled = enabled;
+        this.keepAlive = keepAlive;
+        this.callTimeout = callTimeout;
+        this.models = new ArrayList<>();
+        if (router.getDefaultOptions() != null && router.getDefaultOptions().getModel() != null) {
+            models.add(router.getDefaultOptions().getModel());
+        }
+        if (smallModel != null && !smallModel.isBlank() && !models.contains(smallModel.trim())) {
+            models.add(smallModel.trim());
+        }
+        this.state = enabled ? State.WARMING_UP : State.READY;
+    }
+
+    /**
+     * Primes every model on every endpoint. Called once at startup.
+     */
+    public void warmUp() {
+        if (!enabled) {
+            return;
+        }
+        long start = System.nanoTime();
+        int failed = primeAll(primed);
+        state = failed == 0 ? State.READY : State.DEGRADED;
+        log.info("Model warm-up finished in {} ms: {} model(s) on {} endpoint(s), {} failure(s)",
+                (System.nanoTime() - start) / 1_000_000, models.size(), router.getEndpoints().size(), failed);
+    }
+
+    /**
+     * Re-sends the priming request so idle models stay loaded. The pings run in the
+     * background; a tick is skipped while the previous pings are still running.
+     */
+    @Scheduled(fixedDelayString = "${app.chat.llm.warmup.keep-alive-interval:PT5M}",
+            initialDelayString = "${app.chat.llm.warmup.keep-alive-interval:PT5M}")
+    public void keepAlive() {
+        ping();
+    }
+
+    /**
+     * Starts a round of keep-alive pings unless one is running, returning its completion.
+     */
+    Future<?> ping() {
+        if (!enabled || state == State.WARMING_UP || !pinging.compareAndSet(false, true)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            return executor.submit(() -> {
+                try {
+                    int failed = primeAll(pings);
+                    state = failed == 0 ? State.READY : State.DEGRADED;
+                    lastPing = Instant.now();
+                } finally {
+                    pinging.set(false);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            pinging.set(false);
+            return CompletableFuture.completedFuture(null);
+        }
+    }
+
+    /**
+     * Returns whether warm-up has finished, successfully or not.
+     */
+    public boolean isReady() {
+        return state != State.WARMING_UP;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    /**
+     * Returns warm-up and keep-alive counters.
+     */
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("state", state.name());
+        stats.put("models", models);
+        stats.put("primed", primed.get());
+        stats.put("keepAlivePings", pings.get());
+        stats.put("failures", failures.get());
+        stats.put("lastPing", lastPing != null ? lastPing.toString() : null);
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private int primeAll(AtomicLong counter) {
+        int failed = 0;
+        for (OllamaEndpoint endpoint : router.getEndpoints()) {
+            for (String model : models) {
+                try {
+                    prime(endpoint, model);
+                    counter.incrementAndGet();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return failed + 1;
+                } catch (RuntimeException | ExecutionException | TimeoutException e) {
+                    failed++;
+                    failures.incrementAndGet();
+                    Throwable cause = e instanceof ExecutionException && e.getCause() != null ? e.getCause() : e;
+                    log.warn("Could not prime model {} on {}: {}", model, endpoint.getBaseUrl(), cause.toString());
+                }
+            }
+        }
+        return failed;
+    }
+
+    /**
+     * Sends one priming request, giving up on it after the call timeout. The request is
+     * interrupted on timeout; its permit is released once it has actually stopped.
+     */
+    private void prime(OllamaEndpoint endpoint, String model)
+            throws InterruptedException, ExecutionException, TimeoutException {
+        Prompt prompt = primingPrompt(model);
+        Future<?> call = executor.submit(() -> limiter.execute(() -> router.call(prompt, endpoint)));
+        try {
+            call.get(callTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } finally {
+            call.cancel(true);
+        }
+    }
+
+    private Prompt primingPrompt(String model) {
+        var options = OllamaOptions.builder()
+                .model(model)
+                .numPredict(1)
+                .keepAlive(keepAlive)
+                .toolCallbacks(bookingTools.all().toArray(ToolCallback[]::new))
+                .internalToolExecutionEnabled(false)
+                .build();
+        return new Prompt(List.of(new SystemMessage(ChatService.SYSTEM_PROMPT), new UserMessage("Hello")), options);
+    }
+}
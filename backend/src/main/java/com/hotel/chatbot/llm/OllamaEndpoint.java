@@ -0,0 +1,81 @@
+package com.hotel.chatbot.llm;
+
+import org.springframework.ai.chat.model.ChatModel;
+
+import java.time.Instant;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One Ollama server behind the {@link RoutingChatModel}, with its load and health state.
+ */
+public class OllamaEndpoint {
+
+    private final String baseUrl;
+    private final ChatModel chatModel;
+
+    private final AtomicInteger outstanding = new AtomicInteger();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private volatile Instant unhealthyUntil = Instant.MIN;
+
+    public OllamaEndpoint(String baseUrl, ChatModel chatModel) {
+        this.baseUrl = baseUrl;
+        this.chatModel = chatModel;
+    }
+
+    public String getBaseUrl() {
+        return baseUrl;
+    }
+
+    public ChatModel getChatModel() {
+        return chatModel;
+    }
+
+    /**
+     * Returns the number of requests currently in flight on this endpoint.
+     */
+    public int outstanding() {
+        return outstanding.get();
+    }
+
+    /**
+     * Returns whether the endpoint is outside its post-failure cooldown.
+     */
+    public boolean isHealthy(Instant now) {
+        return !now.isBefore(unhealthyUntil);
+    }
+
+    Instant unhealthyUntil() {
+        return unhealthyUntil;
+    }
+
+    void begin() {
+        outstanding.incrementAndGet();
+        requests.incrementAndGet();
+    }
+
+    void end() {
+        outstanding.decrementAndGet();
+    }
+
+    void markHealthy() {
+        unhealthyUntil = Instant.MIN;
+    }
+
+    void markUnhealthy(Instant until) {
+        failures.incrementAndGet();
+        unhealthyUntil = until;
+    }
+
+    Map<String, Object> stats(Instant now) {
+        return Map.of(
+                "baseUrl", baseUrl,
+                "healthy", isHealthy(now),
+                "outstanding", outstanding.get(),
+                "requests", requests.get(),
+                "failures", failures.get()
+        );
+    }
+}
@@ -0,0 +1,346 @@
+package com.hotel.chatbot.llm;
+
+import com.hotel.chatbot.exception.LlmUnavailableException;
+import com.hotel.chatbot.service.LlmConcurrencyLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.util.CollectionUtils;
+import reactor.core.publisher.Flux;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * {@link ChatModel} that bounds how long a call into the {@link RoutingChatModel} may take.
+ * <p>
+ * Every call has a deadline; a call that misses it is abandoned and fails with
+ * {@link LlmUnavailableException}. Endpoint failures (transport errors, 5xx responses and
+ * missed deadlines) feed a {@link CircuitBreaker}, which rejects calls up front while the
+ * backend keeps failing; a tool that throws does not count against the endpoint. With
+ * hedging enabled, a blocking call still running after the configured percentile of recent
+ * call latencies is re-issued to a second endpoint, and whichever answers first wins.
+ * Only model rounds are hedged: for a prompt with tools, this model runs the tool loop
+ * itself, sending each round with internal tool execution off and running the tools the
+ * winning answer asks for once, so a booking tool never runs for both attempts. The
+ * deadline covers the whole loop. Attempts are not interrupted: an abandoned attempt runs to completion and keeps
+ * the caller's {@link LlmConcurrencyLimiter} permit until it does, so it cannot be cut off
+ * mid-transaction or let the limiter admit more calls than the backend is serving.
+ * Hedging waits for {@value #MIN_HEDGE_SAMPLES} completed calls before estimating the
+ * delay and applies only to blocking calls. Streams get the deadline as the longest
+ * allowed gap between chunks.
+ */
+public class ResilientChatModel implements ChatModel, AutoCloseable {
+
+    private static final Logger log = LoggerFactory.getLogger(ResilientChatModel.class);
+
+    static final int MIN_HEDGE_SAMPLES = 20;
+    private static final int LATENCY_WINDOW = 200;
+    private static final Duration TIMEOUT_RETRY_AFTER = Duration.ofSeconds(5);
+
+    private final RoutingChatModel router;
+    private final Duration callTimeout;
+    private final CircuitBreaker breaker;
+    private final boolean hedgingEnabled;
+    private final double hedgePercentile;
+    private final Duration minHedgeDelay;
+    private final LlmConcurrencyLimiter limiter;
+    private final ToolCallingManager toolCallingManager;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final ReentrantLock latencyLock = new ReentrantLock();
+    private final long[] latenciesMillis = new long[LATENCY_WINDOW];
+    private int latencyCount;
+    private int latencyNext;
+
+    private final AtomicLong calls = new AtomicLong();
+    private final AtomicLong timeouts = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong hedges = new AtomicLong();
+    private final AtomicLong hedgeWins = new AtomicLong();
+
+    public ResilientChatModel(RoutingChatModel router, Duration callTimeout,
+                              int failureThreshold, Duration openDuration,
+                              boolean hedgingEnabled, double hedgePercentile, Duration minHedgeDelay,
+                              LlmConcurrencyLimiter limiter, ToolCallingManager toolCallingManager) {
+        this(router, callTimeout, new CircuitBreaker(failureThreshold, openDuration, Clock.systemUTC()),
+                hedgingEnabled, hedgePercentile, minHedgeDelay, limiter, toolCallingManager);
+    }
+
+    public ResilientChatModel(RoutingChatModel router, Duration callTimeout, CircuitBreaker breaker,
+                              boolean hedgingEnabled, double hedgePercentile, Duration minHedgeDelay,
+                              LlmConcurrencyLimiter limiter, ToolCallingManager toolCallingManager) {
+        this.router = router;
+        this.callTimeout = callTimeout;
+        this.breaker = breaker;
+        this.hedgingEnabled = hedgingEnabled;
+        this.hedgePercentile = hedgePercentile;
+        this.minHedgeDelay = minHedgeDelay;
+        this.limiter = limiter;
+        this.toolCallingManager = toolCallingManager;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        acquire();
+        calls.incrementAndGet();
+        long start = System.nanoTime();
+        try {
+            long deadline = start + callTimeout.toNanos();
+            ChatResponse response = hedgingEnabled && runsTools(prompt)
+                    ? callWithToolLoop(prompt, deadline)
+                    : callWithDeadline(prompt, start, deadline);
+            breaker.onSuccess();
+            return response;
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            recordFailure(e);
+            throw e;
+        }
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.defer(() -> {
+            acquire();
+            calls.incrementAndGet();
+            return router.stream(prompt)
+                    .timeout(callTimeout)
+                    .onErrorMap(TimeoutException.class, e -> {
+                        timeouts.incrementAndGet();
+                        return timedOut();
+                    })
+                    .doOnComplete(breaker::onSuccess)
+                    .doOnError(e -> {
+                        failures.incrementAndGet();
+                        recordFailure(e);
+                    })
+                    .doOnCancel(breaker::onAbandoned);
+        });
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return router.getDefaultOptions();
+    }
+
+    /**
+     * Returns deadline, circuit breaker and hedging counters.
+     */
+    public Map<String, Object> stats() {
+        Duration hedgeDelay = hedgeDelay();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("callTimeoutMs", callTimeout.toMillis());
+        stats.put("calls", calls.get());
+        stats.put("failures", failures.get());
+        stats.put("timeouts", timeouts.get());
+        stats.put("circuitBreaker", breaker.stats());
+        stats.put("hedgingEnabled", hedgingEnabled);
+        stats.put("hedgeDelayMs", hedgeDelay != null ? hedgeDelay.toMillis() : null);
+        stats.put("hedges", hedges.get());
+        stats.put("hedgeWins", hedgeWins.get());
+        return stats;
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void acquire() {
+        if (!breaker.tryAcquire()) {
+            throw new LlmUnavailableException(
+                    "The assistant is temporarily unavailable. Please try again shortly.",
+                    breaker.retryAfter());
+        }
+    }
+
+    /**
+     * Opens the breaker only for failures of the endpoint; any other error means it answered.
+     */
+    private void recordFailure(Throwable error) {
+        if (EndpointFailures.isEndpointFailure(error)) {
+            breaker.onFailure();
+        } else {
+            breaker.onSuccess();
+        }
+    }
+
+    /**
+     * Runs the model/tool loop that the chat model would otherwise run internally, so that
+     * only model rounds are hedged. Each round goes out with internal tool execution off,
+     * and the tools asked for by the winning answer run once, on this thread.
+     */
+    private ChatResponse callWithToolLoop(Prompt prompt, long deadline) {
+        ToolCallingChatOptions options = prompt.getOptions().copy();
+        options.setInternalToolExecutionEnabled(false);
+        Prompt round = new Prompt(prompt.getInstructions(), options);
+        while (true) {
+            long start = System.nanoTime();
+            if (start >= deadline) {
+                timeouts.incrementAndGet();
+                throw timedOut();
+            }
+            ChatResponse response = callWithDeadline(round, start, deadline);
+            if (!response.hasToolCalls()) {
+                return response;
+            }
+            ToolExecutionResult result = toolCallingManager.executeToolCalls(round, response);
+            if (result.returnDirect()) {
+                return ChatResponse.builder()
+                        .from(response)
+                        .generations(ToolExecutionResult.buildGenerations(result))
+                        .build();
+            }
+            round = new Prompt(result.conversationHistory(), options);
+        }
+    }
+
+    /**
+     * Runs one call on a virtual thread and waits for it up to the deadline, issuing a
+     * hedged attempt on another endpoint once the hedge delay passes or the first attempt fails.
+     */
+    private ChatResponse callWithDeadline(Prompt prompt, long startNanos, long deadline) {
+        Duration hedgeDelay = hedgingEnabled ? hedgeDelay() : null;
+        long hedgeAt = hedgeDelay != null ? startNanos + hedgeDelay.toNanos() : Long.MAX_VALUE;
+
+        OllamaEndpoint primary = router.select(RoutingChatModel.sessionId(prompt));
+        var completion = new ExecutorCompletionService<ChatResponse>(executor);
+        List<Future<ChatResponse>> attempts = new ArrayList<>(2);
+        attempts.add(submit(completion, prompt, primary));
+        Future<ChatResponse> hedge = null;
+        RuntimeException lastError = null;
+
+        try {
+            while (true) {
+                long now = System.nanoTime();
+                if (hedge == null && hedgeDelay != null && (now >= hedgeAt || lastError != null)) {
+                    var alternative = router.selectAlternative(primary);
+                    if (alternative.isPresent()) {
+                        hedge = submit(completion, prompt, alternative.get());
+                        attempts.add(hedge);
+                        hedges.incrementAndGet();
+                        log.debug("Hedging LLM call to {}", alternative.get().getBaseUrl());
+                    }
+                    hedgeAt = Long.MAX_VALUE;
+                }
+                if (lastError != null && attempts.stream().allMatch(Future::isDone)) {
+                    throw lastError;
+                }
+
+                long waitUntil = Math.min(deadline, hedgeAt);
+                Future<ChatResponse> done = completion.poll(Math.max(0, waitUntil - now), TimeUnit.NANOSECONDS);
+                if (done == null) {
+                    if (System.nanoTime() >= deadline) {
+                        timeouts.incrementAndGet();
+                        throw timedOut();
+                    }
+                    continue;
+                }
+                try {
+                    ChatResponse response = done.get();
+                    recordLatency(Duration.ofNanos(System.nanoTime() - startNanos));
+                    if (done == hedge) {
+                        hedgeWins.incrementAndGet();
+                    }
+                    return response;
+                } catch (ExecutionException e) {
+                    lastError = e.getCause() instanceof RuntimeException re
+                            ? re : new IllegalStateException(e.getCause());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LlmUnavailableException("The request was interrupted.", TIMEOUT_RETRY_AFTER);
+        }
+    }
+
+    /**
+     * Starts an attempt that holds on to the caller's LLM permit until it finishes.
+     */
+    private Future<ChatResponse> submit(ExecutorCompletionService<ChatResponse> completion,
+                                        Prompt prompt, OllamaEndpoint endpoint) {
+        Runnable finished = limiter.retainPermit();
+        try {
+            return completion.submit(() -> {
+                try {
+                    return router.call(prompt, endpoint);
+                } finally {
+                    finished.run();
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            finished.run();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns whether the chat model would execute tools for this prompt itself.
+     */
+    private static boolean runsTools(Prompt prompt) {
+        return prompt.getOptions() instanceof ToolCallingChatOptions options
+                && ToolCallingChatOptions.isInternalToolExecutionEnabled(options)
+                && (!CollectionUtils.isEmpty(options.getToolCallbacks())
+                        || !CollectionUtils.isEmpty(options.getToolNames()));
+    }
+
+    private LlmUnavailableException timedOut() {
+        log.warn("LLM call exceeded its {} deadline", callTimeout);
+        return new LlmUnavailableException(
+                "The assistant is taking too long to respond. Please try again.", TIMEOUT_RETRY_AFTER);
+    }
+
+    private void recordLatency(Duration latency) {
+        latencyLock.lock();
+        try {
+            latenciesMillis[latencyNext] = latency.toMillis();
+            latencyNext = (latencyNext + 1) % LATENCY_WINDOW;
+            latencyCount = Math.min(latencyCount + 1, LATENCY_WINDOW);
+        } finally {
+            latencyLock.unlock();
+        }
+    }
+
+    /**
+     * Returns the configured percentile of recent call latencies, floored at the minimum
+     * hedge delay, or null while too few calls have completed to estimate it.
+     */
+    Duration hedgeDelay() {
+        long[] sorted;
+        latencyLock.lock();
+        try {
+            if (latencyCount < MIN_HEDGE_SAMPLES) {
+                return null;
+            }
+            sorted = Arrays.copyOf(latenciesMillis, latencyCount);
+        } finally {
+            latencyLock.unlock();
+        }
+        Arrays.sort(sorted);
+        int index = (int) Math.ceil(hedgePercentile / 100.0 * sorted.length) - 1;
+        Duration percentile = Duration.ofMillis(sorted[Math.max(0, Math.min(index, sorted.length - 1))]);
+        return percentile.compareTo(minHedgeDelay) > 0 ? percentile : minHedgeDelay;
+    }
+}
@@ -0,0 +1,183 @@
+package com.hotel.chatbot.llm;
+
+import com.hotel.chatbot.tool.TurnContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import reactor.core.publisher.Flux;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.zip.CRC32;
+
+/**
+ * {@link ChatModel} that spreads calls across several Ollama endpoints.
+ * <p>
+ * Each call goes to the healthy endpoint with the fewest outstanding requests. A chat
+ * session sticks to the endpoint chosen by rendezvous hashing of its session ID, so the
+ * server can reuse its prompt cache for the conversation, unless that endpoint is busier
+ * than the least loaded one by more than {@code affinitySlack} requests. An endpoint that
+ * fails a call with a transport error or a 5xx response is skipped for
+ * {@code unhealthyCooldown}; when every endpoint is cooling down, the one that recovers
+ * first is used. Errors raised by tools while the endpoint's answer is handled do not
+ * affect its health.
+ */
+public class RoutingChatModel implements ChatModel {
+
+    private static final Logger log = LoggerFactory.getLogger(RoutingChatModel.class);
+
+    private final List<OllamaEndpoint> endpoints;
+    private final Duration unhealthyCooldown;
+    private final int affinitySlack;
+    private final Clock clock;
+
+    public RoutingChatModel(List<OllamaEndpoint> endpoints, Duration unhealthyCooldown, int affinitySlack) {
+        this(endpoints, unhealthyCooldown, affinitySlack, Clock.systemUTC());
+    }
+
+    public RoutingChatModel(List<OllamaEndpoint> endpoints, Duration unhealthyCooldown, int affinitySlack, Clock clock) {
+        if (endpoints.isEmpty()) {
+            throw new IllegalArgumentException("At least one Ollama endpoint is required");
+        }
+        this.endpoints = List.copyOf(endpoints);
+        this.unhealthyCooldown = unhealthyCooldown;
+        this.affinitySlack = affinitySlack;
+        this.clock = clock;
+    }
+
+    @Override
+    public ChatResponse call(Prompt prompt) {
+        return call(prompt, select(sessionId(prompt)));
+    }
+
+    /**
+     * Sends a call to a specific endpoint, tracking its load and health.
+     * Only endpoint failures count against it, and not when the call was abandoned by
+     * interrupting its thread.
+     */
+    ChatResponse call(Prompt prompt, OllamaEndpoint endpoint) {
+        endpoint.begin();
+        try {
+            ChatResponse response = endpoint.getChatModel().call(prompt);
+            endpoint.markHealthy();
+            return response;
+        } catch (RuntimeException e) {
+            if (!Thread.currentThread().isInterrupted() && EndpointFailures.isEndpointFailure(e)) {
+                markFailed(endpoint, e);
+            }
+            throw e;
+        } finally {
+            endpoint.end();
+        }
+    }
+
+    @Override
+    public Flux<ChatResponse> stream(Prompt prompt) {
+        return Flux.defer(() -> {
+            OllamaEndpoint endpoint = select(sessionId(prompt));
+            endpoint.begin();
+            var ended = new AtomicBoolean();
+            Runnable end = () -> {
+                if (ended.compareAndSet(false, true)) {
+                    endpoint.end();
+                }
+            };
+            return endpoint.getChatModel().stream(prompt)
+                    .doOnComplete(endpoint::markHealthy)
+                    .doOnError(e -> {
+                        if (EndpointFailures.isEndpointFailure(e)) {
+                            markFailed(endpoint, e);
+                        }
+                    })
+                    .doOnTerminate(end)
+                    .doOnCancel(end);
+        });
+    }
+
+    @Override
+    public ChatOptions getDefaultOptions() {
+        return endpoints.get(0).getChatModel().getDefaultOptions();
+    }
+
+    /**
+     * Picks the endpoint for a call.
+     *
+     * @param sessionId the chat session the call belongs to, or null for no affinity
+     * @return the endpoint to use
+     */
+    OllamaEndpoint select(String sessionId) {
+        Instant now = clock.instant();
+        List<OllamaEndpoint> candidates = endpoints.stream().filter(e -> e.isHealthy(now)).toList();
+        if (candidates.isEmpty()) {
+            return endpoints.stream().min(Comparator.comparing(OllamaEndpoint::unhealthyUntil)).orElseThrow();
+        }
+
+        OllamaEndpoint leastLoaded = candidates.stream()
+                .min(Comparator.comparingInt(OllamaEndpoint::outstanding))
+                .orElseThrow();
+        if (sessionId == null) {
+            return leastLoaded;
+        }
+
+        OllamaEndpoint preferred = candidates.stream()
+                .max(Comparator.comparingLong(e -> rendezvousScore(sessionId, e)))
+                .orElseThrow();
+        return preferred.outstanding() <= leastLoaded.outstanding() + affinitySlack ? preferred : leastLoaded;
+    }
+
+    /**
+     * Picks a healthy endpoint other than {@code excluded} for a second attempt at a call,
+     * the least loaded one first.
+     *
+     * @return the endpoint, or empty if no other endpoint is healthy
+     */
+    Optional<OllamaEndpoint> selectAlternative(OllamaEndpoint excluded) {
+        Instant now = clock.instant();
+        return endpoints.stream()
+                .filter(e -> e != excluded && e.isHealthy(now))
+                .min(Comparator.comparingInt(OllamaEndpoint::outstanding));
+    }
+
+    List<OllamaEndpoint> getEndpoints() {
+        return endpoints;
+    }
+
+    /**
+     * Returns per-endpoint load and health counters.
+     */
+    public List<Map<String, Object>> stats() {
+        Instant now = clock.instant();
+        return endpoints.stream().map(e -> e.stats(now)).toList();
+    }
+
+    private void markFailed(OllamaEndpoint endpoint, Throwable error) {
+        endpoint.markUnhealthy(clock.instant().plus(unhealthyCooldown));
+        log.warn("Ollama endpoint {} failed, marking unhealthy for {}: {}",
+                endpoint.getBaseUrl(), unhealthyCooldown, error.toString());
+    }
+
+    static String sessionId(Prompt prompt) {
+        if (prompt.getOptions() instanceof ToolCallingChatOptions options && options.getToolContext() != null
+                && options.getToolContext().get(TurnContext.KEY) instanceof TurnContext turn) {
+            return turn.getSessionId();
+        }
+        return null;
+    }
+
+    private static long rendezvousScore(String sessionId, OllamaEndpoint endpoint) {
+        var crc = new CRC32();
+        crc.update((sessionId + "|" + endpoint.getBaseUrl()).getBytes(StandardCharsets.UTF_8));
+        return crc.getValue();
+    }
+}
@@ -0,0 +1,284 @@
+package com.hotel.chatbot.memory;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * In-memory {@link ChatMemory} with bounded retention.
+ * <p>
+ * Three controls keep the heap in check:
+ * <ul>
+ *   <li>a per-session window, capped both by message count and by estimated tokens, that
+ *       never trims away the summary {@link ConversationCompactor} leaves at its head,</li>
+ *   <li>idle-TTL eviction of sessions that have not been read or written recently,</li>
+ *   <li>a global byte cap that evicts the least recently used sessions first.</li>
+ * </ul>
+ * Byte and token figures are estimates derived from message text length.
+ */
+public class BoundedChatMemory implements ObservableChatMemory {
+
+    private static final Logger log = LoggerFactory.getLogger(BoundedChatMemory.class);
+
+    private static final int MESSAGE_OVERHEAD_BYTES = 64;
+    private static final int CHARS_PER_TOKEN = 4;
+
+    private final int maxMessagesPerSession;
+    private final int maxTokensPerSession;
+    private final Duration idleTtl;
+    private final long maxTotalBytes;
+    private final Clock clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Access-ordered: iteration starts at the least recently used session
+    private final LinkedHashMap<String, Session> sessions = new LinkedHashMap<>(16, 0.75f, true);
+    private long totalBytes;
+
+    private final AtomicLong idleEvictions = new AtomicLong();
+    private final AtomicLong capacityEvictions = new AtomicLong();
+    private final AtomicLong trimmedMessages = new AtomicLong();
+
+    public BoundedChatMemory(int maxMessagesPerSession, int maxTokensPerSession,
+                             Duration idleTtl, long maxTotalBytes) {
+        this(maxMessagesPerSession, maxTokensPerSession, idleTtl, maxTotalBytes, Clock.systemUTC());
+    }
+
+    public BoundedChatMemory(int maxMessagesPerSession, int maxTokensPerSession,
+                             Duration idleTtl, long maxTotalBytes, Clock clock) {
+        if (maxMessagesPerSession < 2) {
+            throw new IllegalArgumentException("Session window must hold at least 2 messages");
+        }
+        this.maxMessagesPerSession = maxMessagesPerSession;
+        this.maxTokensPerSession = maxTokensPerSession;
+        this.idleTtl = idleTtl;
+        this.maxTotalBytes = maxTotalBytes;
+        this.clock = clock;
+    }
+
+    @Override
+    public void add(String conversationId, List<Message> messages) {
+        lock.lock();
+        try {
+            Session session = sessions.computeIfAbsent(conversationId, id -> new Session());
+            for (Message message : messages) {
+                var entry = new Entry(message, textLength(message), estimateBytes(message));
+                session.messages.addLast(entry);
+                session.chars += entry.chars();
+                session.bytes += entry.bytes();
+                totalBytes += entry.bytes();
+            }
+            session.lastAccess = clock.instant();
+            trimWindow(session);
+            enforceCapacity(conversationId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public List<Message> get(String conversationId, int lastN) {
+        lock.lock();
+        try {
+            Session session = sessions.get(conversationId);
+            if (session == null) {
+                return List.of();
+            }
+            session.lastAccess = clock.instant();
+            return session.messages.stream()
+                    .skip(Math.max(0, session.messages.size() - lastN))
+                    .map(Entry::message)
+                    .toList();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void clear(String conversationId) {
+        lock.lock();
+        try {
+            Session removed = sessions.remove(conversationId);
+            if (removed != null) {
+                totalBytes -= removed.bytes;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public boolean replacePrefix(String conversationId, List<Message> prefix, Message replacement) {
+        lock.lock();
+        try {
+            Session session = sessions.get(conversationId);
+            if (session == null || session.messages.size() < prefix.size()) {
+                return false;
+            }
+            Iterator<Entry> it = session.messages.iterator();
+            for (Message message : prefix) {
+                if (it.next().message() != message) {
+                    return false;
+                }
+            }
+            for (int i = 0; i < prefix.size(); i++) {
+                unlinkOldest(session);
+            }
+            var entry = new Entry(replacement, textLength(replacement), estimateBytes(replacement));
+            session.messages.addFirst(entry);
+            session.chars += entry.chars();
+            session.bytes += entry.bytes();
+            totalBytes += entry.bytes();
+            session.lastAccess = clock.instant();
+            return true;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Returns whether the conversation currently has retained messages.
+     */
+    public boolean contains(String conversationId) {
+        lock.lock();
+        try {
+            return sessions.containsKey(conversationId);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Removes every session that has been idle for longer than the configured TTL.
+     *
+     * @return the number of sessions evicted
+     */
+    @Scheduled(fixedDelayString = "${app.chat.memory.sweep-interval:PT1M}")
+    public int evictIdleSessions() {
+        Instant cutoff = clock.instant().minus(idleTtl);
+        int evicted = 0;
+
+        lock.lock();
+        try {
+            Iterator<Map.Entry<String, Session>> it = sessions.entrySet().iterator();
+            while (it.hasNext()) {
+                Session session = it.next().getValue();
+                if (session.lastAccess.isBefore(cutoff)) {
+                    totalBytes -= session.bytes;
+                    it.remove();
+                    evicted++;
+                }
+            }
+        } finally {
+            lock.unlock();
+        }
+
+        if (evicted > 0) {
+            idleEvictions.addAndGet(evicted);
+            log.debug("Evicted {} idle chat session(s)", evicted);
+        }
+        return evicted;
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        lock.lock();
+        try {
+            return Map.of(
+                    "liveSessions", sessions.size(),
+                    "bytesRetained", totalBytes,
+                    "maxTotalBytes", maxTotalBytes,
+                    "messagesRetained", sessions.values().stream().mapToInt(s -> s.messages.size()).sum(),
+                    "idleEvictions", idleEvictions.get(),
+                    "capacityEvictions", capacityEvictions.get(),
+                    "trimmedMessages", trimmedMessages.get()
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void trimWindow(Session session) {
+        long maxChars = (long) maxTokensPerSession * CHARS_PER_TOKEN;
+        // A leading summary left by compaction stands in for every turn before it, so the
+        // window is trimmed behind it; its size still counts against the token cap
+        Entry summary = session.messages.size() > 1
+                && session.messages.peekFirst().message().getMessageType() == MessageType.SYSTEM
+                ? session.messages.removeFirst() : null;
+        int maxMessages = summary != null ? maxMessagesPerSession - 1 : maxMessagesPerSession;
+        while (session.messages.size() > maxMessages
+                || (session.messages.size() > 1 && session.chars > maxChars)) {
+            dropOldest(session);
+        }
+        // Never start the window on a reply whose question has been trimmed away
+        while (session.messages.size() > 1 && isReply(session.messages.peekFirst().message())) {
+            dropOldest(session);
+        }
+        if (summary != null) {
+            session.messages.addFirst(summary);
+        }
+    }
+
+    private void dropOldest(Session session) {
+        unlinkOldest(session);
+        trimmedMessages.incrementAndGet();
+    }
+
+    private void unlinkOldest(Session session) {
+        Entry dropped = session.messages.removeFirst();
+        session.chars -= dropped.chars();
+        session.bytes -= dropped.bytes();
+        totalBytes -= dropped.bytes();
+    }
+
+    private void enforceCapacity(String currentConversationId) {
+        Iterator<Map.Entry<String, Session>> it = sessions.entrySet().iterator();
+        while (totalBytes > maxTotalBytes && it.hasNext()) {
+            Map.Entry<String, Session> eldest = it.next();
+            if (eldest.getKey().equals(currentConversationId)) {
+                continue;
+            }
+            totalBytes -= eldest.getValue().bytes;
+            it.remove();
+            capacityEvictions.incrementAndGet();
+        }
+    }
+
+    private static boolean isReply(Message message) {
+        return message.getMessageType() == MessageType.ASSISTANT || message.getMessageType() == MessageType.TOOL;
+    }
+
+    private static int textLength(Message message) {
+        String text = message.getText();
+        return text != null ? text.length() : 0;
+    }
+
+    private static long estimateBytes(Message message) {
+        // Java strings are UTF-16, plus a rough allowance for the message object itself
+        return MESSAGE_OVERHEAD_BYTES + 2L * textLength(message);
+    }
+
+    private record Entry(Message message, int chars, long bytes) {
+    }
+
+    private static final class Session {
+        private final Deque<Entry> messages = new ArrayDeque<>();
+        private long chars;
+        private long bytes;
+        private Instant lastAccess;
+    }
+}
@@ -0,0 +1,55 @@
+package com.hotel.chatbot.memory;
+
+import org.springframework.ai.chat.client.advisor.api.AdvisedRequest;
+import org.springframework.ai.chat.client.advisor.api.AdvisedResponse;
+import org.springframework.ai.chat.client.advisor.api.Advisor;
+import org.springframework.ai.chat.client.advisor.api.CallAroundAdvisor;
+import org.springframework.ai.chat.client.advisor.api.CallAroundAdvisorChain;
+import org.springframework.ai.chat.client.advisor.api.StreamAroundAdvisor;
+import org.springframework.ai.chat.client.advisor.api.StreamAroundAdvisorChain;
+import reactor.core.publisher.Flux;
+
+import static org.springframework.ai.chat.client.advisor.AbstractChatMemoryAdvisor.CHAT_MEMORY_CONVERSATION_ID_KEY;
+
+/**
+ * Triggers background compaction of a conversation once a turn has been answered.
+ * <p>
+ * Ordered just outside the chat memory advisor, so the turn has already been written
+ * to memory when compaction is scheduled.
+ */
+public class CompactionAdvisor implements CallAroundAdvisor, StreamAroundAdvisor {
+
+    private final ConversationCompactor compactor;
+
+    public CompactionAdvisor(ConversationCompactor compactor) {
+        this.compactor = compactor;
+    }
+
+    @Override
+    public AdvisedResponse aroundCall(AdvisedRequest advisedRequest, CallAroundAdvisorChain chain) {
+        AdvisedResponse response = chain.nextAroundCall(advisedRequest);
+        compactor.compactAsync(conversationId(advisedRequest));
+        return response;
+    }
+
+    @Override
+    public Flux<AdvisedResponse> aroundStream(AdvisedRequest advisedRequest, StreamAroundAdvisorChain chain) {
+        return chain.nextAroundStream(advisedRequest)
+                .doOnComplete(() -> compactor.compactAsync(conversationId(advisedRequest)));
+    }
+
+    @Override
+    public String getName() {
+        return getClass().getSimpleName();
+    }
+
+    @Override
+    public int getOrder() {
+        return Advisor.DEFAULT_CHAT_MEMORY_PRECEDENCE_ORDER - 1;
+    }
+
+    private static String conversationId(AdvisedRequest advisedRequest) {
+        Object id = advisedRequest.adviseContext().get(CHAT_MEMORY_CONVERSATION_ID_KEY);
+        return id != null ? id.toString() : null;
+    }
+}
@@ -0,0 +1,243 @@
+package com.hotel.chatbot.memory;
+
+import com.hotel.chatbot.repository.HotelRepository;
+import com.hotel.chatbot.service.LlmConcurrencyLimiter;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Folds older conversation turns into a running summary.
+ * <p>
+ * Once a session holds more than {@code keepRecentTurns + triggerTurns} user turns, every
+ * turn except the most recent {@code keepRecentTurns} is summarized by the model and
+ * replaced with a single system message at the head of the history. Booking references,
+ * dates and cities found in the folded turns are extracted deterministically and appended
+ * to the summary, so they survive even if the model leaves them out.
+ * <p>
+ * Compaction runs on a background virtual thread after the turn has been answered.
+ */
+@Component
+public class ConversationCompactor {
+
+    private static final Logger log = LoggerFactory.getLogger(ConversationCompactor.class);
+
+    static final String SUMMARY_PREFIX = "Summary of the earlier conversation:";
+
+    private static final String SUMMARY_INSTRUCTIONS = """
+            You summarize the earlier part of a conversation between a hotel booking assistant and a guest.
+            Write at most 120 words of plain text. Keep every fact needed to continue the conversation:
+            booking reference IDs, hotel names, cities, check-in and check-out dates, number of guests,
+            room preferences, budget, and any request that is still open. Omit greetings and small talk.
+            """;
+
+    private static final Pattern BOOKING_REFERENCE = Pattern.compile("HBK-\\d{4}-\\d{5}", Pattern.CASE_INSENSITIVE);
+    private static final Pattern ISO_DATE = Pattern.compile("\\b\\d{4}-\\d{2}-\\d{2}\\b");
+
+    private final ObservableChatMemory chatMemory;
+    private final ChatModel chatModel;
+    private final LlmConcurrencyLimiter llmLimiter;
+    private final HotelRepository hotelRepository;
+    private final boolean enabled;
+    private final int keepRecentTurns;
+    private final int triggerTurns;
+
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final Set<String> inProgress = ConcurrentHashMap.newKeySet();
+
+    private final AtomicLong compactions = new AtomicLong();
+    private final AtomicLong compactedMessages = new AtomicLong();
+    private final AtomicLong failures = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+
+    public ConversationCompactor(ObservableChatMemory chatMemory, ChatModel chatModel,
+                                 LlmConcurrencyLimiter llmLimiter, HotelRepository hotelRepository,
+                                 @Value("${app.chat.memory.compaction.enabled:true}") boolean enabled,
+                                 @Value("${app.chat.memory.compaction.keep-recent-turns:4}") int keepRecentTurns,
+                                 @Value("${app.chat.memory.compaction.trigger-turns:6}") int triggerTurns) {
+        this.chatMemory = chatMemory;
+        this.chatModel = chatModel;
+        this.llmLimiter = llmLimiter;
+        this.hotelRepository = hotelRepository;
+        this.enabled = enabled;
+        this.keepRecentTurns = keepRecentTurns;
+        this.triggerTurns = triggerTurns;
+    }
+
+    /**
+     * Schedules compaction of the session in the background if it has grown past the trigger.
+     *
+     * @param conversationId the session to compact
+     */
+    public void compactAsync(String conversationId) {
+        if (!enabled || conversationId == null || !inProgress.add(conversationId)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    compact(conversationId);
+                } finally {
+                    inProgress.remove(conversationId);
+                }
+            });
+        } catch (RuntimeException e) {
+            inProgress.remove(conversationId);
+            log.warn("Could not schedule compaction for session {}", conversationId, e);
+        }
+    }
+
+    /**
+     * Compacts the session now if it has grown past the trigger.
+     *
+     * @param conversationId the session to compact
+     * @return whether the history was rewritten
+     */
+    public boolean compact(String conversationId) {
+        List<Message> history = chatMemory.get(conversationId, Integer.MAX_VALUE);
+        int foldUpTo = foldBoundary(history);
+        if (foldUpTo <= 0) {
+            return false;
+        }
+
+        List<Message> older = List.copyOf(history.subList(0, foldUpTo));
+        String summary;
+        try {
+            summary = summarize(older);
+        } catch (RuntimeException e) {
+            failures.incrementAndGet();
+            log.warn("Compaction failed for session {}, keeping full history", conversationId, e);
+            return false;
+        }
+
+        // The summary took a model call; the memory swaps it in for the folded prefix in one
+        // step, and only if that prefix is still in place. Messages added meanwhile are kept.
+        if (!chatMemory.replacePrefix(conversationId, older, new SystemMessage(summary))) {
+            skipped.incrementAndGet();
+            log.debug("History of session {} changed during compaction, skipping", conversationId);
+            return false;
+        }
+
+        compactions.incrementAndGet();
+        compactedMessages.addAndGet(older.size());
+        log.debug("Compacted {} message(s) of session {} into a summary", older.size(), conversationId);
+        return true;
+    }
+
+    /**
+     * Returns the compaction counters.
+     */
+    public Map<String, Object> stats() {
+        return Map.of(
+                "enabled", enabled,
+                "compactions", compactions.get(),
+                "compactedMessages", compactedMessages.get(),
+                "failures", failures.get(),
+                "skipped", skipped.get(),
+                "inProgress", inProgress.size()
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Returns the index of the first message to keep verbatim, or 0 when nothing should be folded.
+     */
+    private int foldBoundary(List<Message> history) {
+        List<Integer> turnStarts = new ArrayList<>();
+        for (int i = 0; i < history.size(); i++) {
+            if (history.get(i).getMessageType() == MessageType.USER) {
+                turnStarts.add(i);
+            }
+        }
+        if (turnStarts.size() <= keepRecentTurns + triggerTurns) {
+            return 0;
+        }
+        return turnStarts.get(turnStarts.size() - keepRecentTurns);
+    }
+
+    private String summarize(List<Message> older) {
+        var transcript = new StringBuilder();
+        for (Message message : older) {
+            String role = switch (message.getMessageType()) {
+                case USER -> "Guest";
+                case ASSISTANT -> "Assistant";
+                case SYSTEM -> "Earlier summary";
+                default -> "Tool";
+            };
+            transcript.append(role).append(": ").append(stripSummaryPrefix(message.getText())).append('\n');
+        }
+
+        var prompt = new Prompt(List.of(new SystemMessage(SUMMARY_INSTRUCTIONS), new UserMessage(transcript.toString())));
+        String summary = llmLimiter.execute(() -> chatModel.call(prompt).getResult().getOutput().getText());
+
+        return SUMMARY_PREFIX + "\n" + (summary != null ? summary.strip() : "") + keyFacts(transcript.toString());
+    }
+
+    private String keyFacts(String text) {
+        Set<String> references = matches(BOOKING_REFERENCE, text.toUpperCase(Locale.ROOT));
+        Set<String> dates = matches(ISO_DATE, text);
+        Set<String> cities = new LinkedHashSet<>();
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (String city : hotelRepository.findDistinctCities()) {
+            if (city != null && Pattern.compile("\\b" + Pattern.quote(city.toLowerCase(Locale.ROOT)) + "\\b").matcher(lower).find()) {
+                cities.add(city);
+            }
+        }
+
+        if (references.isEmpty() && dates.isEmpty() && cities.isEmpty()) {
+            return "";
+        }
+        var facts = new StringBuilder("\nKey facts:");
+        if (!references.isEmpty()) {
+            facts.append("\n- Booking references: ").append(String.join(", ", references));
+        }
+        if (!dates.isEmpty()) {
+            facts.append("\n- Dates mentioned: ").append(String.join(", ", dates));
+        }
+        if (!cities.isEmpty()) {
+            facts.append("\n- Cities discussed: ").append(String.join(", ", cities));
+        }
+        return facts.toString();
+    }
+
+    private static Set<String> matches(Pattern pattern, String text) {
+        Set<String> found = new LinkedHashSet<>();
+        Matcher matcher = pattern.matcher(text);
+        while (matcher.find()) {
+            found.add(matcher.group());
+        }
+        return found;
+    }
+
+    private static String stripSummaryPrefix(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.startsWith(SUMMARY_PREFIX) ? text.substring(SUMMARY_PREFIX.length()).strip() : text;
+    }
+}
@@ -0,0 +1,31 @@
+package com.hotel.chatbot.memory;
+
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.Message;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link ChatMemory} that reports its retention counters for monitoring and can
+ * rewrite the head of a history atomically.
+ */
+public interface ObservableChatMemory extends ChatMemory {
+
+    /**
+     * Returns a snapshot of the memory's counters.
+     */
+    Map<String, Object> stats();
+
+    /**
+     * Replaces the oldest messages of a conversation with one message, in one step that
+     * no concurrent read or write can observe halfway, if the history still starts with
+     * exactly those messages.
+     *
+     * @param conversationId the conversation to rewrite
+     * @param prefix         the oldest messages, as read from this memory
+     * @param replacement    the message to put in their place
+     * @return whether the history was rewritten
+     */
+    boolean replacePrefix(String conversationId, List<Message> prefix, Message replacement);
+}
@@ -0,0 +1,289 @@
+package com.hotel.chatbot.memory;
+
+import com.hotel.chatbot.entity.ConversationMessage;
+import com.hotel.chatbot.repository.ConversationMessageRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Durable {@link org.springframework.ai.chat.memory.ChatMemory} backed by the {@code chat_messages} table.
+ * <p>
+ * Reads are served from a {@link BoundedChatMemory} hot cache; a session is loaded from the
+ * database only the first time it is touched after a restart or cache eviction. Writes go to
+ * the cache immediately and are buffered for a write-behind flush that persists them in batched
+ * inserts, so a chat turn never waits on the database. A rewritten history head is applied to
+ * the cache at once and to the database in one transaction.
+ */
+public class PersistentChatMemory implements ObservableChatMemory {
+
+    private static final Logger log = LoggerFactory.getLogger(PersistentChatMemory.class);
+
+    private final BoundedChatMemory cache;
+    private final ConversationMessageRepository repository;
+    private final int batchSize;
+    private final int maxPending;
+    private final int loadLimit;
+
+    private final ConcurrentLinkedQueue<ConversationMessage> pending = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingCount = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    // Guards draining the buffer and cold loads, so a load never misses an in-flight batch
+    private final ReentrantLock flushLock = new ReentrantLock();
+    // Makes adding to the cache and numbering the buffered messages one step
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Seeded from the clock so sequences keep increasing across restarts
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+
+    private final AtomicLong flushedMessages = new AtomicLong();
+    private final AtomicLong flushedBatches = new AtomicLong();
+    private final AtomicLong flushFailures = new AtomicLong();
+    private final AtomicLong droppedMessages = new AtomicLong();
+    private final AtomicLong coldLoads = new AtomicLong();
+
+    public PersistentChatMemory(BoundedChatMemory cache, ConversationMessageRepository repository,
+                                int batchSize, int maxPending, int loadLimit) {
+        this.cache = cache;
+        this.repository = repository;
+        this.batchSize = batchSize;
+        this.maxPending = maxPending;
+        this.loadLimit = loadLimit;
+    }
+
+    @Override
+    public void add(String conversationId, List<Message> messages) {
+        ensureLoaded(conversationId);
+        writeLock.lock();
+        try {
+            cache.add(conversationId, messages);
+            for (Message message : messages) {
+                if (!isPersistable(message)) {
+                    continue;
+                }
+                pending.add(toRecord(conversationId, message, sequence.incrementAndGet()));
+                if (pendingCount.incrementAndGet() > maxPending) {
+                    dropOldestPending();
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+
+        if (pendingCount.get() >= batchSize && flushScheduled.compareAndSet(false, true)) {
+            Thread.ofVirtual().name("chat-memory-flush").start(() -> {
+                try {
+                    flush();
+                } finally {
+                    flushScheduled.set(false);
+                }
+            });
+        }
+    }
+
+    @Override
+    public List<Message> get(String conversationId, int lastN) {
+        ensureLoaded(conversationId);
+        return cache.get(conversationId, lastN);
+    }
+
+    @Override
+    public void clear(String conversationId) {
+        flushLock.lock();
+        try {
+            cache.clear(conversationId);
+            pending.removeIf(m -> {
+                if (m.getConversationId().equals(conversationId)) {
+                    pendingCount.decrementAndGet();
+                    return true;
+                }
+                return false;
+            });
+            repository.deleteByConversationId(conversationId);
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    @Override
+    public boolean replacePrefix(String conversationId, List<Message> prefix, Message replacement) {
+        ensureLoaded(conversationId);
+        flushLock.lock();
+        try {
+            int kept;
+            long lastSequence;
+            writeLock.lock();
+            try {
+                if (!cache.replacePrefix(conversationId, prefix, replacement)) {
+                    return false;
+                }
+                // Every message after the prefix has been numbered, and nothing later has
+                kept = (int) cache.get(conversationId, Integer.MAX_VALUE).stream()
+                        .skip(1)
+                        .filter(PersistentChatMemory::isPersistable)
+                        .count();
+                lastSequence = sequence.get();
+            } finally {
+                writeLock.unlock();
+            }
+            persistReplacement(conversationId, kept, lastSequence, replacement);
+            return true;
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Persists all buffered messages in batched inserts.
+     * Runs periodically and whenever the buffer reaches the batch size.
+     */
+    @Scheduled(fixedDelayString = "${app.chat.memory.jdbc.flush-interval:PT1S}")
+    public void flush() {
+        flushLock.lock();
+        try {
+            while (!pending.isEmpty()) {
+                List<ConversationMessage> batch = new ArrayList<>(batchSize);
+                ConversationMessage next;
+                while (batch.size() < batchSize && (next = pending.poll()) != null) {
+                    batch.add(next);
+                }
+                pendingCount.addAndGet(-batch.size());
+
+                try {
+                    repository.saveAll(batch);
+                    flushedMessages.addAndGet(batch.size());
+                    flushedBatches.incrementAndGet();
+                } catch (RuntimeException e) {
+                    flushFailures.incrementAndGet();
+                    log.error("Failed to persist {} chat message(s), will retry", batch.size(), e);
+                    pending.addAll(batch);
+                    pendingCount.addAndGet(batch.size());
+                    return;
+                }
+            }
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Drops idle sessions from the hot cache. Their history stays in the database.
+     */
+    @Scheduled(fixedDelayString = "${app.chat.memory.sweep-interval:PT1M}")
+    public void evictIdleSessions() {
+        cache.evictIdleSessions();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        flush();
+    }
+
+    @Override
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>(cache.stats());
+        stats.put("pendingWrites", pendingCount.get());
+        stats.put("flushedMessages", flushedMessages.get());
+        stats.put("flushedBatches", flushedBatches.get());
+        stats.put("flushFailures", flushFailures.get());
+        stats.put("droppedWrites", droppedMessages.get());
+        stats.put("coldLoads", coldLoads.get());
+        return stats;
+    }
+
+    private void ensureLoaded(String conversationId) {
+        if (cache.contains(conversationId)) {
+            return;
+        }
+
+        flushLock.lock();
+        try {
+            if (cache.contains(conversationId)) {
+                return;
+            }
+
+            List<ConversationMessage> stored = new ArrayList<>(
+                    repository.findByConversationIdOrderBySequenceDesc(conversationId, Limit.of(loadLimit)));
+            Collections.reverse(stored);
+            pending.stream()
+                    .filter(m -> m.getConversationId().equals(conversationId))
+                    .forEach(stored::add);
+
+            // Adding an empty history still marks the session as loaded
+            cache.add(conversationId, stored.stream().map(PersistentChatMemory::toMessage).toList());
+            coldLoads.incrementAndGet();
+        } finally {
+            flushLock.unlock();
+        }
+    }
+
+    /**
+     * Replaces the stored messages numbered up to {@code lastSequence}, except the newest
+     * {@code kept}, with the replacement. Runs under the flush lock, so no batch is in flight.
+     */
+    private void persistReplacement(String conversationId, int kept, long lastSequence, Message replacement) {
+        flush();
+        boolean unsaved = pending.stream()
+                .anyMatch(m -> m.getConversationId().equals(conversationId) && m.getSequence() <= lastSequence);
+        if (unsaved) {
+            log.warn("Could not persist the rewritten history of session {}, keeping the stored one", conversationId);
+            return;
+        }
+        long firstKept = lastSequence + 1;
+        if (kept > 0) {
+            List<ConversationMessage> newest = repository.findByConversationIdAndSequenceLessThanEqualOrderBySequenceDesc(
+                    conversationId, lastSequence, Limit.of(kept));
+            if (!newest.isEmpty()) {
+                firstKept = newest.get(newest.size() - 1).getSequence();
+            }
+        }
+        try {
+            repository.replaceBefore(conversationId, firstKept,
+                    isPersistable(replacement) ? toRecord(conversationId, replacement, firstKept - 1) : null);
+        } catch (RuntimeException e) {
+            log.warn("Could not persist the rewritten history of session {}, keeping the stored one", conversationId, e);
+        }
+    }
+
+    private void dropOldestPending() {
+        if (pending.poll() != null) {
+            pendingCount.decrementAndGet();
+            droppedMessages.incrementAndGet();
+            log.warn("Chat memory write buffer is full ({}), dropping oldest unsaved message", maxPending);
+        }
+    }
+
+    private static boolean isPersistable(Message message) {
+        MessageType type = message.getMessageType();
+        return type == MessageType.USER || type == MessageType.ASSISTANT || type == MessageType.SYSTEM;
+    }
+
+    private static ConversationMessage toRecord(String conversationId, Message message, long sequence) {
+        return new ConversationMessage(conversationId, message.getMessageType().name(), message.getText(), sequence);
+    }
+
+    private static Message toMessage(ConversationMessage record) {
+        return switch (MessageType.valueOf(record.getMessageType())) {
+            case USER -> new UserMessage(record.getContent());
+            case SYSTEM -> new SystemMessage(record.getContent());
+            default -> new AssistantMessage(record.getContent());
+        };
+    }
+}
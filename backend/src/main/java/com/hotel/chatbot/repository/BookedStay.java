@@ -0,0 +1,14 @@
+package com.hotel.chatbot.repository;
+
+import java.time.LocalDate;
+import java.util.UUID;
+
+/**
+ * The nights a booking holds a room, for loading room inventory without loading bookings.
+ *
+ * @param hotelId  the booked hotel
+ * @param checkIn  the first night
+ * @param checkOut the day after the last night
+ */
+public record BookedStay(UUID hotelId, LocalDate checkIn, LocalDate checkOut) {
+}
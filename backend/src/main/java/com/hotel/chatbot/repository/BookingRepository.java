@@ -2,10 +2,12 @@ package com.hotel.chatbot.repository;
 
 import com.hotel.chatbot.entity.Booking;
 import com.hotel.chatbot.entity.BookingStatus;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.util.List;
@@ -20,10 +22,12 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
 
     /**
      * Finds a booking by its reference ID (e.g., HBK-2025-00123).
+     * The hotel is fetched with it, so the booking can be shown outside a transaction.
      *
      * @param bookingReference the booking reference to search for
      * @return an Optional containing the booking if found
      */
+    @EntityGraph(attributePaths = "hotel")
     Optional<Booking> findByBookingReference(String bookingReference);
 
     /**
@@ -66,6 +70,18 @@ public interface BookingRepository extends JpaRepository<Booking, UUID> {
                                            @Param("startDate") LocalDate startDate, 
                                            @Param("endDate") LocalDate endDate);
 
+    /**
+     * Lists the nights held by bookings that are not cancelled and not yet over,
+     * for loading room inventory.
+     *
+     * @param today the first night that still counts
+     * @return the stays checking out after {@code today}
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.hotel.chatbot.repository.BookedStay(b.hotel.id, b.checkIn, b.checkOut) FROM Booking b " +
+           "WHERE b.status != 'CANCELLED' AND b.checkOut > :today AND b.hotel.id IS NOT NULL")
+    List<BookedStay> findActiveStays(@Param("today") LocalDate today);
+
     /**
      * Counts the number of bookings created today.
      * Used for generating sequential booking references.
@@ -0,0 +1,79 @@
+package com.hotel.chatbot.repository;
+
+import com.hotel.chatbot.entity.ConversationMessage;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Repository interface for persisted chat messages.
+ */
+@Repository
+public interface ConversationMessageRepository extends JpaRepository<ConversationMessage, UUID> {
+
+    /**
+     * Finds the most recent messages of a conversation, newest first.
+     *
+     * @param conversationId the conversation to load
+     * @param limit the maximum number of messages to return
+     * @return the newest messages in descending sequence order
+     */
+    List<ConversationMessage> findByConversationIdOrderBySequenceDesc(String conversationId, Limit limit);
+
+    /**
+     * Finds the most recent messages of a conversation up to a sequence, newest first.
+     *
+     * @param conversationId the conversation to load
+     * @param sequence the highest sequence to include
+     * @param limit the maximum number of messages to return
+     * @return the newest messages at or below {@code sequence} in descending sequence order
+     */
+    List<ConversationMessage> findByConversationIdAndSequenceLessThanEqualOrderBySequenceDesc(
+            String conversationId, long sequence, Limit limit);
+
+    /**
+     * Deletes the messages of a conversation below a sequence.
+     *
+     * @param conversationId the conversation to trim
+     * @param sequence the lowest sequence to keep
+     * @return the number of deleted messages
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ConversationMessage m WHERE m.conversationId = :conversationId AND m.sequence < :sequence")
+    int deleteByConversationIdAndSequenceLessThan(@Param("conversationId") String conversationId,
+                                                  @Param("sequence") long sequence);
+
+    /**
+     * Replaces the messages of a conversation below a sequence with one message, in one transaction.
+     *
+     * @param conversationId the conversation to rewrite
+     * @param sequence the lowest sequence to keep
+     * @param replacement the message to store in place of the deleted ones, with a lower sequence
+     */
+    @Transactional
+    default void replaceBefore(String conversationId, long sequence, ConversationMessage replacement) {
+        deleteByConversationIdAndSequenceLessThan(conversationId, sequence);
+        if (replacement != null) {
+            save(replacement);
+        }
+    }
+
+    /**
+     * Deletes every message of a conversation.
+     *
+     * @param conversationId the conversation to delete
+     * @return the number of deleted messages
+     */
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM ConversationMessage m WHERE m.conversationId = :conversationId")
+    int deleteByConversationId(@Param("conversationId") String conversationId);
+}
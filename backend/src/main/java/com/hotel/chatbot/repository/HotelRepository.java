@@ -1,12 +1,18 @@
 package com.hotel.chatbot.repository;
 
+import com.hotel.chatbot.dto.HotelSearchResult;
 import com.hotel.chatbot.entity.Hotel;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 import java.util.UUID;
 
 /**
@@ -14,7 +20,7 @@ import java.util.UUID;
  * Includes custom search queries for location-based searches.
  */
 @Repository
-public interface HotelRepository extends JpaRepository<Hotel, UUID> {
+public interface HotelRepository extends JpaRepository<Hotel, UUID>, HotelSearchRepository {
 
     /**
      * Finds all available hotels in a specific city.
@@ -82,6 +88,56 @@ public interface HotelRepository extends JpaRepository<Hotel, UUID> {
            "ORDER BY h.pricePerNight ASC")
     List<Hotel> searchHotels(@Param("searchTerm") String searchTerm);
 
+    /**
+     * Lists every city that has at least one hotel.
+     *
+     * @return distinct city names
+     */
+    @Query("SELECT DISTINCT h.city FROM Hotel h")
+    List<String> findDistinctCities();
+
+    /**
+     * Lists every hotel as a search result projection, for loading the catalog index.
+     *
+     * @return all hotels, without loading entities
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.hotel.chatbot.dto.HotelSearchResult(h.id, h.name, h.city, h.address, " +
+           "h.pricePerNight, h.roomType, h.rating, h.availability, h.totalRooms) FROM Hotel h")
+    List<HotelSearchResult> findAllSearchResults();
+
+    /**
+     * Lists hotels created or changed after the given time as search result projections,
+     * for incremental catalog refreshes.
+     *
+     * @param since the time of the last change already seen
+     * @return hotels whose {@code updated_at} is later than {@code since}
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT new com.hotel.chatbot.dto.HotelSearchResult(h.id, h.name, h.city, h.address, " +
+           "h.pricePerNight, h.roomType, h.rating, h.availability, h.totalRooms) FROM Hotel h WHERE h.updatedAt > :since")
+    List<HotelSearchResult> findSearchResultsUpdatedAfter(@Param("since") LocalDateTime since);
+
+    /**
+     * Returns the latest {@code updated_at} of any hotel.
+     *
+     * @return the time of the latest hotel change, empty if there are no hotels
+     */
+    @Transactional(readOnly = true)
+    @Query("SELECT MAX(h.updatedAt) FROM Hotel h")
+    Optional<LocalDateTime> findLatestUpdate();
+
+    /**
+     * Finds a hotel and locks its row until the surrounding transaction ends, so bookings
+     * for the hotel are checked against its rooms one at a time, across instances.
+     *
+     * @param id the hotel's ID
+     * @return the locked hotel, empty if there is none
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT h FROM Hotel h WHERE h.id = :id")
+    Optional<Hotel> findByIdForUpdate(@Param("id") UUID id);
+
     /**
      * Finds all available hotels.
      *
@@ -0,0 +1,105 @@
+package com.hotel.chatbot.repository;
+
+import com.hotel.chatbot.entity.Hotel;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Filters and ordering for {@link HotelRepository#search}, composed into a single query.
+ * Only available hotels are returned. Every filter is optional.
+ *
+ * @param city      city to search in, matched case-insensitively as a substring
+ * @param minPrice  minimum price per night
+ * @param maxPrice  maximum price per night
+ * @param roomType  room type, matched case-insensitively
+ * @param minRating minimum rating
+ * @param order     result ordering
+ */
+public record HotelSearchCriteria(
+        String city,
+        Integer minPrice,
+        Integer maxPrice,
+        String roomType,
+        BigDecimal minRating,
+        Order order
+) {
+
+    /**
+     * Result ordering. Both end with the hotel id, so every position in the result
+     * is unique and results can be paged by keyset.
+     */
+    public enum Order {
+        /**
+         * Cheapest first.
+         */
+        PRICE(Sort.by(Sort.Order.asc("pricePerNight"), Sort.Order.asc("id"))),
+        /**
+         * Best rated first, then cheapest. Unrated hotels are left out, as a keyset
+         * cannot page past null ratings.
+         */
+        RATING(Sort.by(Sort.Order.desc("rating"), Sort.Order.asc("pricePerNight"), Sort.Order.asc("id")));
+
+        private final Sort sort;
+
+        Order(Sort sort) {
+            this.sort = sort;
+        }
+
+        public Sort sort() {
+            return sort;
+        }
+    }
+
+    public HotelSearchCriteria {
+        order = order != null ? order : Order.PRICE;
+    }
+
+    /**
+     * Returns criteria for the available hotels in a city, cheapest first.
+     */
+    public static HotelSearchCriteria inCity(String city) {
+        return new HotelSearchCriteria(city, null, null, null, null, Order.PRICE);
+    }
+
+    /**
+     * Returns the filters as a JPA specification.
+     */
+    public Specification<Hotel> toSpecification() {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            predicates.add(cb.isTrue(root.get("availability")));
+            if (city != null && !city.isBlank()) {
+                predicates.add(cb.like(cb.lower(root.get("city")), "%" + escape(city) + "%", '\\'));
+            }
+            if (minPrice != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("pricePerNight"), minPrice));
+            }
+            if (maxPrice != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("pricePerNight"), maxPrice));
+            }
+            if (roomType != null && !roomType.isBlank()) {
+                predicates.add(cb.equal(cb.lower(root.get("roomType")), roomType.strip().toLowerCase(Locale.ROOT)));
+            }
+            if (minRating != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("rating"), minRating));
+            }
+            if (order == Order.RATING) {
+                predicates.add(cb.isNotNull(root.get("rating")));
+            }
+            return cb.and(predicates.toArray(Predicate[]::new));
+        };
+    }
+
+    private static String escape(String city) {
+        return city.strip().toLowerCase(Locale.ROOT)
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
+}
@@ -0,0 +1,54 @@
+package com.hotel.chatbot.repository;
+
+import com.hotel.chatbot.dto.HotelSearchResult;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+
+import java.util.List;
+import java.util.function.Predicate;
+
+/**
+ * Hotel search that selects straight into {@link HotelSearchResult} projections.
+ */
+public interface HotelSearchRepository {
+
+    /**
+     * Searches available hotels with every filter in one query, returning at most
+     * {@code limit} hotels after the given position. Only the columns of
+     * {@link HotelSearchResult} are selected; no entities are loaded.
+     *
+     * @param criteria the filters and ordering
+     * @param position where the previous window ended, or {@link ScrollPosition#keyset()} for the first
+     * @param limit    the maximum number of hotels to return
+     * @return the window of matching hotels, with the position to continue from
+     */
+    Window<HotelSearchResult> search(HotelSearchCriteria criteria, ScrollPosition position, int limit);
+
+    /**
+     * Searches available hotels by a free-text location, such as a neighbourhood, street
+     * or landmark ("Bandra", "near Marina Beach"), matched against city and address.
+     * Hotels must match every word of the location; only when none does is any word
+     * enough. On PostgreSQL the search runs on the {@code idx_hotels_city_search} full-text
+     * index and hotels come back most relevant first; hotels matching as many of the
+     * location's words come first on other databases too.
+     *
+     * @param location the location as asked for
+     * @param maxPrice optional maximum price per night
+     * @param roomType optional room type, matched case-insensitively
+     * @param limit    the maximum number of hotels to return
+     * @return the most relevant hotels, then cheapest first
+     */
+    default List<HotelSearchResult> searchByLocation(String location, Integer maxPrice, String roomType, int limit) {
+        return searchByLocation(location, maxPrice, roomType, null, limit);
+    }
+
+    /**
+     * Searches as {@link #searchByLocation(String, Integer, String, int)} does, keeping only
+     * hotels that also pass a filter, such as having a room for given dates. The filter is
+     * applied before the limit, so filtered-out hotels do not take up places in the result.
+     *
+     * @param filter optional extra condition each hotel must meet
+     */
+    List<HotelSearchResult> searchByLocation(String location, Integer maxPrice, String roomType,
+                                             Predicate<HotelSearchResult> filter, int limit);
+}
@@ -0,0 +1,259 @@
+package com.hotel.chatbot.repository;
+
+import com.hotel.chatbot.dto.HotelSearchResult;
+import com.hotel.chatbot.entity.Hotel;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.hibernate.Session;
+import org.springframework.data.domain.KeysetScrollPosition;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Criteria API implementation of {@link HotelSearchRepository}.
+ * <p>
+ * Spring Data's fluent specification queries load whole entities even when asked for
+ * a projection, so the query is built here: the filters come from
+ * {@link HotelSearchCriteria#toSpecification()}, the selection is a constructor
+ * expression for {@link HotelSearchResult}, and the keyset condition is derived from
+ * the ordering. One extra row is fetched to tell whether another window follows.
+ * <p>
+ * Location searches are native full-text queries on PostgreSQL, written against the
+ * exact expression of {@code idx_hotels_city_search} so the planner can use that GIN
+ * index, and ranked with {@code ts_rank}. Other databases, such as H2 in development
+ * and tests, get a {@code LIKE} search ranked by the number of matched words instead.
+ * Either way a location's words must all match unless no hotel matches them all.
+ */
+class HotelSearchRepositoryImpl implements HotelSearchRepository {
+
+    // Must match the expression of idx_hotels_city_search in init.sql, or the index is not used
+    private static final String LOCATION_DOCUMENT = "to_tsvector('english', h.city || ' ' || COALESCE(h.address, ''))";
+
+    // Words that say how near, not where; left out of location queries
+    private static final Set<String> LOCATION_FILLER = Set.of(
+            "near", "nearby", "around", "close", "to", "by", "next", "in", "at", "the", "of", "area", "hotel", "hotels");
+
+    // Rows ranked in memory by the LIKE fallback, which cannot rank in the database
+    private static final int FALLBACK_CANDIDATES = 500;
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    private volatile Boolean postgres;
+
+    @Override
+    @Transactional(readOnly = true)
+    public Window<HotelSearchResult> search(HotelSearchCriteria criteria, ScrollPosition position, int limit) {
+        if (!(position instanceof KeysetScrollPosition keyset) || keyset.scrollsBackward()) {
+            throw new IllegalArgumentException("Hotel search scrolls forward by keyset only");
+        }
+        Sort sort = criteria.order().sort();
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<HotelSearchResult> query = cb.createQuery(HotelSearchResult.class);
+        Root<Hotel> hotel = query.from(Hotel.class);
+
+        query.select(cb.construct(HotelSearchResult.class,
+                hotel.get("id"), hotel.get("name"), hotel.get("city"), hotel.get("address"),
+                hotel.get("pricePerNight"), hotel.get("roomType"), hotel.get("rating"), hotel.get("availability"),
+                hotel.get("totalRooms")));
+        Predicate filters = criteria.toSpecification().toPredicate(hotel, query, cb);
+        query.where(keyset.isInitial() ? filters : cb.and(filters, after(cb, hotel, sort, keyset.getKeys())));
+        query.orderBy(sort.stream()
+                .map(order -> order.isAscending() ? cb.asc(hotel.get(order.getProperty()))
+                        : cb.desc(hotel.get(order.getProperty())))
+                .toList());
+
+        List<HotelSearchResult> rows = entityManager.createQuery(query)
+                .setMaxResults(limit + 1)
+                .getResultList();
+        boolean hasNext = rows.size() > limit;
+        List<HotelSearchResult> content = hasNext ? rows.subList(0, limit) : rows;
+        return Window.from(content, index -> ScrollPosition.forward(keys(sort, content.get(index))), hasNext);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<HotelSearchResult> searchByLocation(String location, Integer maxPrice, String roomType,
+                                                    java.util.function.Predicate<HotelSearchResult> filter,
+                                                    int limit) {
+        List<String> terms = locationTerms(location);
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        String room = roomType != null && !roomType.isBlank() ? roomType.strip().toLowerCase(Locale.ROOT) : null;
+        if (!isPostgres()) {
+            return searchByLocationLike(terms, maxPrice, room, filter, limit);
+        }
+        // Every word must match; any word is enough only when no hotel has them all
+        List<HotelSearchResult> found = searchByLocationFullText(String.join(" & ", terms), maxPrice, room, filter,
+                limit);
+        if (found.isEmpty() && terms.size() > 1) {
+            found = searchByLocationFullText(String.join(" | ", terms), maxPrice, room, filter, limit);
+        }
+        return found;
+    }
+
+    /**
+     * Runs the full-text query. When a filter is given, further pages are read until
+     * {@code limit} hotels pass it or the matches run out.
+     */
+    private List<HotelSearchResult> searchByLocationFullText(String tsquery, Integer maxPrice, String roomType,
+                                                            java.util.function.Predicate<HotelSearchResult> filter,
+                                                            int limit) {
+        StringBuilder sql = new StringBuilder("SELECT h.hotel_id, h.name, h.city, h.address, h.price_per_night, "
+                + "h.room_type, h.rating, h.availability, h.total_rooms FROM hotels h, to_tsquery('english', :terms) q "
+                + "WHERE h.availability = true AND " + LOCATION_DOCUMENT + " @@ q");
+        if (maxPrice != null) {
+            sql.append(" AND h.price_per_night <= :maxPrice");
+        }
+        if (roomType != null) {
+            sql.append(" AND LOWER(h.room_type) = :roomType");
+        }
+        sql.append(" ORDER BY ts_rank(" + LOCATION_DOCUMENT + ", q) DESC, h.price_per_night, h.hotel_id"
+                + " LIMIT :limit OFFSET :offset");
+
+        List<HotelSearchResult> found = new ArrayList<>();
+        for (int offset = 0; ; offset += limit) {
+            var query = entityManager.createNativeQuery(sql.toString())
+                    .setParameter("terms", tsquery)
+                    .setParameter("limit", limit)
+                    .setParameter("offset", offset);
+            if (maxPrice != null) {
+                query.setParameter("maxPrice", maxPrice);
+            }
+            if (roomType != null) {
+                query.setParameter("roomType", roomType);
+            }
+            @SuppressWarnings("unchecked")
+            List<Object[]> rows = query.getResultList();
+            rows.stream()
+                    .map(row -> new HotelSearchResult((UUID) row[0], (String) row[1], (String) row[2], (String) row[3],
+                            ((Number) row[4]).intValue(), (String) row[5], (BigDecimal) row[6], (Boolean) row[7],
+                            ((Number) row[8]).intValue()))
+                    .filter(hotel -> filter == null || filter.test(hotel))
+                    .limit(limit - found.size())
+                    .forEach(found::add);
+            if (found.size() >= limit || rows.size() < limit) {
+                return found;
+            }
+        }
+    }
+
+    private List<HotelSearchResult> searchByLocationLike(List<String> terms, Integer maxPrice, String roomType,
+                                                        java.util.function.Predicate<HotelSearchResult> filter,
+                                                        int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<HotelSearchResult> query = cb.createQuery(HotelSearchResult.class);
+        Root<Hotel> hotel = query.from(Hotel.class);
+
+        query.select(cb.construct(HotelSearchResult.class,
+                hotel.get("id"), hotel.get("name"), hotel.get("city"), hotel.get("address"),
+                hotel.get("pricePerNight"), hotel.get("roomType"), hotel.get("rating"), hotel.get("availability"),
+                hotel.get("totalRooms")));
+        Expression<String> place = cb.lower(cb.concat(cb.concat(hotel.<String>get("city"), " "),
+                cb.coalesce(hotel.<String>get("address"), "")));
+        Predicate anyTerm = cb.or(terms.stream()
+                .map(term -> cb.like(place, "%" + term + "%"))
+                .toArray(Predicate[]::new));
+        var filters = new HotelSearchCriteria(null, null, maxPrice, roomType, null, HotelSearchCriteria.Order.PRICE);
+        query.where(cb.and(filters.toSpecification().toPredicate(hotel, query, cb), anyTerm));
+        query.orderBy(cb.asc(hotel.get("pricePerNight")), cb.asc(hotel.get("id")));
+
+        List<HotelSearchResult> rows = entityManager.createQuery(query)
+                .setMaxResults(FALLBACK_CANDIDATES)
+                .getResultList().stream()
+                .filter(result -> filter == null || filter.test(result))
+                .toList();
+        // As with full-text search, any word is enough only when no hotel has them all
+        List<HotelSearchResult> allTerms = rows.stream()
+                .filter(result -> matchedTerms(result, terms) == terms.size())
+                .toList();
+        // The sort is stable, so hotels matching as many words stay cheapest first
+        return (allTerms.isEmpty() ? rows : allTerms).stream()
+                .sorted(Comparator.comparingLong((HotelSearchResult result) -> matchedTerms(result, terms)).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    private static long matchedTerms(HotelSearchResult result, List<String> terms) {
+        String place = (result.city() + " " + (result.address() != null ? result.address() : "")).toLowerCase(Locale.ROOT);
+        return terms.stream().filter(place::contains).count();
+    }
+
+    /**
+     * Splits a location into lower-case words, without filler such as "near", so they
+     * can go into a {@code to_tsquery} or {@code LIKE} pattern as they are.
+     */
+    static List<String> locationTerms(String location) {
+        if (location == null) {
+            return List.of();
+        }
+        return Arrays.stream(location.toLowerCase(Locale.ROOT).split("[^\\p{Alnum}]+"))
+                .filter(term -> !term.isEmpty() && !LOCATION_FILLER.contains(term))
+                .distinct()
+                .toList();
+    }
+
+    // Asks the connection rather than the dialect, which may be configured for another database
+    private boolean isPostgres() {
+        Boolean current = postgres;
+        if (current == null) {
+            current = entityManager.unwrap(Session.class).doReturningWork(connection ->
+                    "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName()));
+            postgres = current;
+        }
+        return current;
+    }
+
+    /**
+     * Matches rows ordered after the given keys: for some sort column, every earlier
+     * column equals its key and this one is past it.
+     */
+    private static Predicate after(CriteriaBuilder cb, Root<Hotel> hotel, Sort sort, Map<String, ?> keys) {
+        List<Predicate> alternatives = new ArrayList<>();
+        List<Predicate> equalSoFar = new ArrayList<>();
+        for (Sort.Order order : sort) {
+            Path<Comparable<Object>> column = hotel.get(order.getProperty());
+            @SuppressWarnings("unchecked")
+            Comparable<Object> key = (Comparable<Object>) keys.get(order.getProperty());
+            Predicate past = order.isAscending() ? cb.greaterThan(column, key) : cb.lessThan(column, key);
+            List<Predicate> alternative = new ArrayList<>(equalSoFar);
+            alternative.add(past);
+            alternatives.add(cb.and(alternative.toArray(Predicate[]::new)));
+            equalSoFar.add(cb.equal(column, key));
+        }
+        return cb.or(alternatives.toArray(Predicate[]::new));
+    }
+
+    private static Map<String, Object> keys(Sort sort, HotelSearchResult result) {
+        Map<String, Object> keys = new LinkedHashMap<>();
+        for (Sort.Order order : sort) {
+            keys.put(order.getProperty(), switch (order.getProperty()) {
+                case "id" -> UUID.fromString(result.id());
+                case "pricePerNight" -> result.pricePerNight();
+                case "rating" -> result.rating();
+                default -> throw new IllegalStateException("No keyset value for " + order.getProperty());
+            });
+        }
+        return keys;
+    }
+}
@@ -1,9 +1,13 @@
 package com.hotel.chatbot.service;
 
 import com.hotel.chatbot.entity.Booking;
+import com.hotel.chatbot.entity.BookingStatus;
 import com.hotel.chatbot.entity.Hotel;
 import com.hotel.chatbot.entity.User;
+import com.hotel.chatbot.exception.BookingNotFoundException;
+import com.hotel.chatbot.exception.RoomsUnavailableException;
 import com.hotel.chatbot.repository.BookingRepository;
+import com.hotel.chatbot.repository.HotelRepository;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -15,17 +19,25 @@ import java.util.concurrent.atomic.AtomicLong;
 /**
  * Service for managing hotel bookings.
  * Handles booking creation, modification, and cancellation.
+ * A stay is checked against the hotel's other bookings in the database while the hotel
+ * row is locked, so concurrent bookings, from any instance, never share the last room.
+ * Committed changes are passed on to the {@link InventoryService} that filters searches.
  */
 @Service
 @Transactional
 public class BookingService {
 
     private final BookingRepository bookingRepository;
+    private final HotelRepository hotelRepository;
+    private final InventoryService inventory;
     private final AtomicLong dailyBookingCounter = new AtomicLong(0);
     private volatile LocalDate lastResetDate = LocalDate.now();
 
-    public BookingService(BookingRepository bookingRepository) {
+    public BookingService(BookingRepository bookingRepository, HotelRepository hotelRepository,
+                          InventoryService inventory) {
         this.bookingRepository = bookingRepository;
+        this.hotelRepository = hotelRepository;
+        this.inventory = inventory;
         initializeCounter();
     }
 
@@ -38,6 +50,7 @@ public class BookingService {
      * @param guests   number of guests
      * @param user     optional user making the booking
      * @return the created booking
+     * @throws RoomsUnavailableException if the hotel has no room free for some night
      */
     public Booking createBooking(Hotel hotel, LocalDate checkIn, LocalDate checkOut, 
                                   Integer guests, User user) {
@@ -55,16 +68,111 @@ public class BookingService {
             throw new IllegalArgumentException("Number of guests must be at least 1");
         }
 
+        inventory.checkHorizon(checkOut);
+        Hotel locked = lockHotel(hotel);
+        if (!hasRoom(locked, checkIn, checkOut, null)) {
+            throw new RoomsUnavailableException(locked.getName(), checkIn, checkOut);
+        }
+
         // Generate booking reference
         String bookingReference = generateBookingReference();
 
         // Create booking
-        Booking booking = new Booking(bookingReference, hotel, checkIn, checkOut, guests);
+        Booking booking = new Booking(bookingReference, locked, checkIn, checkOut, guests);
         if (user != null) {
             booking.setUser(user);
         }
 
-        return bookingRepository.save(booking);
+        Booking saved = bookingRepository.save(booking);
+        inventory.reserved(locked.getId(), checkIn, checkOut);
+        return saved;
+    }
+
+    /**
+     * Modifies the dates or guest count of a booking. The new dates must have a room
+     * free on every night; the booking keeps its room otherwise.
+     *
+     * @param bookingReference the booking reference
+     * @param newCheckIn       optional new check-in date
+     * @param newCheckOut      optional new check-out date
+     * @param newGuests        optional new number of guests
+     * @return the modified booking
+     * @throws BookingNotFoundException  if no booking has the reference
+     * @throws IllegalStateException     if the booking is cancelled
+     * @throws RoomsUnavailableException if the hotel has no room free for some new night
+     */
+    public Booking modifyBooking(String bookingReference, LocalDate newCheckIn, LocalDate newCheckOut,
+                                 Integer newGuests) {
+        Booking booking = findBooking(bookingReference);
+        if (booking.getStatus() == BookingStatus.CANCELLED) {
+            throw new IllegalStateException("This booking has been cancelled and cannot be modified.");
+        }
+
+        LocalDate checkIn = newCheckIn != null ? newCheckIn : booking.getCheckIn();
+        LocalDate checkOut = newCheckOut != null ? newCheckOut : booking.getCheckOut();
+        if (!checkOut.isAfter(checkIn)) {
+            throw new IllegalArgumentException("Check-out date must be after check-in date");
+        }
+        if (!checkIn.equals(booking.getCheckIn()) || !checkOut.equals(booking.getCheckOut())) {
+            inventory.checkHorizon(checkOut);
+            Hotel hotel = lockHotel(booking.getHotel());
+            if (!hasRoom(hotel, checkIn, checkOut, booking)) {
+                throw new RoomsUnavailableException(hotel.getName(), checkIn, checkOut);
+            }
+            inventory.moved(hotel.getId(), booking.getCheckIn(), booking.getCheckOut(), checkIn, checkOut);
+            booking.reschedule(checkIn, checkOut);
+        }
+        if (newGuests != null) {
+            booking.setGuests(newGuests);
+        }
+
+        booking.markAsModified();
+        bookingRepository.save(booking);
+        return booking;
+    }
+
+    /**
+     * Cancels a booking and frees its room.
+     *
+     * @param bookingReference the booking reference
+     * @return the cancelled booking
+     * @throws BookingNotFoundException if no booking has the reference
+     * @throws IllegalStateException    if the booking is already cancelled
+     */
+    public Booking cancelBooking(String bookingReference) {
+        Booking booking = findBooking(bookingReference);
+        if (booking.getStatus() == BookingStatus.CANCELLED) {
+            throw new IllegalStateException("This booking has already been cancelled.");
+        }
+
+        booking.cancel();
+        if (booking.getHotel() != null) {
+            inventory.released(booking.getHotel().getId(), booking.getCheckIn(), booking.getCheckOut());
+        }
+        bookingRepository.save(booking);
+        return booking;
+    }
+
+    // Locks the hotel row until the transaction ends, and reads its current room count
+    private Hotel lockHotel(Hotel hotel) {
+        return hotelRepository.findByIdForUpdate(hotel.getId())
+                .orElseThrow(() -> new IllegalArgumentException("Hotel not found: " + hotel.getName()));
+    }
+
+    // Counts the hotel's booked rooms per night of the stay, leaving out the booking being moved
+    private boolean hasRoom(Hotel hotel, LocalDate checkIn, LocalDate checkOut, Booking moving) {
+        RoomCalendar nights = new RoomCalendar();
+        for (Booking other : bookingRepository.findOverlappingBookings(hotel.getId(), checkIn, checkOut)) {
+            if (moving == null || !other.getBookingReference().equals(moving.getBookingReference())) {
+                nights.add(other.getCheckIn(), other.getCheckOut(), 1, checkIn);
+            }
+        }
+        return nights.remaining(hotel.getTotalRooms(), checkIn, checkOut) > 0;
+    }
+
+    private Booking findBooking(String bookingReference) {
+        return bookingRepository.findByBookingReference(bookingReference.toUpperCase())
+                .orElseThrow(() -> new BookingNotFoundException(bookingReference));
     }
 
     /**
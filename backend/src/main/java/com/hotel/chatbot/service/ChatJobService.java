@@ -0,0 +1,206 @@
+package com.hotel.chatbot.service;
+
+import com.hotel.chatbot.dto.ChatJob;
+import com.hotel.chatbot.dto.ChatResponse;
+import com.hotel.chatbot.exception.ChatCapacityExceededException;
+import com.hotel.chatbot.exception.ChatJobNotFoundException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs chat turns in the background for clients that cannot hold a connection open
+ * for the length of a model call.
+ * <p>
+ * Jobs run on a fixed number of workers; at most {@code maxJobs} jobs are held at once,
+ * queued, running or completed. Completed results are kept for {@code resultTtl} after
+ * they finish and then swept; when the store is full, submissions are rejected with
+ * {@link ChatCapacityExceededException}.
+ */
+@Service
+public class ChatJobService {
+
+    private static final Logger log = LoggerFactory.getLogger(ChatJobService.class);
+
+    private final ChatService chatService;
+    private final Executor executor;
+    private final int maxJobs;
+    private final Duration resultTtl;
+    private final Clock clock;
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong expired = new AtomicLong();
+
+    @Autowired
+    public ChatJobService(ChatService chatService,
+                          @Value("${app.chat.jobs.workers:4}") int workers,
+                          @Value("${app.chat.jobs.max-jobs:10000}") int maxJobs,
+                          @Value("${app.chat.jobs.result-ttl:10m}") Duration resultTtl) {
+        this(chatService, new ThreadPoolExecutor(workers, workers, 0L, TimeUnit.MILLISECONDS,
+                        new LinkedBlockingQueue<>(maxJobs), Thread.ofVirtual().name("chat-job-", 0).factory()),
+                maxJobs, resultTtl, Clock.systemUTC());
+    }
+
+    public ChatJobService(ChatService chatService, Executor executor, int maxJobs, Duration resultTtl, Clock clock) {
+        this.chatService = chatService;
+        this.executor = executor;
+        this.maxJobs = maxJobs;
+        this.resultTtl = resultTtl;
+        this.clock = clock;
+    }
+
+    /**
+     * Accepts a chat turn to run in the background.
+     *
+     * @param userMessage the user's message
+     * @param sessionId   the session ID for conversation context
+     * @return the queued job
+     * @throws ChatCapacityExceededException if the job store is full
+     */
+    public ChatJob submit(String userMessage, String sessionId) {
+        if (jobs.size() >= maxJobs) {
+            evictExpired();
+        }
+        if (jobs.size() >= maxJobs) {
+            rejected.incrementAndGet();
+            throw new ChatCapacityExceededException("Too many chat jobs in progress. Please try again shortly.");
+        }
+
+        var job = new Job(UUID.randomUUID().toString(), clock.instant());
+        jobs.put(job.id, job);
+        try {
+            executor.execute(() -> run(job, userMessage, sessionId));
+        } catch (RejectedExecutionException e) {
+            jobs.remove(job.id);
+            rejected.incrementAndGet();
+            throw new ChatCapacityExceededException("Too many chat jobs in progress. Please try again shortly.");
+        }
+        submitted.incrementAndGet();
+        return job.snapshot();
+    }
+
+    /**
+     * Returns the current state of a job.
+     *
+     * @param jobId the job ID returned on submission
+     * @return the job, with its result once completed
+     * @throws ChatJobNotFoundException if the job is unknown or its result has expired
+     */
+    public ChatJob get(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null || job.isExpired(clock.instant().minus(resultTtl))) {
+            throw new ChatJobNotFoundException(jobId);
+        }
+        return job.snapshot();
+    }
+
+    /**
+     * Drops the results of jobs that finished longer than the result TTL ago.
+     *
+     * @return the number of jobs removed
+     */
+    @Scheduled(fixedDelayString = "${app.chat.jobs.sweep-interval:PT1M}")
+    public int evictExpired() {
+        Instant cutoff = clock.instant().minus(resultTtl);
+        int evicted = 0;
+        for (Job job : jobs.values()) {
+            if (job.isExpired(cutoff) && jobs.remove(job.id, job)) {
+                evicted++;
+            }
+        }
+        expired.addAndGet(evicted);
+        return evicted;
+    }
+
+    /**
+     * Returns job counters for monitoring.
+     */
+    public Map<String, Object> stats() {
+        long queued = jobs.values().stream().filter(job -> job.status == ChatJob.Status.QUEUED).count();
+        long running = jobs.values().stream().filter(job -> job.status == ChatJob.Status.RUNNING).count();
+        return Map.of(
+                "held", jobs.size(),
+                "maxJobs", maxJobs,
+                "queued", queued,
+                "running", running,
+                "submitted", submitted.get(),
+                "rejected", rejected.get(),
+                "completed", completed.get(),
+                "failed", failed.get(),
+                "expired", expired.get()
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+
+    private void run(Job job, String userMessage, String sessionId) {
+        job.status = ChatJob.Status.RUNNING;
+        try {
+            job.finish(ChatJob.Status.COMPLETED, chatService.chat(userMessage, sessionId), null, clock.instant());
+            completed.incrementAndGet();
+        } catch (RuntimeException e) {
+            log.warn("Chat job {} for session {} failed: {}", job.id, sessionId, e.getMessage());
+            job.finish(ChatJob.Status.FAILED, null, e.getMessage(), clock.instant());
+            failed.incrementAndGet();
+        }
+    }
+
+    private static final class Job {
+        private final String id;
+        private final Instant submittedAt;
+        private volatile ChatJob.Status status = ChatJob.Status.QUEUED;
+        private volatile ChatResponse result;
+        private volatile String error;
+        private volatile Instant completedAt;
+
+        private Job(String id, Instant submittedAt) {
+            this.id = id;
+            this.submittedAt = submittedAt;
+        }
+
+        private void finish(ChatJob.Status outcome, ChatResponse result, String error, Instant at) {
+            this.result = result;
+            this.error = error;
+            this.completedAt = at;
+            // Written last so a reader that sees the outcome also sees the result
+            this.status = outcome;
+        }
+
+        private boolean isExpired(Instant cutoff) {
+            Instant finished = completedAt;
+            return finished != null && finished.isBefore(cutoff);
+        }
+
+        private ChatJob snapshot() {
+            return new ChatJob(id, status, result, error, submittedAt, completedAt);
+        }
+    }
+}
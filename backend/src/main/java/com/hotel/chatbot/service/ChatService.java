@@ -1,12 +1,25 @@
 package com.hotel.chatbot.service;
 
 import com.hotel.chatbot.dto.ChatResponse;
+import com.hotel.chatbot.dto.ChatStreamEvent;
+import com.hotel.chatbot.exception.ChatCapacityExceededException;
+import com.hotel.chatbot.exception.LlmUnavailableException;
+import com.hotel.chatbot.exception.SessionBusyException;
+import com.hotel.chatbot.memory.ConversationCompactor;
+import com.hotel.chatbot.tool.BookingToolCallbacks;
+import com.hotel.chatbot.tool.TurnContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.ai.chat.client.ChatClient;
-import org.springframework.ai.chat.client.advisor.MessageChatMemoryAdvisor;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.UserMessage;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import static org.springframework.ai.chat.client.advisor.AbstractChatMemoryAdvisor.CHAT_MEMORY_CONVERSATION_ID_KEY;
 
@@ -17,7 +30,16 @@ import static org.springframework.ai.chat.client.advisor.AbstractChatMemoryAdvis
 @Service
 public class ChatService {
 
-    private static final String SYSTEM_PROMPT = """
+    private static final Logger log = LoggerFactory.getLogger(ChatService.class);
+
+    private static final String ERROR_MESSAGE =
+            "I apologize, but I encountered an issue processing your request. " +
+            "Please try again or rephrase your question.";
+
+    /**
+     * System prompt for every chat turn; also used to prime the model at startup.
+     */
+    public static final String SYSTEM_PROMPT = """
             You are a helpful and friendly AI hotel concierge assistant for a hotel booking system.
             Your name is HotelBot, and you work for a premium hotel booking platform.
             
@@ -54,53 +76,192 @@ public class ChatService {
             """;
 
     private final ChatClient chatClient;
-    private final HotelBookingTools bookingTools;
-    private final Map<String, Long> sessionLastAccess = new ConcurrentHashMap<>();
+    private final BookingToolCallbacks bookingTools;
+    private final LlmConcurrencyLimiter llmLimiter;
+    private final ChatMemory chatMemory;
+    private final IntentRouter intentRouter;
+    private final ConversationCompactor compactor;
+    private final ResponseCache responseCache;
+    private final SessionLanes sessionLanes;
+    private final HotelSearchPrefetcher prefetcher;
 
-    public ChatService(ChatClient chatClient, HotelBookingTools bookingTools) {
+    public ChatService(ChatClient chatClient, BookingToolCallbacks bookingTools,
+                       LlmConcurrencyLimiter llmLimiter, ChatMemory chatMemory,
+                       IntentRouter intentRouter, ConversationCompactor compactor,
+                       ResponseCache responseCache, SessionLanes sessionLanes,
+                       HotelSearchPrefetcher prefetcher) {
         this.chatClient = chatClient;
         this.bookingTools = bookingTools;
+        this.llmLimiter = llmLimiter;
+        this.chatMemory = chatMemory;
+        this.intentRouter = intentRouter;
+        this.compactor = compactor;
+        this.responseCache = responseCache;
+        this.sessionLanes = sessionLanes;
+        this.prefetcher = prefetcher;
     }
 
     /**
      * Processes a user message and returns the AI response.
+     * Turns of the same session run one at a time in arrival order; a repeat of a
+     * message still being answered shares that answer.
      *
      * @param userMessage the user's message
      * @param sessionId   the session ID for conversation context
      * @return the chat response from the AI
+     * @throws ChatCapacityExceededException if no LLM slot becomes free in time
+     * @throws LlmUnavailableException if the model misses its deadline or its circuit breaker is open
+     * @throws SessionBusyException if the session already has too many turns queued
      */
     public ChatResponse chat(String userMessage, String sessionId) {
-        // Track session access
-        sessionLastAccess.put(sessionId, System.currentTimeMillis());
+        return sessionLanes.execute(sessionId, userMessage, () -> answer(userMessage, sessionId));
+    }
 
+    private ChatResponse answer(String userMessage, String sessionId) {
+        var turn = new TurnContext(sessionId);
         try {
-            String response = chatClient.prompt()
-                    .system(SYSTEM_PROMPT)
-                    .user(userMessage)
-                    .tools(bookingTools)
-                    .advisors(advisor -> advisor.param(CHAT_MEMORY_CONVERSATION_ID_KEY, sessionId))
+            boolean freshSession = isFreshSession(sessionId);
+            Optional<String> direct = answerWithoutLlm(userMessage, turn, freshSession);
+            if (direct.isPresent()) {
+                return turn.toResponse(direct.get());
+            }
+
+            prefetcher.prefetch(userMessage, turn);
+            String response = llmLimiter.execute(() -> displayText(prompt(userMessage, turn)
                     .call()
-                    .content();
+                    .chatResponse(), turn));
 
-            return new ChatResponse(response, null, null);
+            cacheIfGeneric(userMessage, response, turn, freshSession);
+            return turn.toResponse(response);
+        } catch (ChatCapacityExceededException | LlmUnavailableException e) {
+            throw e;
         } catch (Exception e) {
-            return new ChatResponse(
-                    "I apologize, but I encountered an issue processing your request. " +
-                    "Please try again or rephrase your question.",
-                    null,
-                    null
-            );
+            log.error("Chat request failed for session {}", sessionId, e);
+            return ChatResponse.textOnly(ERROR_MESSAGE);
         }
     }
 
+    /**
+     * Processes a user message and streams the AI response token by token.
+     * The returned stream ends with a single {@code complete} event carrying
+     * the full structured response. The stream waits for earlier turns of the session.
+     *
+     * @param userMessage the user's message
+     * @param sessionId   the session ID for conversation context
+     * @return a stream of token events followed by a complete event
+     */
+    public Flux<ChatStreamEvent> streamChat(String userMessage, String sessionId) {
+        return sessionLanes.executeStream(sessionId, userMessage, () -> streamAnswer(userMessage, sessionId))
+                .onErrorResume(SessionBusyException.class,
+                        e -> Flux.just(ChatStreamEvent.complete(ChatResponse.textOnly(e.getMessage()))));
+    }
+
+    private Flux<ChatStreamEvent> streamAnswer(String userMessage, String sessionId) {
+        var turn = new TurnContext(sessionId);
+        boolean freshSession;
+        Optional<String> direct;
+        try {
+            freshSession = isFreshSession(sessionId);
+            direct = answerWithoutLlm(userMessage, turn, freshSession);
+        } catch (Exception e) {
+            log.error("Fast-path chat request failed for session {}", sessionId, e);
+            return Flux.just(ChatStreamEvent.complete(ChatResponse.textOnly(ERROR_MESSAGE)));
+        }
+        if (direct.isPresent()) {
+            return Flux.just(ChatStreamEvent.token(turn.displayText(direct.get())),
+                    ChatStreamEvent.complete(turn.toResponse(direct.get())));
+        }
+
+        prefetcher.prefetch(userMessage, turn);
+        var fullResponse = new StringBuilder();
+
+        Flux<ChatStreamEvent> tokens = llmLimiter.executeStream(() -> prompt(userMessage, turn)
+                        .stream()
+                        .chatResponse())
+                .map(chunk -> displayText(chunk, turn))
+                .filter(token -> !token.isEmpty())
+                .doOnNext(fullResponse::append)
+                .map(ChatStreamEvent::token);
+
+        return tokens
+                .concatWith(Flux.defer(() -> {
+                    cacheIfGeneric(userMessage, fullResponse.toString(), turn, freshSession);
+                    return Flux.just(ChatStreamEvent.complete(turn.toResponse(fullResponse.toString())));
+                }))
+                .onErrorResume(e -> e instanceof ChatCapacityExceededException || e instanceof LlmUnavailableException,
+                        e -> Flux.just(ChatStreamEvent.complete(ChatResponse.textOnly(e.getMessage()))))
+                .onErrorResume(e -> {
+                    log.error("Streaming chat request failed for session {}", sessionId, e);
+                    return Flux.just(ChatStreamEvent.complete(ChatResponse.textOnly(ERROR_MESSAGE)));
+                });
+    }
+
+    /**
+     * Answers the turn without the model where possible: structured commands go straight
+     * to the tools, and generic opening questions are served from the response cache.
+     * An answered turn is recorded in chat memory, as the memory advisor would for an LLM turn.
+     */
+    private Optional<String> answerWithoutLlm(String userMessage, TurnContext turn, boolean freshSession) {
+        Optional<String> reply = intentRouter.route(userMessage, turn);
+        if (reply.isEmpty() && responseCache.isCacheable(userMessage)) {
+            if (freshSession) {
+                reply = responseCache.get(userMessage);
+            } else {
+                responseCache.recordBypass();
+            }
+        }
+        reply.ifPresent(text -> {
+            chatMemory.add(turn.getSessionId(), List.of(new UserMessage(userMessage), new AssistantMessage(text)));
+            compactor.compactAsync(turn.getSessionId());
+        });
+        return reply;
+    }
+
+    /**
+     * Caches an answer that depended on the system prompt alone: the session had no
+     * history and the model did not call any tool.
+     */
+    private void cacheIfGeneric(String userMessage, String response, TurnContext turn, boolean freshSession) {
+        if (freshSession && !turn.hasToolCalls()) {
+            responseCache.put(userMessage, response);
+        }
+    }
+
+    /**
+     * Returns the text of a model response, or of one streamed chunk of it, as shown to the
+     * user. A response returning several tool results directly carries one generation per
+     * result, so every generation is kept, not just the first.
+     */
+    private static String displayText(org.springframework.ai.chat.model.ChatResponse response, TurnContext turn) {
+        if (response == null) {
+            return "";
+        }
+        return response.getResults().stream()
+                .map(generation -> generation.getOutput().getText())
+                .filter(text -> text != null && !text.isEmpty())
+                .map(turn::displayText)
+                .collect(Collectors.joining("\n\n"));
+    }
+
+    private boolean isFreshSession(String sessionId) {
+        return chatMemory.get(sessionId, 1).isEmpty();
+    }
+
+    private ChatClient.ChatClientRequestSpec prompt(String userMessage, TurnContext turn) {
+        return chatClient.prompt()
+                .system(SYSTEM_PROMPT)
+                .user(userMessage)
+                .tools(bookingTools.all())
+                .toolContext(turn.asToolContext())
+                .advisors(advisor -> advisor.param(CHAT_MEMORY_CONVERSATION_ID_KEY, turn.getSessionId()));
+    }
+
     /**
      * Clears the conversation history for a session.
      *
      * @param sessionId the session ID to clear
      */
     public void clearSession(String sessionId) {
-        sessionLastAccess.remove(sessionId);
-        // Note: In-memory chat memory doesn't persist beyond the ChatClient instance
-        // For production, you'd want to implement a more sophisticated memory management
+        chatMemory.clear(sessionId);
     }
 }
@@ -3,25 +3,47 @@ package com.hotel.chatbot.service;
 import com.hotel.chatbot.dto.BookingInfo;
 import com.hotel.chatbot.dto.HotelSearchResult;
 import com.hotel.chatbot.entity.Booking;
-import com.hotel.chatbot.entity.BookingStatus;
 import com.hotel.chatbot.entity.Hotel;
+import com.hotel.chatbot.exception.BookingNotFoundException;
+import com.hotel.chatbot.exception.RoomsUnavailableException;
 import com.hotel.chatbot.repository.BookingRepository;
 import com.hotel.chatbot.repository.HotelRepository;
+import com.hotel.chatbot.repository.HotelSearchCriteria;
+import com.hotel.chatbot.tool.PlainTextResultConverter;
+import com.hotel.chatbot.tool.ToolResultFormatter;
+import com.hotel.chatbot.tool.ToolResultMemo;
+import com.hotel.chatbot.tool.TurnContext;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ToolContext;
 import org.springframework.ai.tool.annotation.Tool;
 import org.springframework.ai.tool.annotation.ToolParam;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Locale;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
 
 /**
  * AI Function Calling Tools for hotel booking operations.
  * These methods are exposed to the LLM for function calling.
+ * <p>
+ * Each tool returns text for the conversation and, when invoked within a chat turn,
+ * records the structured result in the {@link TurnContext} carried by the tool context.
+ * Read-only tools are remembered per session by {@link ToolResultMemo}; tools that change
+ * a booking invalidate the remembered reads of it. Searches for dates are not remembered,
+ * since any booking may change which hotels have a room.
  */
 @Component
 public class HotelBookingTools {
@@ -32,68 +54,137 @@ public class HotelBookingTools {
     private final HotelRepository hotelRepository;
     private final BookingRepository bookingRepository;
     private final BookingService bookingService;
+    private final ToolResultFormatter formatter;
+    private final HotelSearchPrefetcher prefetcher;
+    private final ToolResultMemo memo;
+    private final HotelCatalogIndex catalogIndex;
+    private final HotelNameResolver nameResolver;
+    private final InventoryService inventory;
+    private final int maxResults;
 
     public HotelBookingTools(HotelRepository hotelRepository, 
                               BookingRepository bookingRepository,
-                              BookingService bookingService) {
+                              BookingService bookingService,
+                              ToolResultFormatter formatter,
+                              HotelSearchPrefetcher prefetcher,
+                              ToolResultMemo memo,
+                              HotelCatalogIndex catalogIndex,
+                              HotelNameResolver nameResolver,
+                              InventoryService inventory,
+                              @Value("${app.chat.tools.search.max-results:20}") int maxResults) {
         this.hotelRepository = hotelRepository;
         this.bookingRepository = bookingRepository;
         this.bookingService = bookingService;
+        this.formatter = formatter;
+        this.prefetcher = prefetcher;
+        this.memo = memo;
+        this.catalogIndex = catalogIndex;
+        this.nameResolver = nameResolver;
+        this.inventory = inventory;
+        this.maxResults = maxResults;
     }
 
     /**
-     * Searches for available hotels in a city.
+     * Searches for available hotels in a city, or near a neighbourhood, street or landmark.
      *
-     * @param city the city to search in
+     * @param city the city to search in, or a location within one
      * @param maxPrice optional maximum price per night
      * @param roomType optional room type filter (single, double, suite)
+     * @param checkInDate optional check-in date; with a check-out date, only hotels with a room free for the stay
+     * @param checkOutDate optional check-out date
+     * @param toolContext the tool context of the current chat turn, may be null
      * @return formatted string with search results
      */
-    @Tool(description = "Search for available hotels in a specific city. Returns a list of hotels with their details including name, price, and room type.")
+    @Tool(description = "Search for available hotels in a specific city or near a neighbourhood, street or landmark. Returns a list of hotels with their details including name, price, and room type. Pass check-in and check-out dates to list only hotels with a room free for those dates.",
+            resultConverter = PlainTextResultConverter.class)
     public String searchHotels(
-            @ToolParam(description = "The city to search for hotels in (e.g., Chennai, Bangalore, Mumbai, Delhi, Goa)") String city,
+            @ToolParam(description = "The city to search for hotels in (e.g., Chennai, Bangalore, Mumbai, Delhi, Goa), or a neighbourhood or landmark (e.g., Bandra, near Marina Beach)") String city,
             @ToolParam(description = "Optional maximum price per night in INR", required = false) Integer maxPrice,
-            @ToolParam(description = "Optional room type filter: single, double, or suite", required = false) String roomType) {
-        
-        log.info("Searching hotels in {} with maxPrice={}, roomType={}", city, maxPrice, roomType);
+            @ToolParam(description = "Optional room type filter: single, double, or suite", required = false) String roomType,
+            @ToolParam(description = "Optional check-in date in YYYY-MM-DD format", required = false) String checkInDate,
+            @ToolParam(description = "Optional check-out date in YYYY-MM-DD format", required = false) String checkOutDate,
+            ToolContext toolContext) {
+        if (blankToNull(checkInDate) != null && blankToNull(checkOutDate) != null) {
+            // Room counts change with every booking, so searches for dates are never remembered
+            return search(city, maxPrice, roomType, checkInDate, checkOutDate, toolContext);
+        }
+        List<Object> arguments = Arrays.asList(city != null ? city.strip().toLowerCase(Locale.ROOT) : null, maxPrice,
+                roomType != null && !roomType.isBlank() ? roomType.strip().toLowerCase(Locale.ROOT) : null);
+        return memo.read(toolContext, "searchHotels", arguments, null,
+                context -> search(city, maxPrice, roomType, checkInDate, checkOutDate, context));
+    }
 
-        List<Hotel> hotels;
-        
-        if (roomType != null && !roomType.isBlank()) {
-            hotels = hotelRepository.findAvailableByRoomType(city, roomType.trim());
-        } else if (maxPrice != null) {
-            hotels = hotelRepository.findAvailableByPriceRange(city, 0, maxPrice);
-        } else {
-            hotels = hotelRepository.findByCityContainingIgnoreCaseAndAvailabilityTrue(city);
+    private String search(String city, Integer maxPrice, String roomType, String checkInDate, String checkOutDate,
+                          ToolContext toolContext) {
+        log.info("Searching hotels in {} with maxPrice={}, roomType={}, dates={} to {}",
+                city, maxPrice, roomType, checkInDate, checkOutDate);
+
+        Predicate<HotelSearchResult> bookable = null;
+        String dates = "";
+        if (blankToNull(checkInDate) != null && blankToNull(checkOutDate) != null) {
+            LocalDate checkIn;
+            LocalDate checkOut;
+            try {
+                checkIn = parseDate(checkInDate);
+                checkOut = parseDate(checkOutDate);
+            } catch (DateTimeParseException e) {
+                return "❌ Invalid date format. Please use YYYY-MM-DD format (e.g., 2026-03-15).";
+            }
+            if (!checkOut.isAfter(checkIn)) {
+                return "❌ Check-out date must be after check-in date.";
+            }
+            // Answered from the room calendar, without reading bookings
+            bookable = hotel -> inventory.isAvailable(UUID.fromString(hotel.id()), hotel.totalRooms(), checkIn, checkOut);
+            dates = " from " + checkIn + " to " + checkOut;
         }
+        Predicate<HotelSearchResult> filter = bookable;
+
+        List<HotelSearchResult> found = prefetcher.matchesCatalogCity(city)
+                ? catalogIndex.findAvailable(city, null, maxPrice, roomType, filter, maxResults)
+                        .orElseGet(() -> query(city, maxPrice, roomType, filter, toolContext))
+                // Not a catalog city: search it as a neighbourhood, street or landmark
+                : hotelRepository.searchByLocation(city, maxPrice, roomType, filter, maxResults);
+        List<HotelSearchResult> hotels = found.size() > maxResults ? found.subList(0, maxResults) : found;
 
         if (hotels.isEmpty()) {
-            return "No available hotels found in " + city + ". Please try a different city or adjust your search criteria.";
+            return "No available hotels found in " + city + dates
+                    + ". Please try a different city or dates, or adjust your search criteria.";
         }
 
-        // Filter by max price if both roomType and maxPrice are specified
-        if (maxPrice != null && roomType != null) {
-            hotels = hotels.stream()
-                    .filter(h -> h.getPricePerNight() <= maxPrice)
-                    .toList();
-        }
+        TurnContext.from(toolContext).ifPresent(turn -> turn.setHotels(hotels));
 
-        var sb = new StringBuilder();
-        sb.append("Found ").append(hotels.size()).append(" hotel(s) in ").append(city).append(":\n\n");
-
-        for (int i = 0; i < hotels.size(); i++) {
-            var hotel = hotels.get(i);
-            sb.append(i + 1).append(". **").append(hotel.getName()).append("**\n");
-            sb.append("   📍 ").append(hotel.getAddress() != null ? hotel.getAddress() : hotel.getCity()).append("\n");
-            sb.append("   🛏️ ").append(hotel.getRoomType()).append(" Room\n");
-            sb.append("   💰 ₹").append(String.format("%,d", hotel.getPricePerNight())).append(" per night\n");
-            if (hotel.getRating() != null) {
-                sb.append("   ⭐ ").append(hotel.getRating()).append("/5 rating\n");
+        return respond(toolContext, formatter.hotelList(city, hotels));
+    }
+
+    /**
+     * Runs the search against the database, for when the catalog index is disabled.
+     * All filters and the result limit go into a single query. When hotels without a
+     * room for the dates are left out, further windows are read until the limit is met.
+     *
+     * @param bookable the date filter, or null when no dates were given
+     */
+    private List<HotelSearchResult> query(String city, Integer maxPrice, String roomType,
+                                          Predicate<HotelSearchResult> bookable, ToolContext toolContext) {
+        if (bookable == null && maxPrice == null && (roomType == null || roomType.isBlank())) {
+            // The turn may have started this search while the model was deciding to call us
+            Optional<List<HotelSearchResult>> prefetched = prefetcher.take(city, toolContext);
+            if (prefetched.isPresent()) {
+                return prefetched.get();
             }
-            sb.append("\n");
         }
-
-        return sb.toString();
+        var criteria = new HotelSearchCriteria(city, null, maxPrice, roomType, null, HotelSearchCriteria.Order.PRICE);
+        Window<HotelSearchResult> window = hotelRepository.search(criteria, ScrollPosition.keyset(), maxResults);
+        if (bookable == null) {
+            return window.getContent();
+        }
+        List<HotelSearchResult> found = new ArrayList<>();
+        while (true) {
+            window.getContent().stream().filter(bookable).limit(maxResults - found.size()).forEach(found::add);
+            if (found.size() >= maxResults || !window.hasNext()) {
+                return found;
+            }
+            window = hotelRepository.search(criteria, window.positionAt(window.size() - 1), maxResults);
+        }
     }
 
     /**
@@ -104,15 +195,18 @@ public class HotelBookingTools {
      * @param checkInDate check-in date (YYYY-MM-DD format)
      * @param checkOutDate check-out date (YYYY-MM-DD format)
      * @param guests number of guests
+     * @param toolContext the tool context of the current chat turn, may be null
      * @return booking confirmation or error message
      */
-    @Tool(description = "Create a new hotel booking. Requires hotel name, city, check-in date, check-out date, and number of guests.")
+    @Tool(description = "Create a new hotel booking. Requires hotel name, city, check-in date, check-out date, and number of guests.",
+            resultConverter = PlainTextResultConverter.class)
     public String createBooking(
             @ToolParam(description = "Name of the hotel to book") String hotelName,
             @ToolParam(description = "City where the hotel is located") String city,
             @ToolParam(description = "Check-in date in YYYY-MM-DD format") String checkInDate,
             @ToolParam(description = "Check-out date in YYYY-MM-DD format") String checkOutDate,
-            @ToolParam(description = "Number of guests") Integer guests) {
+            @ToolParam(description = "Number of guests") Integer guests,
+            ToolContext toolContext) {
         
         log.info("Creating booking for {} in {}, dates: {} to {}, guests: {}", 
                 hotelName, city, checkInDate, checkOutDate, guests);
@@ -134,29 +228,46 @@ public class HotelBookingTools {
             }
 
             // Find the hotel
-            List<Hotel> matchingHotels = hotelRepository.searchHotels(hotelName);
-            if (matchingHotels.isEmpty()) {
-                return "❌ Could not find a hotel named '" + hotelName + "'. Please search for available hotels first.";
+            Optional<HotelNameResolver.Resolution> resolution = nameResolver.resolve(hotelName, city);
+            Optional<Hotel> hotelOpt;
+            if (resolution.isPresent()) {
+                HotelNameResolver.Resolution resolved = resolution.get();
+                if (resolved.status() == HotelNameResolver.Status.AMBIGUOUS) {
+                    return "❌ '" + hotelName + "' matches several hotels in " + city + ": "
+                            + hotelNames(resolved.candidates()) + ". Please say which one to book.";
+                }
+                if (resolved.status() == HotelNameResolver.Status.NOT_FOUND) {
+                    return "❌ Could not find a hotel named '" + hotelName + "' in " + city + "."
+                            + (resolved.candidates().isEmpty() ? " Please search for available hotels first."
+                                    : " Did you mean: " + hotelNames(resolved.candidates()) + "?");
+                }
+                log.debug("Resolved hotel '{}' to {} (score {})", hotelName, resolved.hotel().name(),
+                        String.format("%.2f", resolved.score()));
+                hotelOpt = hotelRepository.findById(UUID.fromString(resolved.hotel().id()));
+            } else {
+                // Catalog index disabled: fall back to a LIKE search over available hotels in the city
+                hotelOpt = hotelRepository.searchHotels(hotelName).stream()
+                        .filter(h -> h.getCity().toLowerCase().contains(city.toLowerCase()))
+                        .findFirst();
             }
-
-            // Find best match in the specified city
-            Optional<Hotel> hotelOpt = matchingHotels.stream()
-                    .filter(h -> h.getCity().toLowerCase().contains(city.toLowerCase()))
-                    .findFirst();
-
-            if (hotelOpt.isEmpty()) {
-                hotelOpt = Optional.of(matchingHotels.get(0));
+            if (hotelOpt.isEmpty() || !Boolean.TRUE.equals(hotelOpt.get().getAvailability())) {
+                return "❌ Could not find an available hotel named '" + hotelName + "' in " + city
+                        + ". Please search for available hotels first.";
             }
 
             Hotel hotel = hotelOpt.get();
 
             // Create the booking
             Booking booking = bookingService.createBooking(hotel, checkIn, checkOut, guests, null);
+            memo.invalidateBooking(booking.getBookingReference());
+            TurnContext.from(toolContext).ifPresent(turn -> turn.setBookingInfo(BookingInfo.fromEntity(booking)));
 
-            return formatBookingConfirmation(booking, hotel);
+            return respond(toolContext, formatter.bookingConfirmation(booking));
 
         } catch (DateTimeParseException e) {
             return "❌ Invalid date format. Please use YYYY-MM-DD format (e.g., 2026-03-15).";
+        } catch (RoomsUnavailableException e) {
+            return "❌ " + e.getMessage() + " Please try other dates or another hotel.";
         } catch (Exception e) {
             log.error("Error creating booking", e);
             return "❌ An error occurred while creating the booking: " + e.getMessage();
@@ -170,69 +281,52 @@ public class HotelBookingTools {
      * @param newCheckInDate optional new check-in date
      * @param newCheckOutDate optional new check-out date
      * @param newGuests optional new number of guests
+     * @param toolContext the tool context of the current chat turn, may be null
      * @return modification confirmation or error message
      */
-    @Tool(description = "Modify an existing booking. Requires booking reference ID. Can update check-in date, check-out date, or number of guests.")
+    @Tool(description = "Modify an existing booking. Requires booking reference ID. Can update check-in date, check-out date, or number of guests.",
+            resultConverter = PlainTextResultConverter.class)
     public String modifyBooking(
             @ToolParam(description = "Booking reference ID (e.g., HBK-2026-00123)") String bookingReference,
             @ToolParam(description = "New check-in date in YYYY-MM-DD format", required = false) String newCheckInDate,
             @ToolParam(description = "New check-out date in YYYY-MM-DD format", required = false) String newCheckOutDate,
-            @ToolParam(description = "New number of guests", required = false) Integer newGuests) {
+            @ToolParam(description = "New number of guests", required = false) Integer newGuests,
+            ToolContext toolContext) {
         
         log.info("Modifying booking {}", bookingReference);
 
-        Optional<Booking> bookingOpt = bookingRepository.findByBookingReference(bookingReference.toUpperCase());
-        
-        if (bookingOpt.isEmpty()) {
-            return "❌ Booking not found with reference: " + bookingReference + 
-                   ". Please verify the booking ID and try again.";
-        }
-
-        Booking booking = bookingOpt.get();
-
-        if (booking.getStatus() == BookingStatus.CANCELLED) {
-            return "❌ This booking has been cancelled and cannot be modified.";
-        }
-
         try {
-            // Apply modifications
+            LocalDate checkIn = null;
             if (newCheckInDate != null && !newCheckInDate.isBlank()) {
-                LocalDate checkIn = parseDate(newCheckInDate);
+                checkIn = parseDate(newCheckInDate);
                 if (checkIn.isBefore(LocalDate.now())) {
                     return "❌ New check-in date cannot be in the past.";
                 }
-                booking.setCheckIn(checkIn);
             }
-
-            if (newCheckOutDate != null && !newCheckOutDate.isBlank()) {
-                LocalDate checkOut = parseDate(newCheckOutDate);
-                booking.setCheckOut(checkOut);
-            }
-
+            LocalDate checkOut = newCheckOutDate != null && !newCheckOutDate.isBlank()
+                    ? parseDate(newCheckOutDate) : null;
+            Integer guests = null;
             if (newGuests != null && newGuests > 0) {
                 if (newGuests > 10) {
                     return "❌ Maximum 10 guests allowed per booking.";
                 }
-                booking.setGuests(newGuests);
+                guests = newGuests;
             }
 
-            booking.markAsModified();
-            bookingRepository.save(booking);
-
-            var sb = new StringBuilder();
-            sb.append("✅ **Booking Modified Successfully!**\n\n");
-            sb.append("📋 Booking ID: **").append(booking.getBookingReference()).append("**\n");
-            sb.append("🏨 Hotel: ").append(booking.getHotel().getName()).append("\n");
-            sb.append("📅 New Dates: ").append(booking.getCheckIn()).append(" to ").append(booking.getCheckOut()).append("\n");
-            sb.append("👥 Guests: ").append(booking.getGuests()).append("\n");
-            sb.append("💰 Updated Total: ₹").append(String.format("%,d", booking.getTotalPrice())).append("\n");
-            sb.append("📌 Status: ").append(booking.getStatus()).append("\n");
+            Booking booking = bookingService.modifyBooking(bookingReference, checkIn, checkOut, guests);
+            memo.invalidateBooking(booking.getBookingReference());
+            TurnContext.from(toolContext).ifPresent(turn -> turn.setBookingInfo(BookingInfo.fromEntity(booking)));
 
-            return sb.toString();
+            return respond(toolContext, formatter.bookingModified(booking));
 
+        } catch (BookingNotFoundException e) {
+            return "❌ Booking not found with reference: " + bookingReference + 
+                   ". Please verify the booking ID and try again.";
         } catch (DateTimeParseException e) {
             return "❌ Invalid date format. Please use YYYY-MM-DD format.";
-        } catch (IllegalArgumentException e) {
+        } catch (RoomsUnavailableException e) {
+            return "❌ " + e.getMessage() + " Your booking is unchanged; please try other dates.";
+        } catch (IllegalArgumentException | IllegalStateException e) {
             return "❌ " + e.getMessage();
         }
     }
@@ -241,51 +335,51 @@ public class HotelBookingTools {
      * Cancels an existing booking.
      *
      * @param bookingReference the booking reference ID
+     * @param toolContext the tool context of the current chat turn, may be null
      * @return cancellation confirmation or error message
      */
-    @Tool(description = "Cancel an existing hotel booking. Requires the booking reference ID.")
+    @Tool(description = "Cancel an existing hotel booking. Requires the booking reference ID.",
+            resultConverter = PlainTextResultConverter.class)
     public String cancelBooking(
-            @ToolParam(description = "Booking reference ID to cancel (e.g., HBK-2026-00123)") String bookingReference) {
+            @ToolParam(description = "Booking reference ID to cancel (e.g., HBK-2026-00123)") String bookingReference,
+            ToolContext toolContext) {
         
         log.info("Cancelling booking {}", bookingReference);
 
-        Optional<Booking> bookingOpt = bookingRepository.findByBookingReference(bookingReference.toUpperCase());
-        
-        if (bookingOpt.isEmpty()) {
+        Booking booking;
+        try {
+            booking = bookingService.cancelBooking(bookingReference);
+        } catch (BookingNotFoundException e) {
             return "❌ Booking not found with reference: " + bookingReference + 
                    ". Please verify the booking ID and try again.";
+        } catch (IllegalStateException e) {
+            return "ℹ️ " + e.getMessage();
         }
 
-        Booking booking = bookingOpt.get();
-
-        if (booking.getStatus() == BookingStatus.CANCELLED) {
-            return "ℹ️ This booking has already been cancelled.";
-        }
-
-        booking.cancel();
-        bookingRepository.save(booking);
+        memo.invalidateBooking(booking.getBookingReference());
+        TurnContext.from(toolContext).ifPresent(turn -> turn.setBookingInfo(BookingInfo.fromEntity(booking)));
 
-        var sb = new StringBuilder();
-        sb.append("✅ **Booking Cancelled Successfully**\n\n");
-        sb.append("📋 Booking ID: **").append(booking.getBookingReference()).append("**\n");
-        sb.append("🏨 Hotel: ").append(booking.getHotel().getName()).append("\n");
-        sb.append("📅 Original Dates: ").append(booking.getCheckIn()).append(" to ").append(booking.getCheckOut()).append("\n");
-        sb.append("📌 Status: CANCELLED\n\n");
-        sb.append("If you need to make a new booking, I'd be happy to help!");
-
-        return sb.toString();
+        return respond(toolContext, formatter.bookingCancelled(booking));
     }
 
     /**
      * Gets details of an existing booking.
      *
      * @param bookingReference the booking reference ID
+     * @param toolContext the tool context of the current chat turn, may be null
      * @return booking details or error message
      */
-    @Tool(description = "Get details of an existing booking using the booking reference ID.")
+    @Tool(description = "Get details of an existing booking using the booking reference ID.",
+            resultConverter = PlainTextResultConverter.class)
     public String getBookingDetails(
-            @ToolParam(description = "Booking reference ID (e.g., HBK-2026-00123)") String bookingReference) {
-        
+            @ToolParam(description = "Booking reference ID (e.g., HBK-2026-00123)") String bookingReference,
+            ToolContext toolContext) {
+        List<Object> arguments = Arrays.asList(ToolResultMemo.normalizeReference(bookingReference));
+        return memo.read(toolContext, "getBookingDetails", arguments, bookingReference,
+                context -> bookingDetails(bookingReference, context));
+    }
+
+    private String bookingDetails(String bookingReference, ToolContext toolContext) {
         log.info("Getting booking details for {}", bookingReference);
 
         Optional<Booking> bookingOpt = bookingRepository.findByBookingReference(bookingReference.toUpperCase());
@@ -295,28 +389,9 @@ public class HotelBookingTools {
         }
 
         Booking booking = bookingOpt.get();
-        Hotel hotel = booking.getHotel();
-
-        var sb = new StringBuilder();
-        sb.append("📋 **Booking Details**\n\n");
-        sb.append("🆔 Booking ID: **").append(booking.getBookingReference()).append("**\n");
-        sb.append("📌 Status: ").append(booking.getStatus()).append("\n\n");
-        sb.append("🏨 **Hotel Information**\n");
-        sb.append("   Name: ").append(hotel.getName()).append("\n");
-        sb.append("   Location: ").append(hotel.getCity());
-        if (hotel.getAddress() != null) {
-            sb.append(" - ").append(hotel.getAddress());
-        }
-        sb.append("\n   Room Type: ").append(hotel.getRoomType()).append("\n\n");
-        sb.append("📅 **Stay Details**\n");
-        sb.append("   Check-in: ").append(booking.getCheckIn()).append("\n");
-        sb.append("   Check-out: ").append(booking.getCheckOut()).append("\n");
-        sb.append("   Duration: ").append(booking.getNumberOfNights()).append(" night(s)\n");
-        sb.append("   Guests: ").append(booking.getGuests()).append("\n\n");
-        sb.append("💰 **Payment**\n");
-        sb.append("   Total: ₹").append(String.format("%,d", booking.getTotalPrice())).append("\n");
-
-        return sb.toString();
+        TurnContext.from(toolContext).ifPresent(turn -> turn.setBookingInfo(BookingInfo.fromEntity(booking)));
+
+        return respond(toolContext, formatter.bookingDetails(booking));
     }
 
     private LocalDate parseDate(String dateStr) {
@@ -343,25 +418,21 @@ public class HotelBookingTools {
         throw new DateTimeParseException("Could not parse date", dateStr, 0);
     }
 
-    private String formatBookingConfirmation(Booking booking, Hotel hotel) {
-        var sb = new StringBuilder();
-        sb.append("✅ **Booking Confirmed!**\n\n");
-        sb.append("📋 Booking ID: **").append(booking.getBookingReference()).append("**\n\n");
-        sb.append("🏨 **Hotel Details**\n");
-        sb.append("   ").append(hotel.getName()).append("\n");
-        sb.append("   📍 ").append(hotel.getCity());
-        if (hotel.getAddress() != null) {
-            sb.append(" - ").append(hotel.getAddress());
-        }
-        sb.append("\n   🛏️ ").append(hotel.getRoomType()).append(" Room\n\n");
-        sb.append("📅 **Stay Details**\n");
-        sb.append("   Check-in: ").append(booking.getCheckIn()).append("\n");
-        sb.append("   Check-out: ").append(booking.getCheckOut()).append("\n");
-        sb.append("   Duration: ").append(booking.getNumberOfNights()).append(" night(s)\n");
-        sb.append("   Guests: ").append(booking.getGuests()).append("\n\n");
-        sb.append("💰 **Total Amount: ₹").append(String.format("%,d", booking.getTotalPrice())).append("**\n\n");
-        sb.append("Please save your booking ID for future reference. Is there anything else I can help you with?");
-
-        return sb.toString();
+    private static String blankToNull(String value) {
+        return value != null && !value.isBlank() ? value.strip() : null;
+    }
+
+    private static String hotelNames(List<HotelSearchResult> hotels) {
+        return hotels.stream().map(HotelSearchResult::name).collect(Collectors.joining(", "));
+    }
+
+    /**
+     * Returns the rendering configured for the model and keeps the rich rendering
+     * on the turn, so the client can still be shown the decorated text.
+     */
+    private String respond(ToolContext toolContext, ToolResultFormatter.Rendering rendering) {
+        String forModel = formatter.forModel(rendering);
+        TurnContext.from(toolContext).ifPresent(turn -> turn.recordRendering(forModel, rendering.rich()));
+        return forModel;
     }
 }
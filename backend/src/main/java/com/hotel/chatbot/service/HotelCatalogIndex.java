@@ -0,0 +1,345 @@
+package com.hotel.chatbot.service;
+
+import com.hotel.chatbot.dto.HotelSearchResult;
+import com.hotel.chatbot.repository.HotelRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+
+/**
+ * In-memory index of the hotel catalog, answering {@code searchHotels} without a query.
+ * <p>
+ * The {@code LIKE '%city%'} searches in {@link HotelRepository} cannot use the city
+ * index, so each one scans the {@code hotels} table. This index holds every hotel in
+ * per-city buckets sorted by price; a lookup matches the city the same way (a
+ * case-insensitive substring), takes the price range by binary search and filters room
+ * type and availability. The whole catalog is loaded once the application is ready and
+ * kept current by polling for hotels whose {@code updated_at} moved, with a periodic
+ * full reload to drop deleted hotels. Hotels are loaded as {@link HotelSearchResult}
+ * projections, never as entities, and readers always see a complete, immutable snapshot.
+ * Each snapshot also carries a {@link HotelNameIndex} over the available hotels' names,
+ * for fuzzy hotel-name lookups when booking.
+ */
+@Component
+public class HotelCatalogIndex {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelCatalogIndex.class);
+
+    // Re-read changes from slightly before the last one seen, to catch late commits
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(5);
+
+    private static final LocalDateTime NO_CHANGES_SEEN = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private static final Comparator<HotelSearchResult> BY_PRICE = Comparator.comparing(HotelSearchResult::pricePerNight);
+
+    private final HotelRepository hotelRepository;
+    private final boolean enabled;
+    private final Duration fullReloadInterval;
+    private final Clock clock;
+
+    private volatile Snapshot snapshot;
+    private volatile Instant lastFullLoad = Instant.MIN;
+
+    private final AtomicLong lookups = new AtomicLong();
+    private final AtomicLong fullLoads = new AtomicLong();
+    private final AtomicLong incrementalRefreshes = new AtomicLong();
+    private final AtomicLong refreshedHotels = new AtomicLong();
+    private final AtomicLong refreshFailures = new AtomicLong();
+
+    @Autowired
+    public HotelCatalogIndex(HotelRepository hotelRepository,
+                             @Value("${app.catalog.index.enabled:true}") boolean enabled,
+                             @Value("${app.catalog.index.full-reload-interval:PT15M}") Duration fullReloadInterval) {
+        this(hotelRepository, enabled, fullReloadInterval, Clock.systemUTC());
+    }
+
+    public HotelCatalogIndex(HotelRepository hotelRepository, boolean enabled, Duration fullReloadInterval,
+                             Clock clock) {
+        this.hotelRepository = hotelRepository;
+        this.enabled = enabled;
+        this.fullReloadInterval = fullReloadInterval;
+        this.clock = clock;
+    }
+
+    /**
+     * Finds available hotels the way the repository's city searches do, sorted by price.
+     * Loads the catalog on first use if it is not loaded yet.
+     *
+     * @param city     the city to search in, matched case-insensitively as a substring
+     * @param minPrice optional minimum price per night
+     * @param maxPrice optional maximum price per night
+     * @param roomType optional room type, matched case-insensitively
+     * @param limit    the maximum number of hotels to return
+     * @return the cheapest matching hotels, or empty if the index is disabled
+     */
+    public Optional<List<HotelSearchResult>> findAvailable(String city, Integer minPrice, Integer maxPrice,
+                                                           String roomType, int limit) {
+        return findAvailable(city, minPrice, maxPrice, roomType, null, limit);
+    }
+
+    /**
+     * Finds available hotels as {@link #findAvailable(String, Integer, Integer, String, int)} does,
+     * keeping only those that also pass a filter, such as having a room for given dates.
+     *
+     * @param filter optional extra condition each hotel must meet
+     */
+    public Optional<List<HotelSearchResult>> findAvailable(String city, Integer minPrice, Integer maxPrice,
+                                                           String roomType, Predicate<HotelSearchResult> filter,
+                                                           int limit) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Snapshot current = snapshot;
+        if (current == null) {
+            current = loadIfAbsent();
+        }
+        lookups.incrementAndGet();
+        return Optional.of(current.findAvailable(city, minPrice, maxPrice, roomType, filter, limit));
+    }
+
+    /**
+     * Returns the trigram index over the names of the available hotels in the catalog, loading the
+     * catalog on first use if it is not loaded yet.
+     *
+     * @return the name index, or empty if the index is disabled
+     */
+    public Optional<HotelNameIndex> nameIndex() {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        Snapshot current = snapshot;
+        if (current == null) {
+            current = loadIfAbsent();
+        }
+        return Optional.of(current.names());
+    }
+
+    /**
+     * Loads the whole catalog into the index.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public synchronized void reload() {
+        if (enabled) {
+            load();
+        }
+    }
+
+    private synchronized Snapshot loadIfAbsent() {
+        Snapshot current = snapshot;
+        return current != null ? current : load();
+    }
+
+    private Snapshot load() {
+        Instant started = clock.instant();
+        // Read the watermark first: anything changed while loading is picked up by the next refresh
+        LocalDateTime watermark = hotelRepository.findLatestUpdate().orElse(null);
+        Snapshot loaded = Snapshot.of(hotelRepository.findAllSearchResults(), watermark);
+        snapshot = loaded;
+        lastFullLoad = started;
+        fullLoads.incrementAndGet();
+        log.info("Hotel catalog index loaded: {} hotels in {} cities", loaded.byId().size(), loaded.byCity().size());
+        return loaded;
+    }
+
+    /**
+     * Applies hotels changed since the last refresh, or reloads the whole catalog
+     * once {@code app.catalog.index.full-reload-interval} has passed.
+     */
+    @Scheduled(fixedDelayString = "${app.catalog.index.refresh-interval:PT30S}",
+            initialDelayString = "${app.catalog.index.refresh-interval:PT30S}")
+    public synchronized void refresh() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            Snapshot current = snapshot;
+            if (current == null || !clock.instant().isBefore(lastFullLoad.plus(fullReloadInterval))) {
+                load();
+                return;
+            }
+            LocalDateTime since = current.watermark() != null
+                    ? current.watermark().minus(REFRESH_OVERLAP)
+                    : NO_CHANGES_SEEN;
+            LocalDateTime latest = hotelRepository.findLatestUpdate().orElse(current.watermark());
+            List<HotelSearchResult> changed = hotelRepository.findSearchResultsUpdatedAfter(since);
+            incrementalRefreshes.incrementAndGet();
+            if (!changed.isEmpty()) {
+                snapshot = current.apply(changed, latest);
+                refreshedHotels.addAndGet(changed.size());
+                log.debug("Hotel catalog index refreshed {} hotel(s)", changed.size());
+            }
+        } catch (RuntimeException e) {
+            // Keep serving the last snapshot; the next refresh tries again
+            refreshFailures.incrementAndGet();
+            log.warn("Hotel catalog index refresh failed: {}", e.toString());
+        }
+    }
+
+    /**
+     * Returns index size and lookup and refresh counters.
+     */
+    public Map<String, Object> stats() {
+        Snapshot current = snapshot;
+        return Map.of(
+                "enabled", enabled,
+                "hotels", current != null ? current.byId().size() : 0,
+                "cities", current != null ? current.byCity().size() : 0,
+                "lookups", lookups.get(),
+                "fullLoads", fullLoads.get(),
+                "incrementalRefreshes", incrementalRefreshes.get(),
+                "refreshedHotels", refreshedHotels.get(),
+                "refreshFailures", refreshFailures.get()
+        );
+    }
+
+    private static String cityKey(String city) {
+        return city.strip().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * An immutable view of the catalog: hotels by id, per-city buckets sorted by price,
+     * and a trigram index over the names.
+     *
+     * @param byId      every hotel, by id
+     * @param byCity    hotels by lower-case city, sorted by price per night
+     * @param names     trigram index over the names of the available hotels
+     * @param watermark the latest {@code updated_at} covered by the snapshot
+     */
+    private record Snapshot(Map<String, HotelSearchResult> byId, Map<String, List<HotelSearchResult>> byCity,
+                            HotelNameIndex names, LocalDateTime watermark) {
+
+        static Snapshot of(Collection<HotelSearchResult> hotels, LocalDateTime watermark) {
+            Map<String, HotelSearchResult> byId = new HashMap<>();
+            for (HotelSearchResult hotel : hotels) {
+                byId.put(hotel.id(), hotel);
+            }
+            return build(byId, byId.values().stream().map(h -> cityKey(h.city())).toList(), Map.of(), watermark);
+        }
+
+        /**
+         * Returns a snapshot with the given hotels added or replaced; only their cities are re-sorted.
+         */
+        Snapshot apply(Collection<HotelSearchResult> changed, LocalDateTime latest) {
+            Map<String, HotelSearchResult> updated = new HashMap<>(byId);
+            Set<String> cities = new HashSet<>();
+            for (HotelSearchResult hotel : changed) {
+                HotelSearchResult previous = updated.put(hotel.id(), hotel);
+                if (previous != null) {
+                    cities.add(cityKey(previous.city()));
+                }
+                cities.add(cityKey(hotel.city()));
+            }
+            LocalDateTime moved = latest != null && (watermark == null || latest.isAfter(watermark)) ? latest : watermark;
+            return build(updated, cities, byCity, moved);
+        }
+
+        private static Snapshot build(Map<String, HotelSearchResult> byId, Collection<String> cities,
+                                      Map<String, List<HotelSearchResult>> unchanged, LocalDateTime watermark) {
+            Set<String> rebuilt = new HashSet<>(cities);
+            Map<String, List<HotelSearchResult>> buckets = new HashMap<>();
+            for (HotelSearchResult hotel : byId.values()) {
+                String city = cityKey(hotel.city());
+                if (rebuilt.contains(city)) {
+                    buckets.computeIfAbsent(city, key -> new ArrayList<>()).add(hotel);
+                }
+            }
+            Map<String, List<HotelSearchResult>> byCity = new HashMap<>(unchanged);
+            rebuilt.forEach(byCity::remove);
+            buckets.forEach((city, bucket) -> {
+                bucket.sort(BY_PRICE);
+                byCity.put(city, List.copyOf(bucket));
+            });
+            // Names change rarely and the index is cheap to build, so it is rebuilt whole
+            return new Snapshot(Map.copyOf(byId), Map.copyOf(byCity), bookableNames(byId.values()), watermark);
+        }
+
+        // Only available hotels can be booked, so only their names are indexed
+        private static HotelNameIndex bookableNames(Collection<HotelSearchResult> hotels) {
+            return HotelNameIndex.of(hotels.stream().filter(hotel -> Boolean.TRUE.equals(hotel.available())).toList());
+        }
+
+        List<HotelSearchResult> findAvailable(String city, Integer minPrice, Integer maxPrice, String roomType,
+                                              Predicate<HotelSearchResult> filter, int limit) {
+            String query = city != null ? cityKey(city) : "";
+            String room = roomType != null && !roomType.isBlank() ? roomType.strip() : null;
+            List<HotelSearchResult> found = new ArrayList<>();
+            int matchedCities = 0;
+            for (Map.Entry<String, List<HotelSearchResult>> bucket : byCity.entrySet()) {
+                if (!bucket.getKey().contains(query)) {
+                    continue;
+                }
+                matchedCities++;
+                List<HotelSearchResult> hotels = bucket.getValue();
+                int start = minPrice != null ? lowerBound(hotels, minPrice) : 0;
+                int end = maxPrice != null ? upperBound(hotels, maxPrice) : hotels.size();
+                // Each bucket is sorted, so only its first limit matches can make the cut
+                int taken = 0;
+                for (int i = start; i < end && taken < limit; i++) {
+                    HotelSearchResult hotel = hotels.get(i);
+                    if (Boolean.TRUE.equals(hotel.available())
+                            && (room == null || hotel.roomType().equalsIgnoreCase(room))
+                            && (filter == null || filter.test(hotel))) {
+                        found.add(hotel);
+                        taken++;
+                    }
+                }
+            }
+            if (matchedCities > 1) {
+                found.sort(BY_PRICE);
+            }
+            return found.size() > limit ? List.copyOf(found.subList(0, limit)) : found;
+        }
+
+        // Index of the first hotel priced at or above minPrice
+        private static int lowerBound(List<HotelSearchResult> hotels, int minPrice) {
+            int low = 0;
+            int high = hotels.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (hotels.get(mid).pricePerNight() < minPrice) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+
+        // Index of the first hotel priced above maxPrice
+        private static int upperBound(List<HotelSearchResult> hotels, int maxPrice) {
+            int low = 0;
+            int high = hotels.size();
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (hotels.get(mid).pricePerNight() <= maxPrice) {
+                    low = mid + 1;
+                } else {
+                    high = mid;
+                }
+            }
+            return low;
+        }
+    }
+}
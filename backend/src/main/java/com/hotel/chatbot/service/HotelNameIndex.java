@@ -0,0 +1,177 @@
+package com.hotel.chatbot.service;
+
+import com.hotel.chatbot.dto.HotelSearchResult;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+/**
+ * Trigram index over hotel names for fuzzy name lookups.
+ * <p>
+ * Names are split into words and each word into trigrams, padded as PostgreSQL's
+ * {@code pg_trgm} does, so misspelled, reordered or partial names still share most
+ * trigrams with the real name. A lookup reads the posting lists of the query's rarest
+ * trigrams first and stops after {@link #MAX_SCANNED_POSTINGS} entries, then scores at
+ * most {@link #MAX_CANDIDATES} candidates exactly, so its cost does not grow with the
+ * catalog. Instances are immutable.
+ */
+public final class HotelNameIndex {
+
+    /**
+     * Upper bound on posting entries read per lookup.
+     */
+    static final int MAX_SCANNED_POSTINGS = 4096;
+
+    /**
+     * Upper bound on candidates scored per lookup.
+     */
+    static final int MAX_CANDIDATES = 64;
+
+    private static final Pattern MARKS = Pattern.compile("\\p{M}+");
+    private static final Pattern NON_ALPHANUMERIC = Pattern.compile("[^\\p{Alnum}]+");
+
+    private static final HotelNameIndex EMPTY = new HotelNameIndex(List.of(), new String[0], List.of(), Map.of());
+
+    private final List<HotelSearchResult> hotels;
+    private final String[] cities;
+    private final List<Set<String>> trigrams;
+    private final Map<String, int[]> postings;
+
+    private HotelNameIndex(List<HotelSearchResult> hotels, String[] cities, List<Set<String>> trigrams,
+                           Map<String, int[]> postings) {
+        this.hotels = hotels;
+        this.cities = cities;
+        this.trigrams = trigrams;
+        this.postings = postings;
+    }
+
+    /**
+     * A hotel and how closely its name matches the query, from 0 to 1.
+     */
+    public record Match(HotelSearchResult hotel, double score) {
+    }
+
+    /**
+     * Builds an index over the given hotels' names.
+     */
+    public static HotelNameIndex of(Collection<HotelSearchResult> hotels) {
+        if (hotels.isEmpty()) {
+            return EMPTY;
+        }
+        List<HotelSearchResult> indexed = List.copyOf(hotels);
+        String[] cities = new String[indexed.size()];
+        List<Set<String>> trigrams = new ArrayList<>(indexed.size());
+        Map<String, List<Integer>> building = new HashMap<>();
+        for (int i = 0; i < indexed.size(); i++) {
+            HotelSearchResult hotel = indexed.get(i);
+            cities[i] = normalize(hotel.city());
+            Set<String> nameTrigrams = trigrams(hotel.name());
+            trigrams.add(nameTrigrams);
+            for (String trigram : nameTrigrams) {
+                building.computeIfAbsent(trigram, key -> new ArrayList<>()).add(i);
+            }
+        }
+        Map<String, int[]> postings = new HashMap<>();
+        building.forEach((trigram, ids) -> postings.put(trigram, ids.stream().mapToInt(Integer::intValue).toArray()));
+        return new HotelNameIndex(indexed, cities, trigrams, postings);
+    }
+
+    /**
+     * Finds the hotels whose names best match a possibly misspelled name.
+     *
+     * @param name  the hotel name as given
+     * @param city  optional city; only hotels whose city contains it are considered
+     * @param limit the maximum number of matches to return
+     * @return the best matches, highest score first
+     */
+    public List<Match> search(String name, String city, int limit) {
+        Set<String> query = trigrams(name);
+        if (query.isEmpty()) {
+            return List.of();
+        }
+        String cityFilter = city != null && !city.isBlank() ? normalize(city) : null;
+
+        // Count shared trigrams, reading the most selective posting lists first
+        Map<Integer, Integer> shared = new HashMap<>();
+        int scanned = 0;
+        for (int[] posting : query.stream()
+                .map(postings::get)
+                .filter(posting -> posting != null)
+                .sorted(Comparator.comparingInt(posting -> posting.length))
+                .toList()) {
+            if (scanned > 0 && scanned + posting.length > MAX_SCANNED_POSTINGS) {
+                break;
+            }
+            for (int i = 0; i < posting.length && scanned < MAX_SCANNED_POSTINGS; i++, scanned++) {
+                int hotel = posting[i];
+                if (cityFilter == null || cities[hotel].contains(cityFilter)) {
+                    shared.merge(hotel, 1, Integer::sum);
+                }
+            }
+        }
+
+        return shared.entrySet().stream()
+                .sorted(Map.Entry.<Integer, Integer>comparingByValue().reversed())
+                .limit(MAX_CANDIDATES)
+                .map(candidate -> new Match(hotels.get(candidate.getKey()),
+                        score(query, trigrams.get(candidate.getKey()))))
+                .sorted(Comparator.comparingDouble(Match::score).reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    /**
+     * Scores a name against the query by the Dice coefficient of their trigram sets.
+     * A name that contains every trigram of the query, as with a partial name such as
+     * "Taj", scores at least 0.8 so it is not rejected for being shorter.
+     */
+    private static double score(Set<String> query, Set<String> name) {
+        int common = 0;
+        for (String trigram : query) {
+            if (name.contains(trigram)) {
+                common++;
+            }
+        }
+        double dice = 2.0 * common / (query.size() + name.size());
+        return common == query.size() ? 0.8 + 0.2 * dice : dice;
+    }
+
+    static Set<String> trigrams(String text) {
+        Set<String> trigrams = new HashSet<>();
+        String normalized = normalize(text);
+        if (normalized.isEmpty()) {
+            return trigrams;
+        }
+        for (String word : normalized.split(" ")) {
+            String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+        return trigrams;
+    }
+
+    private static String normalize(String text) {
+        if (text == null) {
+            return "";
+        }
+        String decomposed = MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        return NON_ALPHANUMERIC.matcher(decomposed.toLowerCase(Locale.ROOT)).replaceAll(" ").strip();
+    }
+
+    @Override
+    public String toString() {
+        return "HotelNameIndex{hotels=" + hotels.size() + ", trigrams=" + postings.size()
+                + ", cities=" + Arrays.stream(cities).distinct().count() + "}";
+    }
+}
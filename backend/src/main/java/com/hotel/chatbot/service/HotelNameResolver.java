@@ -0,0 +1,118 @@
+package com.hotel.chatbot.service;
+
+import com.hotel.chatbot.dto.HotelSearchResult;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Resolves the hotel name the model passes to {@code createBooking} to one catalog hotel.
+ * <p>
+ * Names are matched fuzzily with the {@link HotelNameIndex} of the {@link HotelCatalogIndex},
+ * among the hotels of the requested city, so a misspelled name still finds its hotel.
+ * A name only resolves when its best match scores at least
+ * {@code app.chat.booking.name-match.min-score} and clearly beats the runner-up; otherwise
+ * the caller is told the name is unknown or ambiguous, with the closest hotels as
+ * suggestions, rather than booking whichever hotel happened to come first.
+ */
+@Component
+public class HotelNameResolver {
+
+    private static final int SUGGESTIONS = 3;
+
+    private final HotelCatalogIndex catalogIndex;
+    private final double minScore;
+    private final double ambiguityMargin;
+
+    private final AtomicLong matched = new AtomicLong();
+    private final AtomicLong ambiguous = new AtomicLong();
+    private final AtomicLong notFound = new AtomicLong();
+
+    public HotelNameResolver(HotelCatalogIndex catalogIndex,
+                             @Value("${app.chat.booking.name-match.min-score:0.5}") double minScore,
+                             @Value("${app.chat.booking.name-match.ambiguity-margin:0.05}") double ambiguityMargin) {
+        this.catalogIndex = catalogIndex;
+        this.minScore = minScore;
+        this.ambiguityMargin = ambiguityMargin;
+    }
+
+    /**
+     * How a hotel name resolved.
+     */
+    public enum Status {
+        /**
+         * One hotel matched with enough confidence.
+         */
+        MATCHED,
+        /**
+         * Several hotels matched about equally well.
+         */
+        AMBIGUOUS,
+        /**
+         * No hotel matched well enough.
+         */
+        NOT_FOUND
+    }
+
+    /**
+     * The outcome of resolving a hotel name.
+     *
+     * @param status     how the name resolved
+     * @param hotel      the matched hotel, or null unless {@link Status#MATCHED}
+     * @param score      the best match's score from 0 to 1, or 0 if nothing matched
+     * @param candidates the closest hotels, best first, to suggest when not matched
+     */
+    public record Resolution(Status status, HotelSearchResult hotel, double score, List<HotelSearchResult> candidates) {
+    }
+
+    /**
+     * Resolves a hotel name within a city.
+     *
+     * @param name the hotel name as given, possibly misspelled or partial
+     * @param city the city the hotel is in, matched case-insensitively as a substring
+     * @return the resolution, or empty if the catalog index is disabled
+     */
+    public Optional<Resolution> resolve(String name, String city) {
+        return catalogIndex.nameIndex().map(index -> resolve(index.search(name, city, SUGGESTIONS)));
+    }
+
+    private Resolution resolve(List<HotelNameIndex.Match> matches) {
+        // Only hotels at least half as close as a confident match are worth suggesting
+        List<HotelSearchResult> candidates = matches.stream()
+                .filter(match -> match.score() >= minScore / 2)
+                .map(HotelNameIndex.Match::hotel)
+                .toList();
+        if (matches.isEmpty() || matches.get(0).score() < minScore) {
+            notFound.incrementAndGet();
+            return new Resolution(Status.NOT_FOUND, null, matches.isEmpty() ? 0 : matches.get(0).score(), candidates);
+        }
+        HotelNameIndex.Match best = matches.get(0);
+        List<HotelSearchResult> close = matches.stream()
+                .filter(match -> match.score() > best.score() - ambiguityMargin)
+                .map(HotelNameIndex.Match::hotel)
+                .toList();
+        // An exact name wins over names that merely contain it, unless it is exact twice
+        if (close.size() > 1 && (best.score() < 1.0 || matches.get(1).score() >= 1.0)) {
+            ambiguous.incrementAndGet();
+            return new Resolution(Status.AMBIGUOUS, null, best.score(), close);
+        }
+        matched.incrementAndGet();
+        return new Resolution(Status.MATCHED, best.hotel(), best.score(), candidates);
+    }
+
+    /**
+     * Returns resolution counters.
+     */
+    public Map<String, Object> stats() {
+        return Map.of(
+                "minScore", minScore,
+                "matched", matched.get(),
+                "ambiguous", ambiguous.get(),
+                "notFound", notFound.get()
+        );
+    }
+}
@@ -0,0 +1,238 @@
+package com.hotel.chatbot.service;
+
+import com.hotel.chatbot.dto.HotelSearchResult;
+import com.hotel.chatbot.repository.HotelRepository;
+import com.hotel.chatbot.repository.HotelSearchCriteria;
+import com.hotel.chatbot.tool.TurnContext;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Starts the likely hotel search while the model is still thinking.
+ * <p>
+ * When a message sent to the model names exactly one city from the hotel catalog,
+ * the plain city search that {@link HotelBookingTools#searchHotels} would run is started
+ * in the background and attached to the turn. If the model then calls the tool for that
+ * city without price or room filters, the tool takes the prefetched hotels instead of
+ * querying again. The number of prefetches in flight is capped so a burst of queued turns
+ * cannot drain the connection pool; past the cap, turns simply skip the prefetch.
+ * Prefetching stays off while the {@link HotelCatalogIndex} answers searches from memory.
+ */
+@Component
+public class HotelSearchPrefetcher {
+
+    private static final Logger log = LoggerFactory.getLogger(HotelSearchPrefetcher.class);
+
+    private final HotelRepository hotelRepository;
+    private final Executor executor;
+    private final boolean enabled;
+    private final int maxInFlight;
+    private final int maxResults;
+    private final Semaphore inFlight;
+
+    // Catalog cities, loaded on first use and refreshed periodically
+    private volatile Cities cities;
+
+    private final AtomicLong started = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private final AtomicLong used = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+
+    @Autowired
+    public HotelSearchPrefetcher(HotelRepository hotelRepository,
+                                 @Value("${app.chat.prefetch.enabled:true}") boolean enabled,
+                                 @Value("${app.chat.prefetch.max-in-flight:8}") int maxInFlight,
+                                 @Value("${app.catalog.index.enabled:true}") boolean catalogIndexEnabled,
+                                 @Value("${app.chat.tools.search.max-results:20}") int maxResults) {
+        this(hotelRepository, Executors.newVirtualThreadPerTaskExecutor(), enabled && !catalogIndexEnabled,
+                maxInFlight, maxResults);
+    }
+
+    public HotelSearchPrefetcher(HotelRepository hotelRepository, Executor executor, boolean enabled, int maxInFlight,
+                                 int maxResults) {
+        this.hotelRepository = hotelRepository;
+        this.executor = executor;
+        this.enabled = enabled;
+        this.maxInFlight = maxInFlight;
+        this.maxResults = maxResults;
+        this.inFlight = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Starts the city search for a message that names a single catalog city.
+     *
+     * @param userMessage the user's message
+     * @param turn        the turn the prefetched result is attached to
+     */
+    public void prefetch(String userMessage, TurnContext turn) {
+        if (!enabled) {
+            return;
+        }
+        Optional<String> city = detectCity(userMessage);
+        if (city.isEmpty()) {
+            return;
+        }
+        if (!inFlight.tryAcquire()) {
+            skipped.incrementAndGet();
+            return;
+        }
+        started.incrementAndGet();
+        log.debug("Prefetching hotels in {} for session {}", city.get(), turn.getSessionId());
+        CompletableFuture<List<HotelSearchResult>> search;
+        try {
+            search = CompletableFuture.supplyAsync(() -> hotelRepository.search(
+                    HotelSearchCriteria.inCity(city.get()), ScrollPosition.keyset(), maxResults).getContent(), executor);
+        } catch (RuntimeException e) {
+            inFlight.release();
+            failed.incrementAndGet();
+            return;
+        }
+        search.whenComplete((hotels, error) -> {
+            inFlight.release();
+            if (error != null) {
+                failed.incrementAndGet();
+                log.debug("Hotel prefetch for {} failed: {}", city.get(), error.toString());
+            }
+        });
+        turn.setPrefetchedSearch(city.get(), search);
+    }
+
+    /**
+     * Returns the prefetched hotels if this turn prefetched the given city, waiting for
+     * the search to finish if necessary. A failed prefetch yields empty, so the caller
+     * runs the search itself.
+     *
+     * @param city        the city the tool was asked to search
+     * @param toolContext the tool context of the current chat turn, may be null
+     * @return the prefetched hotels, or empty if there are none for this city
+     */
+    public Optional<List<HotelSearchResult>> take(String city, ToolContext toolContext) {
+        Optional<CompletableFuture<List<HotelSearchResult>>> search = TurnContext.from(toolContext)
+                .flatMap(turn -> turn.prefetchedSearch(city));
+        if (search.isEmpty()) {
+            return Optional.empty();
+        }
+        try {
+            List<HotelSearchResult> hotels = search.get().join();
+            used.incrementAndGet();
+            return Optional.of(hotels);
+        } catch (CompletionException e) {
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Returns the catalog city named in a message, or empty if it names none or several.
+     */
+    public Optional<String> detectCity(String userMessage) {
+        if (userMessage == null || userMessage.isBlank()) {
+            return Optional.empty();
+        }
+        Cities known = cities();
+        if (known.pattern() == null) {
+            return Optional.empty();
+        }
+        Set<String> found = new LinkedHashSet<>();
+        Matcher matcher = known.pattern().matcher(userMessage);
+        while (matcher.find()) {
+            found.add(known.byName().get(matcher.group().toLowerCase(Locale.ROOT)));
+        }
+        return found.size() == 1 ? Optional.of(found.iterator().next()) : Optional.empty();
+    }
+
+    /**
+     * Returns whether a search for the city would find a catalog city, matching as city
+     * searches do: case-insensitively, as a substring. A blank city matches every city.
+     */
+    public boolean matchesCatalogCity(String city) {
+        String query = city != null ? city.strip().toLowerCase(Locale.ROOT) : "";
+        return cities().byName().keySet().stream().anyMatch(name -> name.contains(query));
+    }
+
+    /**
+     * Reloads the catalog's city names.
+     */
+    @Scheduled(fixedDelayString = "${app.chat.prefetch.city-refresh-interval:PT10M}",
+            initialDelayString = "${app.chat.prefetch.city-refresh-interval:PT10M}")
+    public void refreshCities() {
+        loadCities();
+    }
+
+    private Cities cities() {
+        Cities known = cities;
+        return known != null ? known : loadCities();
+    }
+
+    private Cities loadCities() {
+        Map<String, String> byName = new HashMap<>();
+        for (String city : hotelRepository.findDistinctCities()) {
+            if (city != null && !city.isBlank()) {
+                byName.put(city.strip().toLowerCase(Locale.ROOT), city.strip());
+            }
+        }
+        // Longest names first, so "New Delhi" wins over "Delhi"
+        Pattern pattern = byName.isEmpty() ? null : Pattern.compile(byName.keySet().stream()
+                        .sorted(Comparator.comparingInt(String::length).reversed())
+                        .map(Pattern::quote)
+                        .collect(Collectors.joining("|", "\\b(?:", ")\\b")),
+                Pattern.CASE_INSENSITIVE | Pattern.UNICODE_CASE);
+        Cities loaded = new Cities(pattern, byName);
+        cities = loaded;
+        return loaded;
+    }
+
+    /**
+     * Returns prefetch counters: searches started, skipped at the in-flight cap, used by
+     * the tool, and failed.
+     */
+    public Map<String, Object> stats() {
+        return Map.of(
+                "enabled", enabled,
+                "started", started.get(),
+                "skipped", skipped.get(),
+                "used", used.get(),
+                "failed", failed.get(),
+                "inFlight", maxInFlight - inFlight.availablePermits(),
+                "maxInFlight", maxInFlight
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (executor instanceof ExecutorService service) {
+            service.shutdownNow();
+        }
+    }
+
+    /**
+     * Catalog cities by lower-case name, and a pattern matching any of them as whole words.
+     */
+    private record Cities(Pattern pattern, Map<String, String> byName) {
+    }
+}
@@ -0,0 +1,121 @@
+package com.hotel.chatbot.service;
+
+import com.hotel.chatbot.tool.TurnContext;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Pre-LLM router for unambiguous, structured requests.
+ * <p>
+ * Commands such as "cancel HBK-2026-00123", "show booking HBK-2026-00042" or
+ * "hotels in Goa" are matched with anchored patterns and answered by calling the
+ * booking tools directly, skipping the model round trip. Anything that does not
+ * match a pattern in full is left to the LLM.
+ */
+@Component
+public class IntentRouter {
+
+    private static final Logger log = LoggerFactory.getLogger(IntentRouter.class);
+
+    private static final String REFERENCE = "(HBK-\\d{4}-\\d{5})";
+    private static final String END = "\\s*[.!?]?\\s*$";
+
+    private static final Pattern CANCEL_BOOKING = Pattern.compile(
+            "^\\s*(?:please\\s+)?cancel(?:\\s+(?:my|the))?(?:\\s+booking)?\\s+" + REFERENCE + END,
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern SHOW_BOOKING = Pattern.compile(
+            "^\\s*(?:(?:please\\s+)?(?:show|get|view|check)(?:\\s+me)?(?:\\s+(?:my|the))?"
+                    + "(?:\\s+booking)?(?:\\s+details)?(?:\\s+(?:of|for))?\\s+)?" + REFERENCE + END,
+            Pattern.CASE_INSENSITIVE);
+
+    private static final Pattern HOTELS_IN_CITY = Pattern.compile(
+            "^\\s*(?:(?:show(?:\\s+me)?|find|search(?:\\s+for)?|list)\\s+)?(?:all\\s+)?hotels\\s+in\\s+"
+                    + "([a-z][a-z.'-]*(?:\\s+[a-z][a-z.'-]*)?)" + END,
+            Pattern.CASE_INSENSITIVE);
+
+    // Words that turn "hotels in <city>" into a request with extra constraints for the LLM
+    private static final Set<String> QUALIFIERS = Set.of(
+            "next", "this", "today", "tonight", "tomorrow", "weekend", "near", "under", "below",
+            "with", "for", "from", "on", "and", "or", "cheap", "luxury", "budget", "best");
+
+    private final HotelBookingTools bookingTools;
+    private final boolean enabled;
+
+    private final AtomicLong cancelRouted = new AtomicLong();
+    private final AtomicLong showRouted = new AtomicLong();
+    private final AtomicLong searchRouted = new AtomicLong();
+
+    public IntentRouter(HotelBookingTools bookingTools,
+                        @Value("${app.chat.fast-path.enabled:true}") boolean enabled) {
+        this.bookingTools = bookingTools;
+        this.enabled = enabled;
+    }
+
+    /**
+     * Answers the message directly if it is an unambiguous structured command.
+     *
+     * @param userMessage the user's message
+     * @param turn        the current turn, which receives the tool's structured result
+     * @return the tool's reply, or empty if the message needs the LLM
+     */
+    public Optional<String> route(String userMessage, TurnContext turn) {
+        if (!enabled || userMessage == null) {
+            return Optional.empty();
+        }
+
+        Matcher matcher = CANCEL_BOOKING.matcher(userMessage);
+        if (matcher.matches()) {
+            log.debug("Fast path: cancel booking {}", matcher.group(1));
+            cancelRouted.incrementAndGet();
+            return Optional.of(bookingTools.cancelBooking(matcher.group(1).toUpperCase(), turn.toToolContext()));
+        }
+
+        matcher = SHOW_BOOKING.matcher(userMessage);
+        if (matcher.matches()) {
+            log.debug("Fast path: booking details {}", matcher.group(1));
+            showRouted.incrementAndGet();
+            return Optional.of(bookingTools.getBookingDetails(matcher.group(1).toUpperCase(), turn.toToolContext()));
+        }
+
+        matcher = HOTELS_IN_CITY.matcher(userMessage);
+        if (matcher.matches() && !hasQualifier(matcher.group(1))) {
+            String city = matcher.group(1).replaceAll("\\.+$", "").trim();
+            log.debug("Fast path: hotels in {}", city);
+            searchRouted.incrementAndGet();
+            return Optional.of(bookingTools.searchHotels(city, null, null, null, null, turn.toToolContext()));
+        }
+
+        return Optional.empty();
+    }
+
+    /**
+     * Returns how many messages each fast-path intent has answered.
+     */
+    public Map<String, Object> stats() {
+        return Map.of(
+                "enabled", enabled,
+                "cancelBooking", cancelRouted.get(),
+                "getBookingDetails", showRouted.get(),
+                "searchHotels", searchRouted.get()
+        );
+    }
+
+    private static boolean hasQualifier(String city) {
+        for (String word : city.toLowerCase().split("\\s+")) {
+            if (QUALIFIERS.contains(word)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
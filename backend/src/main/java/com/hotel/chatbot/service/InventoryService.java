@@ -0,0 +1,191 @@
+package com.hotel.chatbot.service;
+
+import com.hotel.chatbot.repository.BookedStay;
+import com.hotel.chatbot.repository.BookingRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Room inventory: how many rooms each hotel has left on each night, for filtering searches.
+ * <p>
+ * Every hotel gets a {@link RoomCalendar} of rooms booked per night, loaded from the
+ * bookings that are not cancelled and not yet over, and updated once a booking change
+ * made through {@link BookingService} commits. Whether a hotel has a room for a stay is
+ * then answered from memory in one pass over the stay's nights, so searches can filter on
+ * dates without reading bookings. The calendar only serves searches: bookings are checked
+ * against the database under a lock on the hotel row. It is reloaded every
+ * {@code app.inventory.reload-interval} to pick up bookings made by other instances.
+ */
+@Service
+public class InventoryService {
+
+    private static final Logger log = LoggerFactory.getLogger(InventoryService.class);
+
+    private final BookingRepository bookingRepository;
+    private final int horizonDays;
+    private final Clock clock;
+
+    private volatile Map<UUID, RoomCalendar> calendars = new ConcurrentHashMap<>();
+    private volatile boolean loaded;
+
+    private final AtomicLong reloads = new AtomicLong();
+    private final AtomicLong reservations = new AtomicLong();
+    private final AtomicLong releases = new AtomicLong();
+
+    @Autowired
+    public InventoryService(BookingRepository bookingRepository,
+                            @Value("${app.inventory.horizon-days:730}") int horizonDays) {
+        this(bookingRepository, horizonDays, Clock.systemDefaultZone());
+    }
+
+    public InventoryService(BookingRepository bookingRepository, int horizonDays, Clock clock) {
+        this.bookingRepository = bookingRepository;
+        this.horizonDays = horizonDays;
+        this.clock = clock;
+    }
+
+    /**
+     * Loads the nights held by current bookings, replacing the calendars in one step.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${app.inventory.reload-interval:PT5M}",
+            initialDelayString = "${app.inventory.reload-interval:PT5M}")
+    public synchronized void load() {
+        LocalDate today = LocalDate.now(clock);
+        List<BookedStay> stays = bookingRepository.findActiveStays(today);
+        Map<UUID, RoomCalendar> loading = new ConcurrentHashMap<>();
+        for (BookedStay stay : stays) {
+            loading.computeIfAbsent(stay.hotelId(), id -> new RoomCalendar())
+                    .add(stay.checkIn(), stay.checkOut(), 1, today);
+        }
+        calendars = loading;
+        loaded = true;
+        reloads.incrementAndGet();
+        log.debug("Room inventory loaded: {} bookings at {} hotels", stays.size(), loading.size());
+    }
+
+    /**
+     * Returns how many rooms a hotel has free on every night of a stay.
+     *
+     * @param hotelId    the hotel
+     * @param totalRooms the rooms the hotel offers
+     * @param checkIn    the first night
+     * @param checkOut   the day after the last night
+     * @return the free rooms, 0 if none
+     */
+    public int remainingRooms(UUID hotelId, int totalRooms, LocalDate checkIn, LocalDate checkOut) {
+        ensureLoaded();
+        RoomCalendar calendar = calendars.get(hotelId);
+        return calendar != null ? calendar.remaining(totalRooms, checkIn, checkOut) : totalRooms;
+    }
+
+    /**
+     * Returns whether a hotel has a room free on every night of a stay.
+     */
+    public boolean isAvailable(UUID hotelId, int totalRooms, LocalDate checkIn, LocalDate checkOut) {
+        return remainingRooms(hotelId, totalRooms, checkIn, checkOut) > 0;
+    }
+
+    /**
+     * Checks that a stay ends within the booking horizon.
+     *
+     * @throws IllegalArgumentException if the stay ends beyond it
+     */
+    public void checkHorizon(LocalDate checkOut) {
+        if (checkOut.isAfter(LocalDate.now(clock).plusDays(horizonDays))) {
+            throw new IllegalArgumentException("Bookings can be made at most " + horizonDays + " days ahead");
+        }
+    }
+
+    /**
+     * Records a room taken for a stay, once the surrounding transaction commits.
+     */
+    public void reserved(UUID hotelId, LocalDate checkIn, LocalDate checkOut) {
+        afterCommit(() -> {
+            calendar(hotelId).add(checkIn, checkOut, 1, LocalDate.now(clock));
+            reservations.incrementAndGet();
+        });
+    }
+
+    /**
+     * Records a booking's room moved to new dates, once the surrounding transaction commits.
+     */
+    public void moved(UUID hotelId, LocalDate fromCheckIn, LocalDate fromCheckOut,
+                      LocalDate toCheckIn, LocalDate toCheckOut) {
+        afterCommit(() -> {
+            LocalDate today = LocalDate.now(clock);
+            RoomCalendar calendar = calendar(hotelId);
+            calendar.add(fromCheckIn, fromCheckOut, -1, today);
+            calendar.add(toCheckIn, toCheckOut, 1, today);
+            reservations.incrementAndGet();
+        });
+    }
+
+    /**
+     * Records a booking's room freed, once the surrounding transaction commits.
+     */
+    public void released(UUID hotelId, LocalDate checkIn, LocalDate checkOut) {
+        afterCommit(() -> {
+            calendar(hotelId).add(checkIn, checkOut, -1, LocalDate.now(clock));
+            releases.incrementAndGet();
+        });
+    }
+
+    /**
+     * Returns inventory size and reservation counters.
+     */
+    public Map<String, Object> stats() {
+        return Map.of(
+                "hotels", calendars.size(),
+                "reloads", reloads.get(),
+                "reservations", reservations.get(),
+                "releases", releases.get()
+        );
+    }
+
+    private void ensureLoaded() {
+        if (!loaded) {
+            synchronized (this) {
+                if (!loaded) {
+                    load();
+                }
+            }
+        }
+    }
+
+    private RoomCalendar calendar(UUID hotelId) {
+        return calendars.computeIfAbsent(Objects.requireNonNull(hotelId, "Hotel id must not be null"),
+                id -> new RoomCalendar());
+    }
+
+    // Applies a calendar change once the surrounding transaction commits, or now without one
+    private static void afterCommit(Runnable change) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    change.run();
+                }
+            });
+        } else {
+            change.run();
+        }
+    }
+}
@@ -0,0 +1,205 @@
+package com.hotel.chatbot.service;
+
+import com.hotel.chatbot.exception.ChatCapacityExceededException;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Limits the number of concurrent calls into the LLM.
+ * Callers wait in a fair FIFO queue for a permit; when the queue is full or the
+ * wait exceeds the configured timeout a {@link ChatCapacityExceededException} is thrown,
+ * so a slow model degrades into queuing instead of thread starvation.
+ */
+@Component
+public class LlmConcurrencyLimiter {
+
+    private static final Logger log = LoggerFactory.getLogger(LlmConcurrencyLimiter.class);
+
+    private final int maxConcurrent;
+    private final int maxQueueDepth;
+    private final Duration queueTimeout;
+    private final Semaphore permits;
+    private final Scheduler waitScheduler = Schedulers.fromExecutorService(
+            Executors.newVirtualThreadPerTaskExecutor(), "llm-permit-wait");
+
+    /** Permit held by the blocking call running on this thread, if any. */
+    private final ThreadLocal<Permit> held = new ThreadLocal<>();
+
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final AtomicLong acquired = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+
+    public LlmConcurrencyLimiter(
+            @Value("${app.chat.llm.max-concurrent:4}") int maxConcurrent,
+            @Value("${app.chat.llm.max-queue-depth:200}") int maxQueueDepth,
+            @Value("${app.chat.llm.queue-timeout:30s}") Duration queueTimeout) {
+        if (maxConcurrent < 1) {
+            throw new IllegalArgumentException("Max concurrent LLM calls must be at least 1");
+        }
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueueDepth = maxQueueDepth;
+        this.queueTimeout = queueTimeout;
+        this.permits = new Semaphore(maxConcurrent, true);
+    }
+
+    /**
+     * Runs a blocking LLM call while holding a permit.
+     *
+     * @param call the LLM call to run
+     * @return the call's result
+     */
+    public <T> T execute(Supplier<T> call) {
+        acquire();
+        Permit permit = new Permit();
+        Permit outer = held.get();
+        held.set(permit);
+        try {
+            return call.get();
+        } finally {
+            if (outer != null) {
+                held.set(outer);
+            } else {
+                held.remove();
+            }
+            permit.release();
+        }
+    }
+
+    /**
+     * Keeps the permit of the call running on this thread until the returned handle is run,
+     * even if the call itself returns first. Work the call hands off and then abandons, such
+     * as an LLM request past its deadline, still counts against the limit until it finishes.
+     *
+     * @return runs once to give up the retained permit; does nothing outside {@link #execute}
+     */
+    public Runnable retainPermit() {
+        Permit permit = held.get();
+        if (permit == null) {
+            return () -> { };
+        }
+        permit.holders.incrementAndGet();
+        var released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                permit.release();
+            }
+        };
+    }
+
+    /**
+     * Wraps a streaming LLM call so a permit is acquired on subscription and
+     * released when the stream terminates or is cancelled.
+     *
+     * @param call supplier of the LLM stream
+     * @return the guarded stream
+     */
+    public <T> Flux<T> executeStream(Supplier<Flux<T>> call) {
+        return Flux.defer(() -> {
+            // 0 = waiting, 1 = holding a permit, 2 = terminated
+            var state = new AtomicInteger();
+            return Mono.fromRunnable(() -> {
+                        acquire();
+                        if (!state.compareAndSet(0, 1)) {
+                            // Cancelled while waiting: hand the permit straight back
+                            permits.release();
+                        }
+                    })
+                    .subscribeOn(waitScheduler)
+                    .thenMany(Flux.defer(call))
+                    // Release before the terminal signal reaches subscribers, or on cancel
+                    .doOnTerminate(() -> releaseStreamPermit(state))
+                    .doOnCancel(() -> releaseStreamPermit(state));
+        });
+    }
+
+    private void releaseStreamPermit(AtomicInteger state) {
+        if (state.getAndSet(2) == 1) {
+            permits.release();
+        }
+    }
+
+    private void acquire() {
+        try {
+            // The timed form honours the fair queue; untimed tryAcquire would barge past waiters
+            if (permits.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                acquired.incrementAndGet();
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ChatCapacityExceededException("Request was interrupted while waiting for the assistant.");
+        }
+
+        if (waiting.incrementAndGet() > maxQueueDepth) {
+            waiting.decrementAndGet();
+            rejected.incrementAndGet();
+            log.warn("LLM wait queue is full ({} waiting), rejecting request", maxQueueDepth);
+            throw new ChatCapacityExceededException("The assistant is busy right now. Please try again shortly.");
+        }
+
+        try {
+            if (!permits.tryAcquire(queueTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                timedOut.incrementAndGet();
+                log.warn("Timed out after {} waiting for an LLM permit", queueTimeout);
+                throw new ChatCapacityExceededException("The assistant is taking longer than usual. Please try again shortly.");
+            }
+            acquired.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ChatCapacityExceededException("Request was interrupted while waiting for the assistant.");
+        } finally {
+            waiting.decrementAndGet();
+        }
+    }
+
+    /**
+     * A semaphore permit shared by a call and the work it hands off; returned once all holders let go.
+     */
+    private final class Permit {
+        private final AtomicInteger holders = new AtomicInteger(1);
+
+        void release() {
+            if (holders.decrementAndGet() == 0) {
+                permits.release();
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        waitScheduler.dispose();
+    }
+
+    /**
+     * Returns a snapshot of the limiter's queue and permit counters.
+     */
+    public Map<String, Object> stats() {
+        return Map.of(
+                "maxConcurrent", maxConcurrent,
+                "inFlight", maxConcurrent - permits.availablePermits(),
+                "queueDepth", waiting.get(),
+                "maxQueueDepth", maxQueueDepth,
+                "acquired", acquired.get(),
+                "rejected", rejected.get(),
+                "timedOut", timedOut.get()
+        );
+    }
+}
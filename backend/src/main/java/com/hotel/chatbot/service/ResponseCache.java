@@ -0,0 +1,167 @@
+package com.hotel.chatbot.service;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Caches model answers to generic opening questions such as "what can you do".
+ * <p>
+ * Only answers that depend on the system prompt alone are cached: the caller must
+ * bypass the cache when the session already has history, and must not store answers
+ * from turns that invoked a tool. Keys are normalized messages; entries expire after
+ * a TTL and the least recently used entries are evicted beyond the size limit.
+ */
+@Component
+public class ResponseCache {
+
+    private final boolean enabled;
+    private final int maxEntries;
+    private final Duration ttl;
+    private final int maxMessageLength;
+    private final Clock clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    // Access-ordered: iteration starts at the least recently used entry
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong bypassed = new AtomicLong();
+    private final AtomicLong stores = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public ResponseCache(@Value("${app.chat.response-cache.enabled:true}") boolean enabled,
+                         @Value("${app.chat.response-cache.max-entries:500}") int maxEntries,
+                         @Value("${app.chat.response-cache.ttl:6h}") Duration ttl,
+                         @Value("${app.chat.response-cache.max-message-length:200}") int maxMessageLength) {
+        this(enabled, maxEntries, ttl, maxMessageLength, Clock.systemUTC());
+    }
+
+    public ResponseCache(boolean enabled, int maxEntries, Duration ttl, int maxMessageLength, Clock clock) {
+        this.enabled = enabled;
+        this.maxEntries = maxEntries;
+        this.ttl = ttl;
+        this.maxMessageLength = maxMessageLength;
+        this.clock = clock;
+    }
+
+    /**
+     * Returns whether a message is a candidate for caching at all.
+     */
+    public boolean isCacheable(String userMessage) {
+        return enabled && userMessage != null && !userMessage.isBlank() && userMessage.length() <= maxMessageLength;
+    }
+
+    /**
+     * Looks up a cached answer.
+     *
+     * @param userMessage the user's message
+     * @return the cached answer, or empty on a miss
+     */
+    public Optional<String> get(String userMessage) {
+        if (!isCacheable(userMessage)) {
+            return Optional.empty();
+        }
+        String key = normalize(userMessage);
+
+        lock.lock();
+        try {
+            Entry entry = entries.get(key);
+            if (entry == null || entry.expiresAt().isBefore(clock.instant())) {
+                if (entry != null) {
+                    entries.remove(key);
+                    evictions.incrementAndGet();
+                }
+                misses.incrementAndGet();
+                return Optional.empty();
+            }
+            hits.incrementAndGet();
+            return Optional.of(entry.response());
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Stores an answer that depended on the system prompt alone.
+     *
+     * @param userMessage the user's message
+     * @param response    the model's answer
+     */
+    public void put(String userMessage, String response) {
+        if (!isCacheable(userMessage) || response == null || response.isBlank()) {
+            return;
+        }
+
+        lock.lock();
+        try {
+            entries.put(normalize(userMessage), new Entry(response, clock.instant().plus(ttl)));
+            stores.incrementAndGet();
+            Iterator<Entry> it = entries.values().iterator();
+            while (entries.size() > maxEntries && it.hasNext()) {
+                it.next();
+                it.remove();
+                evictions.incrementAndGet();
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Counts a turn that skipped the cache because it depended on session context.
+     */
+    public void recordBypass() {
+        if (enabled) {
+            bypassed.incrementAndGet();
+        }
+    }
+
+    /**
+     * Returns the cache's hit, miss and eviction counters.
+     */
+    public Map<String, Object> stats() {
+        lock.lock();
+        try {
+            return Map.of(
+                    "enabled", enabled,
+                    "size", entries.size(),
+                    "maxEntries", maxEntries,
+                    "hits", hits.get(),
+                    "misses", misses.get(),
+                    "bypassed", bypassed.get(),
+                    "stores", stores.get(),
+                    "evictions", evictions.get()
+            );
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Normalizes a message so trivial variations share a cache entry:
+     * case, surrounding and repeated whitespace, and trailing punctuation are ignored.
+     */
+    static String normalize(String message) {
+        return message.toLowerCase(Locale.ROOT)
+                .replaceAll("\\s+", " ")
+                .replaceAll("[\\s?!.]+$", "")
+                .strip();
+    }
+
+    private record Entry(String response, Instant expiresAt) {
+    }
+}
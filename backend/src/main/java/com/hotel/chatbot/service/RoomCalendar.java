@@ -0,0 +1,64 @@
+package com.hotel.chatbot.service;
+
+import java.time.LocalDate;
+
+/**
+ * Rooms booked per night at one hotel.
+ * <p>
+ * Counts are kept in a {@code short} per night from an origin date, so a year of
+ * nights takes under a kilobyte and a stay is checked in one pass over its nights.
+ * Nights before today are never asked about, so they are dropped whenever the array
+ * is reallocated. All methods are synchronized on the calendar.
+ */
+final class RoomCalendar {
+
+    private long origin;
+    private short[] booked = new short[0];
+
+    /**
+     * Returns how many rooms are free on every night of the stay.
+     */
+    synchronized int remaining(int totalRooms, LocalDate checkIn, LocalDate checkOut) {
+        int most = 0;
+        for (long night = checkIn.toEpochDay(); night < checkOut.toEpochDay(); night++) {
+            most = Math.max(most, bookedOn(night));
+        }
+        return Math.max(totalRooms - most, 0);
+    }
+
+    /**
+     * Adds {@code delta} booked rooms to each night of the stay from today on.
+     */
+    synchronized void add(LocalDate checkIn, LocalDate checkOut, int delta, LocalDate today) {
+        long first = Math.max(checkIn.toEpochDay(), today.toEpochDay());
+        long end = checkOut.toEpochDay();
+        if (first >= end) {
+            return;
+        }
+        cover(first, end, today.toEpochDay());
+        for (long night = first; night < end; night++) {
+            int index = (int) (night - origin);
+            booked[index] = (short) Math.max(booked[index] + delta, 0);
+        }
+    }
+
+    private int bookedOn(long night) {
+        long index = night - origin;
+        return index >= 0 && index < booked.length ? booked[(int) index] : 0;
+    }
+
+    // Grows the array to cover [first, end), dropping nights before today
+    private void cover(long first, long end, long today) {
+        if (booked.length > 0 && first >= origin && end <= origin + booked.length) {
+            return;
+        }
+        long newOrigin = booked.length == 0 ? first : Math.max(Math.min(first, origin), today);
+        long newEnd = booked.length == 0 ? end : Math.max(end, origin + booked.length);
+        short[] grown = new short[(int) (newEnd - newOrigin)];
+        for (long night = Math.max(origin, newOrigin); night < origin + booked.length; night++) {
+            grown[(int) (night - newOrigin)] = booked[(int) (night - origin)];
+        }
+        origin = newOrigin;
+        booked = grown;
+    }
+}
@@ -0,0 +1,232 @@
+package com.hotel.chatbot.service;
+
+import com.hotel.chatbot.exception.SessionBusyException;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs the turns of one chat session one at a time, in arrival order, while turns of
+ * different sessions run in parallel.
+ * <p>
+ * Each active session has a lane: a fair single-permit semaphore plus the turns waiting
+ * on it. A session may hold one running turn and {@code maxQueuedTurns} waiting ones;
+ * further turns, and turns that wait longer than {@code waitTimeout}, are rejected with
+ * {@link SessionBusyException}. A message identical to one already queued or running for
+ * the session (e.g. a double-submit) is coalesced: it waits for and shares the first
+ * turn's result. Streaming duplicates cannot share a stream and are rejected instead.
+ * Lanes are dropped as soon as their last turn leaves.
+ */
+@Component
+public class SessionLanes {
+
+    private final int maxQueuedTurns;
+    private final Duration waitTimeout;
+    private final boolean coalesceDuplicates;
+    private final Scheduler waitScheduler = Schedulers.fromExecutorService(
+            Executors.newVirtualThreadPerTaskExecutor(), "session-lane-wait");
+
+    private final Map<String, Lane> lanes = new ConcurrentHashMap<>();
+
+    private final AtomicLong turns = new AtomicLong();
+    private final AtomicLong queued = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong timedOut = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    public SessionLanes(@Value("${app.chat.session.max-queued-turns:2}") int maxQueuedTurns,
+                        @Value("${app.chat.session.wait-timeout:150s}") Duration waitTimeout,
+                        @Value("${app.chat.session.coalesce-duplicates:true}") boolean coalesceDuplicates) {
+        this.maxQueuedTurns = maxQueuedTurns;
+        this.waitTimeout = waitTimeout;
+        this.coalesceDuplicates = coalesceDuplicates;
+    }
+
+    /**
+     * Runs a blocking turn in its session's lane.
+     *
+     * @param sessionId   the chat session
+     * @param userMessage the user's message, used to spot duplicates
+     * @param turn        the turn to run
+     * @return the turn's result, or the result of the identical turn it was coalesced with
+     * @throws SessionBusyException if the session's lane is full or the wait times out
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String sessionId, String userMessage, Supplier<T> turn) {
+        Lane lane = join(sessionId);
+        String key = ResponseCache.normalize(userMessage);
+        var mine = new InFlight(new CompletableFuture<>(), false);
+        try {
+            if (coalesceDuplicates) {
+                InFlight existing = lane.inFlight.putIfAbsent(key, mine);
+                if (existing != null) {
+                    return (T) awaitDuplicate(existing);
+                }
+            }
+            try {
+                acquire(lane);
+                try {
+                    T result = turn.get();
+                    mine.result().complete(result);
+                    return result;
+                } finally {
+                    lane.turn.release();
+                }
+            } catch (RuntimeException e) {
+                mine.result().completeExceptionally(e);
+                throw e;
+            } finally {
+                lane.inFlight.remove(key, mine);
+            }
+        } finally {
+            leave(sessionId);
+        }
+    }
+
+    /**
+     * Wraps a streaming turn so it waits for its session's lane on subscription and
+     * frees the lane when the stream terminates or is cancelled.
+     *
+     * @param sessionId   the chat session
+     * @param userMessage the user's message, used to spot duplicates
+     * @param turn        supplier of the turn's stream
+     * @return the guarded stream, failing with {@link SessionBusyException} if the turn is rejected
+     */
+    public <T> Flux<T> executeStream(String sessionId, String userMessage, Supplier<Flux<T>> turn) {
+        return Flux.defer(() -> {
+            Lane lane = join(sessionId);
+            String key = ResponseCache.normalize(userMessage);
+            var mine = new InFlight(new CompletableFuture<>(), true);
+            if (coalesceDuplicates && lane.inFlight.putIfAbsent(key, mine) != null) {
+                leave(sessionId);
+                rejected.incrementAndGet();
+                return Flux.error(new SessionBusyException("This message is already being answered."));
+            }
+            // 0 = waiting, 1 = holding the lane, 2 = terminated
+            var state = new AtomicInteger();
+            Runnable finish = () -> {
+                int previous = state.getAndSet(2);
+                if (previous == 2) {
+                    return;
+                }
+                if (previous == 1) {
+                    lane.turn.release();
+                }
+                mine.result().complete(null);
+                lane.inFlight.remove(key, mine);
+                leave(sessionId);
+            };
+            return Mono.fromRunnable(() -> {
+                        acquire(lane);
+                        if (!state.compareAndSet(0, 1)) {
+                            // Cancelled while waiting: hand the lane straight back
+                            lane.turn.release();
+                        }
+                    })
+                    .subscribeOn(waitScheduler)
+                    .thenMany(Flux.defer(turn))
+                    .doOnTerminate(finish)
+                    .doOnCancel(finish);
+        });
+    }
+
+    /**
+     * Returns lane counters for monitoring.
+     */
+    public Map<String, Object> stats() {
+        return Map.of(
+                "activeSessions", lanes.size(),
+                "maxQueuedTurns", maxQueuedTurns,
+                "turns", turns.get(),
+                "queued", queued.get(),
+                "rejected", rejected.get(),
+                "timedOut", timedOut.get(),
+                "coalesced", coalesced.get()
+        );
+    }
+
+    @PreDestroy
+    void shutdown() {
+        waitScheduler.dispose();
+    }
+
+    private Lane join(String sessionId) {
+        var admitted = new boolean[1];
+        Lane lane = lanes.compute(sessionId, (id, existing) -> {
+            Lane l = existing != null ? existing : new Lane();
+            if (l.members <= maxQueuedTurns) {
+                l.members++;
+                admitted[0] = true;
+            }
+            return l;
+        });
+        if (!admitted[0]) {
+            rejected.incrementAndGet();
+            throw new SessionBusyException(
+                    "Still working on your previous messages. Please wait for a reply before sending more.");
+        }
+        turns.incrementAndGet();
+        return lane;
+    }
+
+    private void leave(String sessionId) {
+        lanes.computeIfPresent(sessionId, (id, lane) -> --lane.members == 0 ? null : lane);
+    }
+
+    private void acquire(Lane lane) {
+        try {
+            // The timed form honours the fair queue; untimed tryAcquire would barge past waiters
+            if (lane.turn.tryAcquire(0, TimeUnit.MILLISECONDS)) {
+                return;
+            }
+            queued.incrementAndGet();
+            if (!lane.turn.tryAcquire(waitTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                timedOut.incrementAndGet();
+                throw new SessionBusyException("Your previous message is taking a while. Please try again shortly.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SessionBusyException("Request was interrupted while waiting for the previous message.");
+        }
+    }
+
+    private Object awaitDuplicate(InFlight existing) {
+        if (existing.streaming()) {
+            rejected.incrementAndGet();
+            throw new SessionBusyException("This message is already being answered.");
+        }
+        coalesced.incrementAndGet();
+        try {
+            return existing.result().join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException cause ? cause : e;
+        }
+    }
+
+    private static final class Lane {
+        private final Semaphore turn = new Semaphore(1, true);
+        // Turns in the lane, running or waiting; guarded by the lanes map's compute
+        private int members;
+        // Normalized message -> the turn answering it
+        private final Map<String, InFlight> inFlight = new ConcurrentHashMap<>();
+    }
+
+    private record InFlight(CompletableFuture<Object> result, boolean streaming) {
+    }
+}
@@ -0,0 +1,75 @@
+package com.hotel.chatbot.tool;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.definition.ToolDefinition;
+import org.springframework.ai.tool.metadata.ToolMetadata;
+
+import java.util.Optional;
+
+/**
+ * Delegating {@link ToolCallback} for the booking tools.
+ * <p>
+ * Overrides whether the tool's result is returned straight to the caller instead of
+ * being sent back to the model, and records each invocation on the {@link TurnContext}.
+ * Mutating tools run at most once per turn for the same arguments, so a hedged model
+ * call cannot book or cancel twice.
+ */
+public class BookingToolCallback implements ToolCallback {
+
+    private static final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final ToolCallback delegate;
+    private final ToolMetadata metadata;
+    private final boolean mutating;
+
+    public BookingToolCallback(ToolCallback delegate, boolean returnDirect, boolean mutating) {
+        this.delegate = delegate;
+        this.metadata = ToolMetadata.builder().returnDirect(returnDirect).build();
+        this.mutating = mutating;
+    }
+
+    @Override
+    public ToolDefinition getToolDefinition() {
+        return delegate.getToolDefinition();
+    }
+
+    @Override
+    public ToolMetadata getToolMetadata() {
+        return metadata;
+    }
+
+    @Override
+    public String call(String toolInput) {
+        return delegate.call(toolInput);
+    }
+
+    @Override
+    public String call(String toolInput, ToolContext toolContext) {
+        Optional<TurnContext> turn = TurnContext.from(toolContext);
+        turn.ifPresent(t -> t.recordToolCall(getToolDefinition().name()));
+        if (mutating && turn.isPresent()) {
+            return turn.get().callOnce(invocationKey(toolInput), () -> delegate.call(toolInput, toolContext));
+        }
+        return delegate.call(toolInput, toolContext);
+    }
+
+    /**
+     * Identifies an invocation by tool name and parsed arguments, so argument order
+     * and whitespace do not matter.
+     */
+    private Object invocationKey(String toolInput) {
+        Object arguments;
+        try {
+            arguments = objectMapper.readTree(toolInput);
+        } catch (JsonProcessingException e) {
+            arguments = toolInput;
+        }
+        return new Invocation(getToolDefinition().name(), arguments);
+    }
+
+    private record Invocation(String tool, Object arguments) {
+    }
+}
@@ -0,0 +1,62 @@
+package com.hotel.chatbot.tool;
+
+import com.hotel.chatbot.service.HotelBookingTools;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.ToolCallbacks;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Builds the tool callbacks offered to the model from {@link HotelBookingTools}.
+ * <p>
+ * Tools listed in {@code app.chat.tools.return-direct} hand their result straight
+ * back to the client, saving the second generation in which the model would
+ * otherwise rephrase it. Tools that change bookings are guarded against running
+ * twice in one turn.
+ */
+@Component
+public class BookingToolCallbacks {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingToolCallbacks.class);
+
+    static final Set<String> MUTATING_TOOLS = Set.of("createBooking", "modifyBooking", "cancelBooking");
+
+    private final List<ToolCallback> callbacks;
+
+    public BookingToolCallbacks(HotelBookingTools bookingTools,
+                                @Value("${app.chat.tools.return-direct:}") Set<String> returnDirect) {
+        this.callbacks = Arrays.stream(ToolCallbacks.from(bookingTools))
+                .map(callback -> {
+                    String name = callback.getToolDefinition().name();
+                    return (ToolCallback) new BookingToolCallback(callback,
+                            returnDirect.contains(name), MUTATING_TOOLS.contains(name));
+                })
+                .toList();
+        log.info("Tools returning results directly: {}", returnDirect);
+    }
+
+    /**
+     * Returns the callbacks to register on each chat prompt.
+     */
+    public List<ToolCallback> all() {
+        return callbacks;
+    }
+
+    /**
+     * Returns the callback for the named tool.
+     *
+     * @throws IllegalArgumentException if no tool has that name
+     */
+    public ToolCallback get(String name) {
+        return callbacks.stream()
+                .filter(callback -> callback.getToolDefinition().name().equals(name))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("Unknown tool: " + name));
+    }
+}
@@ -0,0 +1,210 @@
+package com.hotel.chatbot.tool;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.tool.definition.ToolDefinition;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs the independent tool calls of one model response concurrently.
+ * <p>
+ * Spring AI executes the tool calls of a response one after another. This manager splits
+ * them into runs of consecutive calls: calls to the read-only tools named in
+ * {@code app.chat.tools.parallel} run together on virtual threads, while any other call
+ * runs alone, after everything before it and before anything after it, so mutating tools
+ * stay serialized in the order the model asked for them. Each call is executed by the
+ * delegate manager, and the tool responses are reassembled in call order into the single
+ * tool response message the model expects. Concurrent calls record their results on
+ * separate {@link TurnContext}s, merged into the turn in call order once all have finished.
+ */
+public class ParallelToolCallingManager implements ToolCallingManager {
+
+    private final ToolCallingManager delegate;
+    private final Set<String> parallelTools;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private final AtomicLong parallelBatches = new AtomicLong();
+    private final AtomicLong parallelCalls = new AtomicLong();
+    private final AtomicLong serialCalls = new AtomicLong();
+
+    public ParallelToolCallingManager(ToolCallingManager delegate, Set<String> parallelTools) {
+        this.delegate = delegate;
+        this.parallelTools = Set.copyOf(parallelTools);
+    }
+
+    @Override
+    public List<ToolDefinition> resolveToolDefinitions(ToolCallingChatOptions chatOptions) {
+        return delegate.resolveToolDefinitions(chatOptions);
+    }
+
+    @Override
+    public ToolExecutionResult executeToolCalls(Prompt prompt, ChatResponse chatResponse) {
+        Optional<AssistantMessage> toolCallMessage = chatResponse.getResults().stream()
+                .map(Generation::getOutput)
+                .filter(AssistantMessage::hasToolCalls)
+                .findFirst();
+        if (toolCallMessage.isEmpty() || !hasParallelRun(toolCallMessage.get().getToolCalls())) {
+            serialCalls.addAndGet(toolCallMessage.map(m -> m.getToolCalls().size()).orElse(0));
+            return delegate.executeToolCalls(prompt, chatResponse);
+        }
+
+        AssistantMessage assistantMessage = toolCallMessage.get();
+        List<AssistantMessage.ToolCall> toolCalls = assistantMessage.getToolCalls();
+        List<ToolExecutionResult> results = new ArrayList<>(toolCalls.size());
+        int i = 0;
+        while (i < toolCalls.size()) {
+            int end = i;
+            while (end < toolCalls.size() && isParallel(toolCalls.get(end))) {
+                end++;
+            }
+            if (end - i > 1) {
+                results.addAll(executeConcurrently(prompt, assistantMessage, toolCalls.subList(i, end)));
+                i = end;
+            } else {
+                serialCalls.incrementAndGet();
+                results.add(executeOne(prompt, assistantMessage, toolCalls.get(i)));
+                i++;
+            }
+        }
+
+        List<ToolResponseMessage.ToolResponse> responses = new ArrayList<>();
+        boolean returnDirect = true;
+        for (ToolExecutionResult result : results) {
+            responses.addAll(toolResponses(result));
+            returnDirect &= result.returnDirect();
+        }
+        List<Message> history = new ArrayList<>(prompt.getInstructions());
+        history.add(assistantMessage);
+        history.add(new ToolResponseMessage(responses, Map.of()));
+        return ToolExecutionResult.builder()
+                .conversationHistory(history)
+                .returnDirect(returnDirect)
+                .build();
+    }
+
+    /**
+     * Returns counters for tool calls run concurrently and one at a time.
+     */
+    public Map<String, Object> stats() {
+        return Map.of(
+                "parallelTools", parallelTools.stream().sorted().toList(),
+                "parallelBatches", parallelBatches.get(),
+                "parallelCalls", parallelCalls.get(),
+                "serialCalls", serialCalls.get()
+        );
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private List<ToolExecutionResult> executeConcurrently(Prompt prompt, AssistantMessage assistantMessage,
+                                                          List<AssistantMessage.ToolCall> batch) {
+        parallelBatches.incrementAndGet();
+        parallelCalls.addAndGet(batch.size());
+        Optional<TurnContext> turn = turnContext(prompt);
+        List<TurnContext> callTurns = new ArrayList<>(batch.size());
+        List<Future<ToolExecutionResult>> futures = new ArrayList<>(batch.size());
+        for (AssistantMessage.ToolCall toolCall : batch) {
+            Prompt callPrompt = prompt;
+            if (turn.isPresent()) {
+                TurnContext callTurn = turn.get().isolated();
+                callTurns.add(callTurn);
+                callPrompt = withTurnContext(prompt, callTurn);
+            }
+            Prompt finalCallPrompt = callPrompt;
+            futures.add(executor.submit(() -> executeOne(finalCallPrompt, assistantMessage, toolCall)));
+        }
+        List<ToolExecutionResult> results = new ArrayList<>(batch.size());
+        try {
+            for (Future<ToolExecutionResult> future : futures) {
+                results.add(future.get());
+            }
+            turn.ifPresent(t -> t.mergeCalls(callTurns));
+            return results;
+        } catch (InterruptedException e) {
+            // Only a shutdown interrupts the calling thread, such as the model's attempt executor
+            // closing; stop waiting and cancel the tool calls still running
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Interrupted while running tool calls");
+        } catch (ExecutionException e) {
+            futures.forEach(future -> future.cancel(true));
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException("Tool call failed", e.getCause());
+        }
+    }
+
+    private ToolExecutionResult executeOne(Prompt prompt, AssistantMessage assistantMessage,
+                                           AssistantMessage.ToolCall toolCall) {
+        var single = new AssistantMessage(assistantMessage.getText(), assistantMessage.getMetadata(),
+                List.of(toolCall));
+        return delegate.executeToolCalls(prompt, new ChatResponse(List.of(new Generation(single))));
+    }
+
+    private static Optional<TurnContext> turnContext(Prompt prompt) {
+        if (prompt.getOptions() instanceof ToolCallingChatOptions options && options.getToolContext() != null) {
+            return TurnContext.from(new ToolContext(options.getToolContext()));
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns a copy of the prompt whose tool context carries the given turn context instead.
+     */
+    private static Prompt withTurnContext(Prompt prompt, TurnContext turn) {
+        ToolCallingChatOptions options = prompt.getOptions().copy();
+        Map<String, Object> toolContext = new HashMap<>(options.getToolContext());
+        toolContext.putAll(turn.asToolContext());
+        options.setToolContext(toolContext);
+        return new Prompt(prompt.getInstructions(), options);
+    }
+
+    private boolean hasParallelRun(List<AssistantMessage.ToolCall> toolCalls) {
+        for (int i = 1; i < toolCalls.size(); i++) {
+            if (isParallel(toolCalls.get(i - 1)) && isParallel(toolCalls.get(i))) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isParallel(AssistantMessage.ToolCall toolCall) {
+        return parallelTools.contains(toolCall.name());
+    }
+
+    private static List<ToolResponseMessage.ToolResponse> toolResponses(ToolExecutionResult result) {
+        List<Message> history = result.conversationHistory();
+        if (!history.isEmpty() && history.get(history.size() - 1) instanceof ToolResponseMessage message) {
+            return message.getResponses();
+        }
+        return List.of();
+    }
+}
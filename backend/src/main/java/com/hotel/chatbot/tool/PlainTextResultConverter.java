@@ -0,0 +1,23 @@
+package com.hotel.chatbot.tool;
+
+import org.springframework.ai.tool.execution.DefaultToolCallResultConverter;
+import org.springframework.ai.tool.execution.ToolCallResultConverter;
+
+import java.lang.reflect.Type;
+
+/**
+ * Passes text tool results through unchanged instead of encoding them as JSON strings,
+ * so results returned directly to the client read as the tool wrote them.
+ */
+public class PlainTextResultConverter implements ToolCallResultConverter {
+
+    private final ToolCallResultConverter fallback = new DefaultToolCallResultConverter();
+
+    @Override
+    public String convert(Object result, Type returnType) {
+        if (result instanceof String text) {
+            return text;
+        }
+        return fallback.convert(result, returnType);
+    }
+}
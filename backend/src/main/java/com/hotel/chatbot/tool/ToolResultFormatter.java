@@ -0,0 +1,174 @@
+package com.hotel.chatbot.tool;
+
+import com.hotel.chatbot.dto.HotelSearchResult;
+import com.hotel.chatbot.entity.Booking;
+import com.hotel.chatbot.entity.Hotel;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Renders booking tool results in two forms.
+ * <p>
+ * The rich form is the emoji and markdown text shown to users. The compact form is
+ * a terse {@code key=value} / pipe-separated form for the model: tool results stay
+ * in chat memory, so every decoration byte is paid for again as prompt tokens on
+ * later turns. {@code app.chat.tools.output-format} selects which form the model sees;
+ * the rich form is always available for the client.
+ */
+@Component
+public class ToolResultFormatter {
+
+    /**
+     * Output formats for tool results sent to the model.
+     */
+    public enum Format { RICH, COMPACT }
+
+    /**
+     * Both renderings of one tool result.
+     *
+     * @param rich    text for display to the user
+     * @param compact token-efficient text for the model
+     */
+    public record Rendering(String rich, String compact) {
+    }
+
+    private final Format format;
+
+    public ToolResultFormatter(@Value("${app.chat.tools.output-format:rich}") Format format) {
+        this.format = format;
+    }
+
+    /**
+     * Returns the configured format for tool results sent to the model.
+     */
+    public Format format() {
+        return format;
+    }
+
+    /**
+     * Selects the rendering the model should see.
+     */
+    public String forModel(Rendering rendering) {
+        return format == Format.COMPACT ? rendering.compact() : rendering.rich();
+    }
+
+    public Rendering hotelList(String city, List<HotelSearchResult> hotels) {
+        var rich = new StringBuilder();
+        rich.append("Found ").append(hotels.size()).append(" hotel(s) in ").append(city).append(":\n\n");
+
+        for (int i = 0; i < hotels.size(); i++) {
+            var hotel = hotels.get(i);
+            rich.append(i + 1).append(". **").append(hotel.name()).append("**\n");
+            rich.append("   📍 ").append(hotel.address() != null ? hotel.address() : hotel.city()).append("\n");
+            rich.append("   🛏️ ").append(hotel.roomType()).append(" Room\n");
+            rich.append("   💰 ₹").append(String.format("%,d", hotel.pricePerNight())).append(" per night\n");
+            if (hotel.rating() != null) {
+                rich.append("   ⭐ ").append(hotel.rating()).append("/5 rating\n");
+            }
+            rich.append("\n");
+        }
+
+        var compact = new StringBuilder();
+        compact.append("hotels city=").append(city).append(" count=").append(hotels.size()).append('\n');
+        compact.append("name|address|room|priceInr|rating\n");
+        for (HotelSearchResult hotel : hotels) {
+            compact.append(hotel.name()).append('|')
+                    .append(hotel.address() != null ? hotel.address() : hotel.city()).append('|')
+                    .append(hotel.roomType()).append('|')
+                    .append(hotel.pricePerNight()).append('|')
+                    .append(hotel.rating() != null ? hotel.rating() : "-").append('\n');
+        }
+
+        return new Rendering(rich.toString(), compact.toString());
+    }
+
+    public Rendering bookingConfirmation(Booking booking) {
+        Hotel hotel = booking.getHotel();
+        var sb = new StringBuilder();
+        sb.append("✅ **Booking Confirmed!**\n\n");
+        sb.append("📋 Booking ID: **").append(booking.getBookingReference()).append("**\n\n");
+        sb.append("🏨 **Hotel Details**\n");
+        sb.append("   ").append(hotel.getName()).append("\n");
+        sb.append("   📍 ").append(hotel.getCity());
+        if (hotel.getAddress() != null) {
+            sb.append(" - ").append(hotel.getAddress());
+        }
+        sb.append("\n   🛏️ ").append(hotel.getRoomType()).append(" Room\n\n");
+        sb.append("📅 **Stay Details**\n");
+        sb.append("   Check-in: ").append(booking.getCheckIn()).append("\n");
+        sb.append("   Check-out: ").append(booking.getCheckOut()).append("\n");
+        sb.append("   Duration: ").append(booking.getNumberOfNights()).append(" night(s)\n");
+        sb.append("   Guests: ").append(booking.getGuests()).append("\n\n");
+        sb.append("💰 **Total Amount: ₹").append(String.format("%,d", booking.getTotalPrice())).append("**\n\n");
+        sb.append("Please save your booking ID for future reference. Is there anything else I can help you with?");
+
+        return new Rendering(sb.toString(), compactBooking("booking_confirmed", booking));
+    }
+
+    public Rendering bookingModified(Booking booking) {
+        var sb = new StringBuilder();
+        sb.append("✅ **Booking Modified Successfully!**\n\n");
+        sb.append("📋 Booking ID: **").append(booking.getBookingReference()).append("**\n");
+        sb.append("🏨 Hotel: ").append(booking.getHotel().getName()).append("\n");
+        sb.append("📅 New Dates: ").append(booking.getCheckIn()).append(" to ").append(booking.getCheckOut()).append("\n");
+        sb.append("👥 Guests: ").append(booking.getGuests()).append("\n");
+        sb.append("💰 Updated Total: ₹").append(String.format("%,d", booking.getTotalPrice())).append("\n");
+        sb.append("📌 Status: ").append(booking.getStatus()).append("\n");
+
+        return new Rendering(sb.toString(), compactBooking("booking_modified", booking));
+    }
+
+    public Rendering bookingCancelled(Booking booking) {
+        var sb = new StringBuilder();
+        sb.append("✅ **Booking Cancelled Successfully**\n\n");
+        sb.append("📋 Booking ID: **").append(booking.getBookingReference()).append("**\n");
+        sb.append("🏨 Hotel: ").append(booking.getHotel().getName()).append("\n");
+        sb.append("📅 Original Dates: ").append(booking.getCheckIn()).append(" to ").append(booking.getCheckOut()).append("\n");
+        sb.append("📌 Status: CANCELLED\n\n");
+        sb.append("If you need to make a new booking, I'd be happy to help!");
+
+        return new Rendering(sb.toString(), compactBooking("booking_cancelled", booking));
+    }
+
+    public Rendering bookingDetails(Booking booking) {
+        Hotel hotel = booking.getHotel();
+        var sb = new StringBuilder();
+        sb.append("📋 **Booking Details**\n\n");
+        sb.append("🆔 Booking ID: **").append(booking.getBookingReference()).append("**\n");
+        sb.append("📌 Status: ").append(booking.getStatus()).append("\n\n");
+        sb.append("🏨 **Hotel Information**\n");
+        sb.append("   Name: ").append(hotel.getName()).append("\n");
+        sb.append("   Location: ").append(hotel.getCity());
+        if (hotel.getAddress() != null) {
+            sb.append(" - ").append(hotel.getAddress());
+        }
+        sb.append("\n   Room Type: ").append(hotel.getRoomType()).append("\n\n");
+        sb.append("📅 **Stay Details**\n");
+        sb.append("   Check-in: ").append(booking.getCheckIn()).append("\n");
+        sb.append("   Check-out: ").append(booking.getCheckOut()).append("\n");
+        sb.append("   Duration: ").append(booking.getNumberOfNights()).append(" night(s)\n");
+        sb.append("   Guests: ").append(booking.getGuests()).append("\n\n");
+        sb.append("💰 **Payment**\n");
+        sb.append("   Total: ₹").append(String.format("%,d", booking.getTotalPrice())).append("\n");
+
+        return new Rendering(sb.toString(), compactBooking("booking", booking));
+    }
+
+    private static String compactBooking(String kind, Booking booking) {
+        Hotel hotel = booking.getHotel();
+        return kind
+                + " ref=" + booking.getBookingReference()
+                + " status=" + booking.getStatus()
+                + " hotel=\"" + hotel.getName() + "\""
+                + " city=" + hotel.getCity()
+                + " room=" + hotel.getRoomType()
+                + " checkIn=" + booking.getCheckIn()
+                + " checkOut=" + booking.getCheckOut()
+                + " nights=" + booking.getNumberOfNights()
+                + " guests=" + booking.getGuests()
+                + " totalInr=" + booking.getTotalPrice()
+                + "\n";
+    }
+}
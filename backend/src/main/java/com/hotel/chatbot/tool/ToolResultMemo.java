@@ -0,0 +1,182 @@
+package com.hotel.chatbot.tool;
+
+import com.hotel.chatbot.dto.BookingInfo;
+import com.hotel.chatbot.dto.HotelSearchResult;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Remembers the results of read-only tool calls for a short time within a session.
+ * <p>
+ * The model often repeats {@code searchHotels} or {@code getBookingDetails} with the same
+ * arguments, within a turn or over neighbouring turns. A remembered call replays the
+ * original outcome — the text the model saw, its rich rendering, and the hotels or
+ * booking recorded on the turn — without touching the database. Entries are keyed by
+ * session, tool and normalized arguments and expire after {@code app.chat.tools.memo.ttl}.
+ * Reads of a booking are dropped as soon as a tool creates, modifies or cancels it, in
+ * any session.
+ */
+@Component
+public class ToolResultMemo {
+
+    private final boolean enabled;
+    private final Duration ttl;
+    private final int maxEntries;
+    private final Clock clock;
+
+    private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+    private final AtomicLong invalidations = new AtomicLong();
+    private final AtomicLong evictions = new AtomicLong();
+
+    @Autowired
+    public ToolResultMemo(@Value("${app.chat.tools.memo.enabled:true}") boolean enabled,
+                          @Value("${app.chat.tools.memo.ttl:2m}") Duration ttl,
+                          @Value("${app.chat.tools.memo.max-entries:5000}") int maxEntries) {
+        this(enabled, ttl, maxEntries, Clock.systemUTC());
+    }
+
+    public ToolResultMemo(boolean enabled, Duration ttl, int maxEntries, Clock clock) {
+        this.enabled = enabled;
+        this.ttl = ttl;
+        this.maxEntries = maxEntries;
+        this.clock = clock;
+    }
+
+    /**
+     * Runs a read-only tool call, or replays its remembered outcome.
+     * Calls outside a chat turn are never remembered.
+     *
+     * @param toolContext      the tool context of the current chat turn, may be null
+     * @param tool             the tool name
+     * @param arguments        the normalized arguments identifying the call
+     * @param bookingReference the booking the call reads, if any, for invalidation
+     * @param call             performs the call against the tool context it is given
+     * @return the tool result for the model
+     */
+    public String read(ToolContext toolContext, String tool, List<?> arguments, String bookingReference,
+                       Function<ToolContext, String> call) {
+        Optional<TurnContext> current = TurnContext.from(toolContext);
+        if (!enabled || current.isEmpty()) {
+            return call.apply(toolContext);
+        }
+        TurnContext turn = current.get();
+        Key key = new Key(turn.getSessionId(), tool, arguments);
+        Instant now = clock.instant();
+
+        Entry entry = entries.get(key);
+        if (entry != null && entry.expiresAt().isAfter(now)) {
+            hits.incrementAndGet();
+            return entry.outcome().replay(turn);
+        }
+        misses.incrementAndGet();
+
+        // Run against a separate context so exactly this call's results can be remembered
+        TurnContext isolated = turn.isolated();
+        String result = call.apply(isolated.toToolContext());
+        Outcome outcome = new Outcome(result, isolated.displayText(result), isolated.getHotels(),
+                isolated.getBookingInfo());
+        store(key, new Entry(outcome, now.plus(ttl), normalizeReference(bookingReference)), now);
+        return outcome.replay(turn);
+    }
+
+    /**
+     * Forgets every remembered read of a booking, in all sessions.
+     *
+     * @param bookingReference the booking that was created, modified or cancelled
+     */
+    public void invalidateBooking(String bookingReference) {
+        String reference = normalizeReference(bookingReference);
+        if (reference == null) {
+            return;
+        }
+        entries.values().removeIf(entry -> {
+            boolean matches = reference.equals(entry.bookingReference());
+            if (matches) {
+                invalidations.incrementAndGet();
+            }
+            return matches;
+        });
+    }
+
+    /**
+     * Returns hit, miss, invalidation and eviction counters.
+     */
+    public Map<String, Object> stats() {
+        return Map.of(
+                "enabled", enabled,
+                "size", entries.size(),
+                "maxEntries", maxEntries,
+                "ttlSeconds", ttl.toSeconds(),
+                "hits", hits.get(),
+                "misses", misses.get(),
+                "invalidations", invalidations.get(),
+                "evictions", evictions.get()
+        );
+    }
+
+    /**
+     * Normalizes a booking reference argument the way the tools look it up.
+     */
+    public static String normalizeReference(String bookingReference) {
+        return bookingReference == null || bookingReference.isBlank()
+                ? null
+                : bookingReference.strip().toUpperCase(Locale.ROOT);
+    }
+
+    private void store(Key key, Entry entry, Instant now) {
+        if (entries.size() >= maxEntries) {
+            entries.values().removeIf(existing -> {
+                boolean expired = !existing.expiresAt().isAfter(now);
+                if (expired) {
+                    evictions.incrementAndGet();
+                }
+                return expired;
+            });
+            if (entries.size() >= maxEntries) {
+                return;
+            }
+        }
+        entries.put(key, entry);
+    }
+
+    private record Key(String sessionId, String tool, List<?> arguments) {
+    }
+
+    private record Entry(Outcome outcome, Instant expiresAt, String bookingReference) {
+    }
+
+    /**
+     * What a tool call produced: its result text and what it recorded on the turn.
+     */
+    private record Outcome(String result, String richResult, List<HotelSearchResult> hotels, BookingInfo bookingInfo) {
+
+        String replay(TurnContext turn) {
+            if (result != null && richResult != null) {
+                turn.recordRendering(result, richResult);
+            }
+            if (hotels != null) {
+                turn.setHotels(hotels);
+            }
+            if (bookingInfo != null) {
+                turn.setBookingInfo(bookingInfo);
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.hotel.chatbot.tool;
+
+import com.hotel.chatbot.dto.BookingInfo;
+import com.hotel.chatbot.dto.ChatResponse;
+import com.hotel.chatbot.dto.HotelSearchResult;
+import org.springframework.ai.chat.model.ToolContext;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Per-turn state shared between {@link com.hotel.chatbot.service.ChatService} and the booking tools.
+ * <p>
+ * The context travels to the tools through Spring AI's tool context. Tools record the
+ * structured data behind their text result here, so the chat response can carry hotels
+ * and booking details alongside the message.
+ */
+public final class TurnContext {
+
+    /**
+     * Key under which the turn context is stored in the tool context map.
+     */
+    public static final String KEY = "turnContext";
+
+    private final String sessionId;
+    private volatile List<HotelSearchResult> hotels;
+    private volatile BookingInfo bookingInfo;
+    // Tool result text as the model saw it -> rich rendering for the client
+    private final Map<String, String> richRenderings = new ConcurrentHashMap<>();
+    private final Set<String> toolCalls = ConcurrentHashMap.newKeySet();
+    // Mutating tool invocations already made this turn -> their result
+    private final Map<Object, CompletableFuture<String>> mutations = new ConcurrentHashMap<>();
+    private volatile PrefetchedSearch prefetchedSearch;
+
+    public TurnContext(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
+    /**
+     * Returns the turn context carried by a tool invocation, if any.
+     * Tools invoked outside a chat turn receive a {@code null} tool context.
+     */
+    public static Optional<TurnContext> from(ToolContext toolContext) {
+        if (toolContext == null || toolContext.getContext() == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(toolContext.getContext().get(KEY))
+                .filter(TurnContext.class::isInstance)
+                .map(TurnContext.class::cast);
+    }
+
+    /**
+     * Returns a context of the same session that records a tool call's results apart from
+     * this turn. It sees this turn's prefetched search.
+     */
+    public TurnContext isolated() {
+        var isolated = new TurnContext(sessionId);
+        isolated.prefetchedSearch = prefetchedSearch;
+        return isolated;
+    }
+
+    /**
+     * Takes over what tool calls run concurrently against {@link #isolated()} contexts
+     * recorded, in call order. The hotels of every call are kept, in call order and without
+     * duplicates, instead of the last search to finish replacing the others.
+     */
+    public void mergeCalls(List<TurnContext> calls) {
+        Map<String, HotelSearchResult> merged = null;
+        for (TurnContext call : calls) {
+            toolCalls.addAll(call.toolCalls);
+            richRenderings.putAll(call.richRenderings);
+            if (call.hotels != null) {
+                merged = merged != null ? merged : new LinkedHashMap<>();
+                for (HotelSearchResult hotel : call.hotels) {
+                    merged.putIfAbsent(hotel.id(), hotel);
+                }
+            }
+            if (call.bookingInfo != null) {
+                bookingInfo = call.bookingInfo;
+            }
+        }
+        if (merged != null) {
+            hotels = List.copyOf(merged.values());
+        }
+    }
+
+    /**
+     * Returns the tool context map that carries this turn.
+     */
+    public Map<String, Object> asToolContext() {
+        return Map.of(KEY, this);
+    }
+
+    /**
+     * Returns a tool context wrapping this turn, for invoking tools directly.
+     */
+    public ToolContext toToolContext() {
+        return new ToolContext(asToolContext());
+    }
+
+    /**
+     * Records that the model invoked the named tool during this turn.
+     */
+    public void recordToolCall(String toolName) {
+        toolCalls.add(toolName);
+    }
+
+    /**
+     * Runs a mutating tool invocation at most once per turn. A hedged model call can
+     * repeat an invocation its twin already made; the repeat waits for and returns
+     * the first invocation's result instead of mutating again. A failed invocation
+     * may be retried.
+     *
+     * @param key        identifies the invocation, e.g. the tool name and its arguments
+     * @param invocation performs the invocation
+     * @return the invocation's result
+     */
+    public String callOnce(Object key, Supplier<String> invocation) {
+        var result = new CompletableFuture<String>();
+        CompletableFuture<String> existing = mutations.putIfAbsent(key, result);
+        if (existing != null) {
+            try {
+                return existing.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            String value = invocation.get();
+            result.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            mutations.remove(key, result);
+            result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /**
+     * Attaches a city search started ahead of the model's tool call.
+     */
+    public void setPrefetchedSearch(String city, CompletableFuture<List<HotelSearchResult>> hotels) {
+        this.prefetchedSearch = new PrefetchedSearch(city.toLowerCase(Locale.ROOT), hotels);
+    }
+
+    /**
+     * Returns the prefetched search if it was for the given city.
+     */
+    public Optional<CompletableFuture<List<HotelSearchResult>>> prefetchedSearch(String city) {
+        PrefetchedSearch search = prefetchedSearch;
+        if (search == null || city == null || !search.city().equals(city.strip().toLowerCase(Locale.ROOT))) {
+            return Optional.empty();
+        }
+        return Optional.of(search.hotels());
+    }
+
+    /**
+     * Returns whether any tool was invoked during this turn.
+     */
+    public boolean hasToolCalls() {
+        return !toolCalls.isEmpty();
+    }
+
+    /**
+     * Records the rich rendering of a tool result that was given to the model in another form.
+     */
+    public void recordRendering(String modelText, String richText) {
+        if (!modelText.equals(richText)) {
+            richRenderings.put(modelText, richText);
+        }
+    }
+
+    /**
+     * Builds the chat response for this turn with any structured results the tools recorded.
+     * A message that is a tool result returned as-is is replaced by its rich rendering.
+     */
+    public ChatResponse toResponse(String message) {
+        return new ChatResponse(displayText(message), bookingInfo, hotels);
+    }
+
+    /**
+     * Returns the text to show the user for a model output: the rich rendering if the
+     * output is a tool result returned as-is, otherwise the output itself.
+     */
+    public String displayText(String modelText) {
+        return modelText != null ? richRenderings.getOrDefault(modelText, modelText) : null;
+    }
+
+    public String getSessionId() {
+        return sessionId;
+    }
+
+    public List<HotelSearchResult> getHotels() {
+        return hotels;
+    }
+
+    public void setHotels(List<HotelSearchResult> hotels) {
+        this.hotels = hotels;
+    }
+
+    public BookingInfo getBookingInfo() {
+        return bookingInfo;
+    }
+
+    public void setBookingInfo(BookingInfo bookingInfo) {
+        this.bookingInfo = bookingInfo;
+    }
+
+    private record PrefetchedSearch(String city, CompletableFuture<List<HotelSearchResult>> hotels) {
+    }
+}
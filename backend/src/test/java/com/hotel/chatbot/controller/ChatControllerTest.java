@@ -1,7 +1,11 @@
 package com.hotel.chatbot.controller;
 
+import com.hotel.chatbot.dto.ChatJob;
 import com.hotel.chatbot.dto.ChatRequest;
 import com.hotel.chatbot.dto.ChatResponse;
+import com.hotel.chatbot.dto.ChatStreamEvent;
+import com.hotel.chatbot.exception.ChatJobNotFoundException;
+import com.hotel.chatbot.service.ChatJobService;
 import com.hotel.chatbot.service.ChatService;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -10,9 +14,16 @@ import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Flux;
+
+import java.time.Instant;
 
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.hamcrest.Matchers.containsString;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -28,6 +39,9 @@ class ChatControllerTest {
     @MockBean
     private ChatService chatService;
 
+    @MockBean
+    private ChatJobService chatJobService;
+
     @Test
     @DisplayName("Should return chat response for valid message")
     void chat_ValidMessage_ReturnsResponse() throws Exception {
@@ -78,4 +92,83 @@ class ChatControllerTest {
                                 """))
                 .andExpect(status().isBadRequest());
     }
+
+    @Test
+    @DisplayName("Should stream tokens followed by a complete event")
+    void streamChat_ValidMessage_StreamsEvents() throws Exception {
+        // Given
+        when(chatService.streamChat(anyString(), anyString()))
+                .thenReturn(Flux.just(
+                        ChatStreamEvent.token("Hello"),
+                        ChatStreamEvent.token(" there"),
+                        ChatStreamEvent.complete(ChatResponse.textOnly("Hello there"))));
+
+        // When
+        MvcResult result = mockMvc.perform(post("/api/chat/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.TEXT_EVENT_STREAM)
+                        .content("""
+                                {
+                                    "message": "Hi",
+                                    "sessionId": "test-session"
+                                }
+                                """))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        // Then
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(content().string(containsString("event:token\ndata:{\"content\":\" there\"}")))
+                .andExpect(content().string(containsString("event:complete\ndata:{\"message\":\"Hello there\"")));
+    }
+
+    @Test
+    @DisplayName("Should return 400 for blank streaming message")
+    void streamChat_BlankMessage_ReturnsBadRequest() throws Exception {
+        // When/Then
+        mockMvc.perform(post("/api/chat/stream")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "message": "",
+                                    "sessionId": "test-session"
+                                }
+                                """))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("Should accept a chat job with 202 and its location")
+    void submitJob_ValidMessage_ReturnsAccepted() throws Exception {
+        // Given
+        when(chatJobService.submit(anyString(), anyString())).thenReturn(
+                new ChatJob("job-1", ChatJob.Status.QUEUED, null, null, Instant.parse("2026-03-01T10:00:00Z"), null));
+
+        // When/Then
+        mockMvc.perform(post("/api/chat/jobs")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {
+                                    "message": "Find hotels in Chennai",
+                                    "sessionId": "test-session"
+                                }
+                                """))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/chat/jobs/job-1"))
+                .andExpect(jsonPath("$.jobId").value("job-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    @DisplayName("Should return 404 for an unknown or expired chat job")
+    void getJob_Unknown_ReturnsNotFound() throws Exception {
+        // Given
+        when(chatJobService.get("missing")).thenThrow(new ChatJobNotFoundException("missing"));
+
+        // When/Then
+        mockMvc.perform(get("/api/chat/jobs/missing"))
+                .andExpect(status().isNotFound());
+    }
 }
@@ -0,0 +1,77 @@
+package com.hotel.chatbot.llm;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.ai.chat.client.advisor.api.AdvisedRequest;
+import org.springframework.ai.chat.client.advisor.api.AdvisedResponse;
+import org.springframework.ai.chat.client.advisor.api.CallAroundAdvisorChain;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.metadata.ChatResponseMetadata;
+import org.springframework.ai.chat.metadata.DefaultUsage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.ollama.api.OllamaOptions;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ModelTierAdvisor.
+ */
+class ModelTierAdvisorTest {
+
+    private final ModelTierAdvisor advisor = new ModelTierAdvisor("llama3.2:3b", 8);
+
+    @Test
+    @DisplayName("Should keep short acknowledgements on the small tier and escalate constrained turns")
+    void classify_SplitsSimpleAndComplexTurns() {
+        // Then
+        assertThat(advisor.classify("Thanks!")).isEqualTo(ModelTierAdvisor.Tier.SMALL);
+        assertThat(advisor.classify("yes, book it")).isEqualTo(ModelTierAdvisor.Tier.SMALL);
+        assertThat(advisor.classify("Book a suite in Goa from 2026-03-10 for 2 guests"))
+                .isEqualTo(ModelTierAdvisor.Tier.LARGE);
+        assertThat(advisor.classify("Something cheaper near the beach")).isEqualTo(ModelTierAdvisor.Tier.LARGE);
+        assertThat(advisor.classify("Can you tell me a bit more about what the area around there is like"))
+                .isEqualTo(ModelTierAdvisor.Tier.LARGE);
+        assertThat(new ModelTierAdvisor("", 8).classify("Thanks!")).isEqualTo(ModelTierAdvisor.Tier.LARGE);
+    }
+
+    @Test
+    @DisplayName("Should swap in the small model and count usage for the small tier")
+    @SuppressWarnings("unchecked")
+    void aroundCall_SimpleTurn_UsesSmallModel() {
+        // Given
+        var chain = mock(CallAroundAdvisorChain.class);
+        var response = new ChatResponse(List.of(new Generation(new AssistantMessage("You're welcome!"))),
+                ChatResponseMetadata.builder().usage(new DefaultUsage(120, 6)).build());
+        when(chain.nextAroundCall(any())).thenReturn(new AdvisedResponse(response, Map.of()));
+        var request = AdvisedRequest.builder()
+                .chatModel(mock(ChatModel.class))
+                .userText("thanks")
+                .chatOptions(OllamaOptions.builder().model("gpt-oss:20b").build())
+                .build();
+
+        // When
+        advisor.aroundCall(request, chain);
+
+        // Then
+        var captor = ArgumentCaptor.forClass(AdvisedRequest.class);
+        verify(chain).nextAroundCall(captor.capture());
+        assertThat(((OllamaOptions) captor.getValue().chatOptions()).getModel()).isEqualTo("llama3.2:3b");
+        assertThat(captor.getValue().adviseContext()).containsEntry(ModelTierAdvisor.TIER_KEY, "SMALL");
+        assertThat(((OllamaOptions) request.chatOptions()).getModel()).isEqualTo("gpt-oss:20b");
+        assertThat((Map<String, Object>) advisor.stats().get("small"))
+                .containsEntry("turns", 1L)
+                .containsEntry("promptTokens", 120L)
+                .containsEntry("completionTokens", 6L);
+        assertThat((Map<String, Object>) advisor.stats().get("large")).containsEntry("turns", 0L);
+    }
+}
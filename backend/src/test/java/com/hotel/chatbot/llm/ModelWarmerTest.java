@@ -0,0 +1,165 @@
+package com.hotel.chatbot.llm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.chatbot.loadtest.StubOllamaServer;
+import com.hotel.chatbot.loadtest.StubScript;
+import com.hotel.chatbot.service.LlmConcurrencyLimiter;
+import com.hotel.chatbot.tool.BookingToolCallbacks;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.ollama.OllamaChatModel;
+import org.springframework.ai.ollama.api.OllamaApi;
+import org.springframework.ai.ollama.api.OllamaOptions;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ModelWarmer against stub Ollama servers.
+ */
+class ModelWarmerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<StubOllamaServer> servers = new ArrayList<>();
+    private final List<String> requests = new CopyOnWriteArrayList<>();
+    private final LlmConcurrencyLimiter limiter = new LlmConcurrencyLimiter(4, 10, Duration.ofSeconds(5));
+
+    @AfterEach
+    void tearDown() {
+        servers.forEach(StubOllamaServer::close);
+    }
+
+    @Test
+    @DisplayName("Should prime every model on every endpoint before reporting ready")
+    void warmUp_AllEndpointsRespond_Ready() throws IOException {
+        // Given
+        var router = new RoutingChatModel(List.of(endpoint(stubOllama(200)), endpoint(stubOllama(200))),
+                Duration.ofSeconds(30), 2);
+        var warmer = new ModelWarmer(router, tools(), limiter, true, "30m", Duration.ofSeconds(10), "small-model");
+        assertThat(warmer.isReady()).isFalse();
+
+        // When
+        warmer.warmUp();
+
+        // Then
+        assertThat(warmer.getState()).isEqualTo(ModelWarmer.State.READY);
+        assertThat(requests).hasSize(4);
+        assertThat(requests).anySatisfy(body -> assertThat(body).contains("\"model\":\"small-model\""));
+        assertThat(requests).allSatisfy(body -> assertThat(body)
+                .contains("\"keep_alive\":\"30m\"")
+                .contains("HotelBot"));
+        assertThat(warmer.stats()).containsEntry("primed", 4L);
+        assertThat(limiter.stats()).containsEntry("acquired", 4L).containsEntry("inFlight", 0);
+    }
+
+    @Test
+    @DisplayName("Should finish warm-up as degraded when an endpoint fails")
+    void warmUp_EndpointFails_Degraded() throws Exception {
+        // Given
+        var router = new RoutingChatModel(List.of(endpoint(stubOllama(200)), endpoint(stubOllama(500))),
+                Duration.ofSeconds(30), 2);
+        var warmer = new ModelWarmer(router, tools(), limiter, true, "30m", Duration.ofSeconds(10), "");
+
+        // When
+        warmer.warmUp();
+        warmer.ping().get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(warmer.isReady()).isTrue();
+        assertThat(warmer.getState()).isEqualTo(ModelWarmer.State.DEGRADED);
+        assertThat(warmer.stats()).containsEntry("primed", 1L)
+                .containsEntry("keepAlivePings", 1L)
+                .containsEntry("failures", 2L);
+    }
+
+    @Test
+    @DisplayName("Should give up on a stalled endpoint after the call timeout and finish degraded")
+    void warmUp_EndpointStalls_DegradedAfterTimeout() throws IOException {
+        // Given
+        var stalled = new StubOllamaServer(0, StubScript.replyingWith("Hi"),
+                new StubOllamaServer.LatencyModel(Duration.ofSeconds(30), 0, Duration.ZERO), mapper);
+        servers.add(stalled);
+        var router = new RoutingChatModel(List.of(endpoint(stubOllama(200)), endpoint(stalled)),
+                Duration.ofSeconds(30), 2);
+        var warmer = new ModelWarmer(router, tools(), limiter, true, "30m", Duration.ofMillis(300), "");
+
+        // When
+        long start = System.nanoTime();
+        warmer.warmUp();
+
+        // Then
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(5));
+        assertThat(warmer.getState()).isEqualTo(ModelWarmer.State.DEGRADED);
+        assertThat(warmer.stats()).containsEntry("primed", 1L).containsEntry("failures", 1L);
+    }
+
+    @Test
+    @DisplayName("Should report ready again once keep-alive pings reach a recovered endpoint")
+    void keepAlive_EndpointRecovers_Ready() throws Exception {
+        // Given
+        StubOllamaServer failing = stubOllama(500);
+        var router = new RoutingChatModel(List.of(endpoint(stubOllama(200)), endpoint(failing)),
+                Duration.ofSeconds(30), 2);
+        var warmer = new ModelWarmer(router, tools(), limiter, true, "30m", Duration.ofSeconds(10), "");
+        warmer.warmUp();
+        assertThat(warmer.getState()).isEqualTo(ModelWarmer.State.DEGRADED);
+        failing.failWith(0, null);
+
+        // When
+        warmer.ping().get(5, TimeUnit.SECONDS);
+
+        // Then
+        assertThat(warmer.getState()).isEqualTo(ModelWarmer.State.READY);
+        assertThat(warmer.stats()).containsEntry("keepAlivePings", 2L);
+    }
+
+    @Test
+    @DisplayName("Should report ready immediately when warm-up is disabled")
+    void warmUp_Disabled_ReadyWithoutRequests() throws IOException {
+        // Given
+        var router = new RoutingChatModel(List.of(endpoint(stubOllama(200))), Duration.ofSeconds(30), 2);
+        var warmer = new ModelWarmer(router, tools(), limiter, false, "30m", Duration.ofSeconds(10), "");
+
+        // When
+        warmer.warmUp();
+        warmer.keepAlive();
+
+        // Then
+        assertThat(warmer.isReady()).isTrue();
+        assertThat(requests).isEmpty();
+    }
+
+    private static BookingToolCallbacks tools() {
+        var tools = mock(BookingToolCallbacks.class);
+        when(tools.all()).thenReturn(List.of());
+        return tools;
+    }
+
+    private StubOllamaServer stubOllama(int status) throws IOException {
+        var server = new StubOllamaServer(0, StubScript.replyingWith("Hi"),
+                StubOllamaServer.LatencyModel.NONE, mapper);
+        servers.add(server);
+        server.onRequest(request -> requests.add(request.toString()));
+        if (status != 200) {
+            server.failWith(status, "model failed to load");
+        }
+        return server;
+    }
+
+    private static OllamaEndpoint endpoint(StubOllamaServer server) {
+        String url = "http://127.0.0.1:" + server.getPort();
+        return new OllamaEndpoint(url, OllamaChatModel.builder()
+                .ollamaApi(new OllamaApi(url))
+                .defaultOptions(OllamaOptions.builder().model("test-model").build())
+                .build());
+    }
+}
@@ -0,0 +1,309 @@
+package com.hotel.chatbot.llm;
+
+import com.hotel.chatbot.exception.LlmUnavailableException;
+import com.hotel.chatbot.service.LlmConcurrencyLimiter;
+import com.hotel.chatbot.entity.Booking;
+import com.hotel.chatbot.entity.Hotel;
+import com.hotel.chatbot.repository.BookingRepository;
+import com.hotel.chatbot.repository.HotelRepository;
+import com.hotel.chatbot.service.BookingService;
+import com.hotel.chatbot.service.HotelBookingTools;
+import com.hotel.chatbot.service.HotelCatalogIndex;
+import com.hotel.chatbot.service.HotelNameResolver;
+import com.hotel.chatbot.service.HotelSearchPrefetcher;
+import com.hotel.chatbot.service.InventoryService;
+import com.hotel.chatbot.support.MutableClock;
+import com.hotel.chatbot.tool.BookingToolCallbacks;
+import com.hotel.chatbot.tool.ToolResultFormatter;
+import com.hotel.chatbot.tool.ToolResultMemo;
+import org.assertj.core.api.InstanceOfAssertFactories;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.ResourceAccessException;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ResilientChatModel.
+ */
+class ResilientChatModelTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-01T10:00:00Z"));
+    private ResilientChatModel model;
+
+    @AfterEach
+    void tearDown() {
+        model.close();
+    }
+
+    @Test
+    @DisplayName("Should fail a call that misses its deadline")
+    void call_SlowModel_TimesOut() {
+        // Given
+        ChatModel slow = mock(ChatModel.class);
+        when(slow.call(any(Prompt.class))).thenAnswer(invocation -> answerAfter(Duration.ofSeconds(5), "late"));
+        model = resilient(List.of(new OllamaEndpoint("http://slow", slow)), 3, false);
+
+        // When
+        long start = System.nanoTime();
+        assertThatThrownBy(() -> model.call(new Prompt("Hello")))
+                .isInstanceOf(LlmUnavailableException.class)
+                .hasMessageContaining("too long");
+
+        // Then
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(model.stats()).containsEntry("timeouts", 1L);
+    }
+
+    @Test
+    @DisplayName("Should fail fast while the circuit is open and close it after a successful trial")
+    void call_RepeatedFailures_OpensCircuit() {
+        // Given
+        ChatModel backend = mock(ChatModel.class);
+        var healthy = new AtomicBoolean(false);
+        when(backend.call(any(Prompt.class))).thenAnswer(invocation -> {
+            if (!healthy.get()) {
+                throw new ResourceAccessException("connection refused");
+            }
+            return response("recovered");
+        });
+        model = resilient(List.of(new OllamaEndpoint("http://backend", backend)), 2, false);
+
+        // When
+        assertThatThrownBy(() -> model.call(new Prompt("Hello"))).isInstanceOf(ResourceAccessException.class);
+        assertThatThrownBy(() -> model.call(new Prompt("Hello"))).isInstanceOf(ResourceAccessException.class);
+        assertThatThrownBy(() -> model.call(new Prompt("Hello")))
+                .isInstanceOf(LlmUnavailableException.class)
+                .satisfies(e -> assertThat(((LlmUnavailableException) e).getRetryAfter()).isEqualTo(Duration.ofSeconds(30)));
+
+        clock.advance(Duration.ofSeconds(31));
+        healthy.set(true);
+        String content = model.call(new Prompt("Hello")).getResult().getOutput().getText();
+
+        // Then
+        assertThat(content).isEqualTo("recovered");
+        verify(backend, times(3)).call(any(Prompt.class));
+        assertThat(model.stats())
+                .extractingByKey("circuitBreaker", InstanceOfAssertFactories.map(String.class, Object.class))
+                .containsEntry("state", "CLOSED")
+                .containsEntry("rejected", 1L);
+    }
+
+    @Test
+    @DisplayName("Should hedge a slow call to a second endpoint and return the first answer")
+    void call_SlowPrimary_HedgesToSecondEndpoint() {
+        // Given
+        var primarySlow = new AtomicBoolean(false);
+        ChatModel primary = mock(ChatModel.class);
+        when(primary.call(any(Prompt.class))).thenAnswer(invocation -> primarySlow.get()
+                ? answerAfter(Duration.ofSeconds(5), "from primary")
+                : response("from primary"));
+        ChatModel secondary = mock(ChatModel.class);
+        when(secondary.call(any(Prompt.class))).thenReturn(response("from secondary"));
+        model = resilient(List.of(new OllamaEndpoint("http://primary", primary),
+                new OllamaEndpoint("http://secondary", secondary)), 3, true);
+
+        for (int i = 0; i < ResilientChatModel.MIN_HEDGE_SAMPLES; i++) {
+            model.call(new Prompt("Warm up"));
+        }
+        primarySlow.set(true);
+
+        // When
+        long start = System.nanoTime();
+        String content = model.call(new Prompt("Hello")).getResult().getOutput().getText();
+
+        // Then
+        assertThat(content).isEqualTo("from secondary");
+        assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+        assertThat(model.stats()).containsEntry("hedges", 1L).containsEntry("hedgeWins", 1L);
+    }
+
+    @Test
+    @DisplayName("Should not open the circuit when a tool throws")
+    void call_ToolFailures_KeepCircuitClosed() {
+        // Given
+        ChatModel backend = mock(ChatModel.class);
+        when(backend.call(any(Prompt.class))).thenThrow(new IllegalArgumentException("Invalid check-in date"));
+        model = resilient(List.of(new OllamaEndpoint("http://backend", backend)), 2, false);
+
+        // When
+        for (int i = 0; i < 3; i++) {
+            assertThatThrownBy(() -> model.call(new Prompt("Hello"))).isInstanceOf(IllegalArgumentException.class);
+        }
+
+        // Then
+        verify(backend, times(3)).call(any(Prompt.class));
+        assertThat(model.stats())
+                .extractingByKey("circuitBreaker", InstanceOfAssertFactories.map(String.class, Object.class))
+                .containsEntry("state", "CLOSED");
+    }
+
+    @Test
+    @DisplayName("Should hedge a prompt carrying the booking tools and run the winner's tool call once")
+    void call_BookingToolsOffered_HedgesModelRoundAndRunsToolOnce() {
+        // Given
+        var hotelRepository = mock(HotelRepository.class);
+        var bookingRepository = mock(BookingRepository.class);
+        var hotel = new Hotel("Sea View Resort", "Goa", 4500, "Double");
+        ReflectionTestUtils.setField(hotel, "id", UUID.randomUUID());
+        var booking = new Booking("HBK-2026-00123", hotel, LocalDate.of(2026, 3, 10), LocalDate.of(2026, 3, 12), 2);
+        when(bookingRepository.findByBookingReference("HBK-2026-00123")).thenReturn(Optional.of(booking));
+        var tools = bookingTools(hotelRepository, bookingRepository);
+
+        var primarySlow = new AtomicBoolean(false);
+        List<Boolean> internalToolExecution = new CopyOnWriteArrayList<>();
+        ChatModel primary = mock(ChatModel.class);
+        when(primary.call(any(Prompt.class))).thenAnswer(invocation -> {
+            if (!primarySlow.get()) {
+                return response("from primary");
+            }
+            Prompt prompt = invocation.getArgument(0);
+            internalToolExecution.add(ToolCallingChatOptions.isInternalToolExecutionEnabled(prompt.getOptions()));
+            return afterToolResult(prompt) ? response("Cancelled.") : delayed(Duration.ofMillis(150), cancelCall());
+        });
+        ChatModel secondary = mock(ChatModel.class);
+        when(secondary.call(any(Prompt.class))).thenAnswer(invocation -> {
+            Prompt prompt = invocation.getArgument(0);
+            internalToolExecution.add(ToolCallingChatOptions.isInternalToolExecutionEnabled(prompt.getOptions()));
+            return afterToolResult(prompt) ? response("Cancelled.") : cancelCall();
+        });
+        model = resilient(List.of(new OllamaEndpoint("http://primary", primary),
+                new OllamaEndpoint("http://secondary", secondary)), 3, true);
+
+        for (int i = 0; i < ResilientChatModel.MIN_HEDGE_SAMPLES; i++) {
+            model.call(new Prompt("Warm up"));
+        }
+        primarySlow.set(true);
+        internalToolExecution.clear();
+        var options = ToolCallingChatOptions.builder()
+                .toolCallbacks(tools.all().toArray(ToolCallback[]::new))
+                .build();
+
+        // When
+        String content = model.call(new Prompt("Cancel HBK-2026-00123", options)).getResult().getOutput().getText();
+
+        // Then
+        assertThat(content).isEqualTo("Cancelled.");
+        assertThat(model.stats()).containsEntry("hedges", 1L).containsEntry("hedgeWins", 1L);
+        assertThat(internalToolExecution).isNotEmpty().containsOnly(false);
+        verify(bookingRepository, times(1)).save(booking);
+    }
+
+    @Test
+    @DisplayName("Should keep the LLM permit until an abandoned attempt finishes")
+    void call_Timeout_KeepsPermitUntilAttemptFinishes() {
+        // Given
+        var finish = new CountDownLatch(1);
+        ChatModel slow = mock(ChatModel.class);
+        when(slow.call(any(Prompt.class))).thenAnswer(invocation -> {
+            finish.await();
+            return response("late");
+        });
+        var limiter = new LlmConcurrencyLimiter(1, 10, Duration.ofSeconds(5));
+        model = resilient(List.of(new OllamaEndpoint("http://slow", slow)), 3, false, limiter);
+
+        // When
+        assertThatThrownBy(() -> limiter.execute(() -> model.call(new Prompt("Hello"))))
+                .isInstanceOf(LlmUnavailableException.class);
+        Object inFlightWhileRunning = limiter.stats().get("inFlight");
+        finish.countDown();
+        // Waits for the permit the abandoned attempt still holds
+        String next = limiter.execute(() -> "next");
+
+        // Then
+        assertThat(inFlightWhileRunning).isEqualTo(1);
+        assertThat(next).isEqualTo("next");
+        assertThat(limiter.stats()).containsEntry("inFlight", 0);
+    }
+
+    private ResilientChatModel resilient(List<OllamaEndpoint> endpoints, int failureThreshold, boolean hedging) {
+        return resilient(endpoints, failureThreshold, hedging, new LlmConcurrencyLimiter(4, 10, Duration.ofSeconds(5)));
+    }
+
+    private ResilientChatModel resilient(List<OllamaEndpoint> endpoints, int failureThreshold, boolean hedging,
+                                         LlmConcurrencyLimiter limiter) {
+        var router = new RoutingChatModel(endpoints, Duration.ofSeconds(30), 2, clock);
+        var breaker = new CircuitBreaker(failureThreshold, Duration.ofSeconds(30), clock);
+        return new ResilientChatModel(router, Duration.ofMillis(300), breaker, hedging, 95, Duration.ofMillis(50),
+                limiter, ToolCallingManager.builder().build());
+    }
+
+    private static BookingToolCallbacks bookingTools(HotelRepository hotelRepository,
+                                                     BookingRepository bookingRepository) {
+        var inventory = new InventoryService(bookingRepository, 730, Clock.systemDefaultZone());
+        var catalog = new HotelCatalogIndex(hotelRepository, false, Duration.ofMinutes(15), Clock.systemUTC());
+        var tools = new HotelBookingTools(hotelRepository, bookingRepository,
+                new BookingService(bookingRepository, hotelRepository, inventory),
+                new ToolResultFormatter(ToolResultFormatter.Format.RICH),
+                new HotelSearchPrefetcher(hotelRepository, Runnable::run, false, 1, 20),
+                new ToolResultMemo(false, Duration.ofMinutes(2), 100, Clock.systemUTC()),
+                catalog, new HotelNameResolver(catalog, 0.5, 0.05), inventory, 20);
+        return new BookingToolCallbacks(tools, Set.of());
+    }
+
+    private static boolean afterToolResult(Prompt prompt) {
+        List<Message> messages = prompt.getInstructions();
+        return messages.get(messages.size() - 1) instanceof ToolResponseMessage;
+    }
+
+    private static ChatResponse cancelCall() {
+        var toolCall = new AssistantMessage.ToolCall("1", "function", "cancelBooking",
+                "{\"bookingReference\":\"HBK-2026-00123\"}");
+        return new ChatResponse(List.of(new Generation(new AssistantMessage("", Map.of(), List.of(toolCall)))));
+    }
+
+    private static ChatResponse delayed(Duration delay, ChatResponse response) {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return response;
+    }
+
+    private static ChatResponse answerAfter(Duration delay, String text) {
+        try {
+            Thread.sleep(delay);
+        } catch (InterruptedException e) {
+            // Mirror an HTTP client aborted by interruption: the flag stays set
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("aborted", e);
+        }
+        return response(text);
+    }
+
+    private static ChatResponse response(String text) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage(text))));
+    }
+}
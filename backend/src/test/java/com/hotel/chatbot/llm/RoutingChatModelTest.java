@@ -0,0 +1,146 @@
+package com.hotel.chatbot.llm;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.hotel.chatbot.loadtest.StubOllamaServer;
+import com.hotel.chatbot.loadtest.StubScript;
+import com.hotel.chatbot.tool.TurnContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.ollama.OllamaChatModel;
+import org.springframework.ai.ollama.api.OllamaApi;
+import org.springframework.ai.ollama.api.OllamaOptions;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for RoutingChatModel against stub Ollama servers.
+ */
+class RoutingChatModelTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final List<StubOllamaServer> servers = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        servers.forEach(StubOllamaServer::close);
+    }
+
+    @Test
+    @DisplayName("Should send calls to the endpoint with the fewest outstanding requests")
+    void select_PrefersLeastOutstanding() throws IOException {
+        // Given
+        var first = endpoint(stubOllama(200, "from first"));
+        var second = endpoint(stubOllama(200, "from second"));
+        var router = new RoutingChatModel(List.of(first, second), Duration.ofSeconds(30), 2);
+        first.begin();
+
+        // When
+        String content = router.call(prompt(null)).getResult().getOutput().getText();
+
+        // Then
+        assertThat(content).isEqualTo("from second");
+    }
+
+    @Test
+    @DisplayName("Should keep a session on the same endpoint")
+    void call_SameSession_StaysOnOneEndpoint() throws IOException {
+        // Given
+        var router = new RoutingChatModel(List.of(
+                endpoint(stubOllama(200, "a")), endpoint(stubOllama(200, "b")), endpoint(stubOllama(200, "c"))),
+                Duration.ofSeconds(30), 2);
+
+        // When
+        Set<String> sameSession = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            sameSession.add(router.call(prompt("session-42")).getResult().getOutput().getText());
+        }
+        Set<String> manySessions = new HashSet<>();
+        for (int i = 0; i < 30; i++) {
+            manySessions.add(router.call(prompt("session-" + i)).getResult().getOutput().getText());
+        }
+
+        // Then
+        assertThat(sameSession).hasSize(1);
+        assertThat(manySessions).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    @DisplayName("Should skip an endpoint after it fails")
+    void call_EndpointFails_MarksUnhealthy() throws IOException {
+        // Given
+        var failing = endpoint(stubOllama(500, "boom"));
+        var healthy = endpoint(stubOllama(200, "ok"));
+        var router = new RoutingChatModel(List.of(failing, healthy), Duration.ofSeconds(30), 2);
+
+        // When
+        assertThatThrownBy(() -> router.call(prompt(null))).isInstanceOf(RuntimeException.class);
+        String content = router.call(prompt(null)).getResult().getOutput().getText();
+
+        // Then
+        assertThat(content).isEqualTo("ok");
+        assertThat(router.stats().get(0)).containsEntry("healthy", false).containsEntry("failures", 1L);
+        assertThat(router.stats().get(1)).containsEntry("healthy", true).containsEntry("outstanding", 0);
+    }
+
+    @Test
+    @DisplayName("Should keep an endpoint that rejects a request or whose tool throws")
+    void call_ClientOrToolError_KeepsEndpointHealthy() throws IOException {
+        // Given
+        var rejecting = endpoint(stubOllama(400, "bad request"));
+        ChatModel toolFailing = mock(ChatModel.class);
+        when(toolFailing.call(any(Prompt.class))).thenThrow(new IllegalArgumentException("Invalid check-in date"));
+        var router = new RoutingChatModel(List.of(rejecting, new OllamaEndpoint("http://tools", toolFailing)),
+                Duration.ofSeconds(30), 2);
+
+        // When
+        assertThatThrownBy(() -> router.call(prompt(null), router.getEndpoints().get(0)))
+                .isInstanceOf(RuntimeException.class);
+        assertThatThrownBy(() -> router.call(prompt(null), router.getEndpoints().get(1)))
+                .isInstanceOf(IllegalArgumentException.class);
+
+        // Then
+        assertThat(router.stats()).allSatisfy(stats -> assertThat(stats)
+                .containsEntry("healthy", true)
+                .containsEntry("failures", 0L));
+    }
+
+    private StubOllamaServer stubOllama(int status, String content) throws IOException {
+        var server = new StubOllamaServer(0, StubScript.replyingWith(content),
+                StubOllamaServer.LatencyModel.NONE, mapper);
+        servers.add(server);
+        if (status != 200) {
+            server.failWith(status, content);
+        }
+        return server;
+    }
+
+    private static OllamaEndpoint endpoint(StubOllamaServer server) {
+        String url = "http://127.0.0.1:" + server.getPort();
+        return new OllamaEndpoint(url, OllamaChatModel.builder()
+                .ollamaApi(new OllamaApi(url))
+                .defaultOptions(OllamaOptions.builder().model("test-model").build())
+                .build());
+    }
+
+    private static Prompt prompt(String sessionId) {
+        var options = OllamaOptions.builder().model("test-model").build();
+        if (sessionId != null) {
+            options.setToolContext(new TurnContext(sessionId).asToolContext());
+        }
+        return new Prompt("Hello", options);
+    }
+}
@@ -0,0 +1,333 @@
+package com.hotel.chatbot.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drives the chat API with multi-turn booking conversations and reports latency per endpoint.
+ * <p>
+ * Each virtual user repeatedly runs one conversation in a fresh session: a greeting, a
+ * hotel search, a booking with future dates, a thank-you, and a cancellation of the
+ * booking it just made. Turns go to {@code POST /api/chat}, {@code /api/chat/stream} or
+ * {@code /api/chat/jobs} depending on {@code --mode} ({@code chat}, {@code stream},
+ * {@code jobs} or {@code mixed}). When the run ends, requests, errors, throughput and
+ * p50/p95/p99 latency are printed per endpoint; streams also report time to first event,
+ * and jobs are timed from submission until the polled result is complete.
+ * <p>
+ * Run it with {@code ./mvnw spring-boot:test-run
+ * -Dspring-boot.run.main-class=com.hotel.chatbot.loadtest.LoadTestDriver
+ * -Dspring-boot.run.arguments="--users=20 --duration=60s --mode=mixed"}.
+ * Options: {@code --base-url}, {@code --users}, {@code --duration}, {@code --mode},
+ * {@code --think-time}, {@code --city}, {@code --hotel}.
+ */
+public class LoadTestDriver {
+
+    enum Mode { CHAT, STREAM, JOBS, MIXED }
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofMinutes(5);
+    private static final Duration JOB_POLL_INTERVAL = Duration.ofMillis(100);
+
+    private final URI baseUrl;
+    private final int users;
+    private final Duration duration;
+    private final Mode mode;
+    private final Duration thinkTime;
+    private final String city;
+    private final String hotel;
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final HttpClient client = HttpClient.newBuilder()
+            .executor(Executors.newVirtualThreadPerTaskExecutor())
+            .connectTimeout(Duration.ofSeconds(5))
+            .build();
+    private final Map<String, LatencyRecorder> recorders = new ConcurrentSkipListMap<>();
+    private final AtomicLong conversations = new AtomicLong();
+
+    LoadTestDriver(URI baseUrl, int users, Duration duration, Mode mode, Duration thinkTime, String city, String hotel) {
+        this.baseUrl = baseUrl;
+        this.users = users;
+        this.duration = duration;
+        this.mode = mode;
+        this.thinkTime = thinkTime;
+        this.city = city;
+        this.hotel = hotel;
+    }
+
+    public static void main(String[] argv) throws Exception {
+        var args = new Args(argv);
+        var driver = new LoadTestDriver(
+                URI.create(args.string("base-url", "http://localhost:8080")),
+                args.integer("users", 20),
+                args.duration("duration", Duration.ofSeconds(60)),
+                Mode.valueOf(args.string("mode", "chat").toUpperCase(Locale.ROOT)),
+                args.duration("think-time", Duration.ZERO),
+                args.string("city", "Goa"),
+                args.string("hotel", "Calangute Beach Resort"));
+        System.out.print(driver.run());
+    }
+
+    /**
+     * Runs the load for the configured duration and returns the report.
+     */
+    String run() throws InterruptedException {
+        long start = System.nanoTime();
+        long deadline = start + duration.toNanos();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int user = 0; user < users; user++) {
+                int id = user;
+                executor.submit(() -> {
+                    for (int iteration = 0; System.nanoTime() < deadline; iteration++) {
+                        conversation("load-" + id + "-" + iteration);
+                    }
+                });
+            }
+            executor.shutdown();
+            executor.awaitTermination(duration.plus(REQUEST_TIMEOUT).toMillis(), TimeUnit.MILLISECONDS);
+        }
+        return report(Duration.ofNanos(System.nanoTime() - start));
+    }
+
+    private void conversation(String sessionId) {
+        try {
+            turn(sessionId, "Hi, I'm planning a trip");
+            turn(sessionId, "Show me hotels in " + city);
+            LocalDate checkIn = LocalDate.now().plusDays(30 + ThreadLocalRandom.current().nextInt(300));
+            JsonNode booking = turn(sessionId, "Please book " + hotel + " in " + city + " from " + checkIn
+                    + " to " + checkIn.plusDays(2) + " for 2 guests");
+            turn(sessionId, "Thanks!");
+            String reference = booking != null ? booking.path("bookingInfo").path("bookingId").asText(null) : null;
+            if (reference != null) {
+                turn(sessionId, "Cancel booking " + reference);
+            }
+            conversations.incrementAndGet();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Sends one turn and returns the chat response body, or null if the turn failed.
+     */
+    private JsonNode turn(String sessionId, String message) throws InterruptedException {
+        if (!thinkTime.isZero()) {
+            Thread.sleep(thinkTime);
+        }
+        Mode turnMode = mode != Mode.MIXED ? mode : Mode.values()[ThreadLocalRandom.current().nextInt(3)];
+        String body;
+        try {
+            body = mapper.writeValueAsString(Map.of("message", message, "sessionId", sessionId));
+        } catch (IOException e) {
+            throw new IllegalStateException(e);
+        }
+        return switch (turnMode) {
+            case STREAM -> stream(body);
+            case JOBS -> job(body);
+            default -> chat(body);
+        };
+    }
+
+    private JsonNode chat(String body) throws InterruptedException {
+        LatencyRecorder recorder = recorder("POST /api/chat");
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> response = client.send(post("/api/chat", body, "application/json"),
+                    HttpResponse.BodyHandlers.ofString());
+            if (response.statusCode() != 200) {
+                recorder.error(response.statusCode());
+                return null;
+            }
+            recorder.record(System.nanoTime() - start);
+            return mapper.readTree(response.body());
+        } catch (IOException e) {
+            recorder.error(0);
+            return null;
+        }
+    }
+
+    private JsonNode stream(String body) throws InterruptedException {
+        LatencyRecorder recorder = recorder("POST /api/chat/stream");
+        LatencyRecorder firstEvent = recorder("POST /api/chat/stream (first event)");
+        long start = System.nanoTime();
+        try {
+            HttpResponse<InputStream> response = client.send(post("/api/chat/stream", body, "text/event-stream"),
+                    HttpResponse.BodyHandlers.ofInputStream());
+            if (response.statusCode() != 200) {
+                response.body().close();
+                recorder.error(response.statusCode());
+                return null;
+            }
+            JsonNode complete = null;
+            boolean first = true;
+            String event = null;
+            try (var reader = new BufferedReader(new InputStreamReader(response.body(), StandardCharsets.UTF_8))) {
+                for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                    if (line.startsWith("event:")) {
+                        event = line.substring(6).strip();
+                    } else if (line.startsWith("data:")) {
+                        if (first) {
+                            firstEvent.record(System.nanoTime() - start);
+                            first = false;
+                        }
+                        if ("complete".equals(event)) {
+                            complete = mapper.readTree(line.substring(5));
+                        }
+                    }
+                }
+            }
+            if (complete == null) {
+                recorder.error(200);
+                return null;
+            }
+            recorder.record(System.nanoTime() - start);
+            return complete;
+        } catch (IOException e) {
+            recorder.error(0);
+            return null;
+        }
+    }
+
+    private JsonNode job(String body) throws InterruptedException {
+        LatencyRecorder recorder = recorder("POST /api/chat/jobs (until complete)");
+        long start = System.nanoTime();
+        try {
+            HttpResponse<String> submitted = client.send(post("/api/chat/jobs", body, "application/json"),
+                    HttpResponse.BodyHandlers.ofString());
+            if (submitted.statusCode() != 202) {
+                recorder.error(submitted.statusCode());
+                return null;
+            }
+            URI location = baseUrl.resolve("/api/chat/jobs/" + mapper.readTree(submitted.body()).path("jobId").asText());
+            long deadline = start + REQUEST_TIMEOUT.toNanos();
+            while (System.nanoTime() < deadline) {
+                Thread.sleep(JOB_POLL_INTERVAL);
+                HttpResponse<String> polled = client.send(
+                        HttpRequest.newBuilder(location).timeout(REQUEST_TIMEOUT).GET().build(),
+                        HttpResponse.BodyHandlers.ofString());
+                if (polled.statusCode() != 200) {
+                    recorder.error(polled.statusCode());
+                    return null;
+                }
+                JsonNode job = mapper.readTree(polled.body());
+                switch (job.path("status").asText()) {
+                    case "COMPLETED" -> {
+                        recorder.record(System.nanoTime() - start);
+                        return job.path("result");
+                    }
+                    case "FAILED" -> {
+                        recorder.error(500);
+                        return null;
+                    }
+                    default -> {
+                        // still queued or running
+                    }
+                }
+            }
+            recorder.error(0);
+            return null;
+        } catch (IOException e) {
+            recorder.error(0);
+            return null;
+        }
+    }
+
+    private HttpRequest post(String path, String body, String accept) {
+        return HttpRequest.newBuilder(baseUrl.resolve(path))
+                .timeout(REQUEST_TIMEOUT)
+                .header("Content-Type", "application/json")
+                .header("Accept", accept)
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private LatencyRecorder recorder(String endpoint) {
+        return recorders.computeIfAbsent(endpoint, key -> new LatencyRecorder());
+    }
+
+    String report(Duration elapsed) {
+        double seconds = Math.max(elapsed.toMillis(), 1) / 1000.0;
+        var out = new StringBuilder();
+        out.append(String.format(Locale.ROOT, "%nLoad test: %d user(s), mode %s, %.1f s, %d conversation(s) completed%n%n",
+                users, mode.name().toLowerCase(Locale.ROOT), seconds, conversations.get()));
+        out.append(String.format(Locale.ROOT, "%-40s %8s %7s %8s %9s %9s %9s %9s%n",
+                "endpoint", "ok", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        recorders.forEach((endpoint, recorder) -> {
+            long[] sorted = recorder.sortedNanos();
+            out.append(String.format(Locale.ROOT, "%-40s %8d %7d %8.2f %9.1f %9.1f %9.1f %9.1f%n",
+                    endpoint, sorted.length, recorder.errorCount(), sorted.length / seconds,
+                    millis(percentile(sorted, 50)), millis(percentile(sorted, 95)),
+                    millis(percentile(sorted, 99)), millis(sorted.length == 0 ? 0 : sorted[sorted.length - 1])));
+            if (recorder.errorCount() > 0) {
+                out.append(String.format("%-40s errors by status (0 = I/O or timeout): %s%n", "", recorder.errorsByStatus()));
+            }
+        });
+        return out.toString();
+    }
+
+    /**
+     * Nearest-rank percentile of sorted values; 0 for an empty sample.
+     */
+    static long percentile(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.min(sorted.length, Math.max(rank, 1)) - 1];
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1_000_000.0;
+    }
+
+    /**
+     * Successful latencies and failed requests for one endpoint.
+     */
+    static final class LatencyRecorder {
+        private final List<Long> nanos = new ArrayList<>();
+        private final Map<Integer, Long> errors = new TreeMap<>();
+
+        synchronized void record(long elapsedNanos) {
+            nanos.add(elapsedNanos);
+        }
+
+        synchronized void error(int status) {
+            errors.merge(status, 1L, Long::sum);
+        }
+
+        synchronized long[] sortedNanos() {
+            long[] sorted = nanos.stream().mapToLong(Long::longValue).toArray();
+            Arrays.sort(sorted);
+            return sorted;
+        }
+
+        synchronized long errorCount() {
+            return errors.values().stream().mapToLong(Long::longValue).sum();
+        }
+
+        synchronized Map<Integer, Long> errorsByStatus() {
+            return new TreeMap<>(errors);
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.hotel.chatbot.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Ollama-compatible chat server for load tests and local runs without a GPU.
+ * <p>
+ * Serves {@code POST /api/chat} in both blocking and streaming (NDJSON) form, answering
+ * from a {@link StubScript}: scripted text replies, tool calls for the booking tools, and
+ * a closing reply once a tool result comes back. Latency follows a {@link LatencyModel} —
+ * a log-normal time to first token plus a fixed delay per streamed token — and token
+ * counts are reported like Ollama does, so usage metrics downstream stay meaningful.
+ * Unit tests can also make it fail requests with an HTTP error and observe request bodies.
+ * <p>
+ * Run it with {@code ./mvnw spring-boot:test-run
+ * -Dspring-boot.run.main-class=com.hotel.chatbot.loadtest.StubOllamaServer
+ * -Dspring-boot.run.arguments="--port=11500 --first-token-median=400ms"}.
+ * Options: {@code --port}, {@code --script} (path to a JSON script),
+ * {@code --first-token-median}, {@code --first-token-sigma}, {@code --token-delay}.
+ */
+public class StubOllamaServer implements AutoCloseable {
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final StubScript script;
+    private final LatencyModel latency;
+    private final ObjectMapper mapper;
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong toolCalls = new AtomicLong();
+    private final AtomicLong streams = new AtomicLong();
+    private volatile int errorStatus;
+    private volatile String errorMessage;
+    private volatile Consumer<JsonNode> requestListener = request -> { };
+
+    public StubOllamaServer(int port, StubScript script, LatencyModel latency, ObjectMapper mapper) throws IOException {
+        this.script = script;
+        this.latency = latency;
+        this.mapper = mapper;
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.setExecutor(executor);
+        server.createContext("/api/chat", this::handleChat);
+        server.createContext("/", exchange -> write(exchange, 200, "text/plain", "Ollama is running"));
+        server.start();
+    }
+
+    public static void main(String[] argv) throws Exception {
+        var args = new Args(argv);
+        var mapper = new ObjectMapper();
+        String scriptPath = args.string("script", null);
+        StubScript script;
+        if (scriptPath == null) {
+            script = StubScript.defaultScript(mapper);
+        } else {
+            try (InputStream in = Files.newInputStream(Path.of(scriptPath))) {
+                script = StubScript.read(in, mapper);
+            }
+        }
+        var latency = new LatencyModel(
+                args.duration("first-token-median", Duration.ofMillis(400)),
+                args.decimal("first-token-sigma", 0.5),
+                args.duration("token-delay", Duration.ofMillis(15)));
+        var stub = new StubOllamaServer(args.integer("port", 11500), script, latency, mapper);
+        System.out.printf("Stub Ollama listening on http://localhost:%d with %s%n", stub.getPort(), latency);
+
+        var stopped = new CountDownLatch(1);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            System.out.printf("Served %d request(s), %d streamed, %d tool call(s)%n",
+                    stub.getRequestCount(), stub.streams.get(), stub.getToolCallCount());
+            stub.close();
+            stopped.countDown();
+        }));
+        stopped.await();
+    }
+
+    /**
+     * Answers every chat request with the given HTTP status and Ollama error message
+     * instead of the script.
+     */
+    public void failWith(int status, String message) {
+        this.errorMessage = message;
+        this.errorStatus = status;
+    }
+
+    /**
+     * Hands each chat request body to the listener before answering it.
+     */
+    public void onRequest(Consumer<JsonNode> listener) {
+        this.requestListener = listener;
+    }
+
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    public long getRequestCount() {
+        return requests.get();
+    }
+
+    public long getToolCallCount() {
+        return toolCalls.get();
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.shutdownNow();
+    }
+
+    private void handleChat(HttpExchange exchange) throws IOException {
+        if (!"POST".equals(exchange.getRequestMethod())) {
+            write(exchange, 405, "application/json", "{\"error\":\"method not allowed\"}");
+            return;
+        }
+        requests.incrementAndGet();
+        JsonNode request = mapper.readTree(exchange.getRequestBody());
+        requestListener.accept(request);
+        int status = errorStatus;
+        if (status != 0) {
+            ObjectNode error = mapper.createObjectNode().put("error", errorMessage);
+            write(exchange, status, "application/json", mapper.writeValueAsString(error));
+            return;
+        }
+        StubScript.Reply reply = script.reply(request);
+        if (reply.isToolCall()) {
+            toolCalls.incrementAndGet();
+        }
+        String model = request.path("model").asText("stub");
+        int promptTokens = estimateTokens(request.path("messages"));
+        List<String> tokens = tokens(reply);
+        long start = System.nanoTime();
+        try {
+            sleep(latency.sampleFirstToken());
+            // Ollama streams unless the request says otherwise
+            if (request.path("stream").asBoolean(true)) {
+                streams.incrementAndGet();
+                stream(exchange, model, reply, tokens, promptTokens, start);
+            } else {
+                sleep(latency.tokenDelay().multipliedBy(tokens.size()));
+                ObjectNode body = chunk(model, message(reply, reply.content()), true);
+                usage(body, promptTokens, tokens.size(), start);
+                write(exchange, 200, "application/json", mapper.writeValueAsString(body));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            exchange.close();
+        }
+    }
+
+    private void stream(HttpExchange exchange, String model, StubScript.Reply reply, List<String> tokens,
+                        int promptTokens, long start) throws IOException, InterruptedException {
+        exchange.getResponseHeaders().add("Content-Type", "application/x-ndjson");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream out = exchange.getResponseBody()) {
+            if (reply.isToolCall()) {
+                writeLine(out, chunk(model, message(reply, ""), false));
+            }
+            for (int i = 0; i < tokens.size(); i++) {
+                if (i > 0) {
+                    sleep(latency.tokenDelay());
+                }
+                writeLine(out, chunk(model, message(null, tokens.get(i)), false));
+            }
+            ObjectNode done = chunk(model, message(null, ""), true);
+            usage(done, promptTokens, tokens.size(), start);
+            writeLine(out, done);
+        }
+    }
+
+    private ObjectNode chunk(String model, ObjectNode message, boolean done) {
+        ObjectNode chunk = mapper.createObjectNode();
+        chunk.put("model", model);
+        chunk.put("created_at", Instant.now().toString());
+        chunk.set("message", message);
+        chunk.put("done", done);
+        if (done) {
+            chunk.put("done_reason", "stop");
+        }
+        return chunk;
+    }
+
+    private ObjectNode message(StubScript.Reply toolReply, String content) {
+        ObjectNode message = mapper.createObjectNode();
+        message.put("role", "assistant");
+        message.put("content", content);
+        if (toolReply != null && toolReply.isToolCall()) {
+            ObjectNode function = message.putArray("tool_calls").addObject().putObject("function");
+            function.put("name", toolReply.toolName());
+            function.set("arguments", toolReply.toolArguments());
+        }
+        return message;
+    }
+
+    private static void usage(ObjectNode chunk, int promptTokens, int evalTokens, long start) {
+        long elapsed = System.nanoTime() - start;
+        chunk.put("total_duration", elapsed);
+        chunk.put("load_duration", 0);
+        chunk.put("prompt_eval_count", promptTokens);
+        chunk.put("prompt_eval_duration", 0);
+        chunk.put("eval_count", evalTokens);
+        chunk.put("eval_duration", elapsed);
+    }
+
+    private static List<String> tokens(StubScript.Reply reply) {
+        if (reply.isToolCall() || reply.content().isEmpty()) {
+            return List.of();
+        }
+        // One "token" per word, keeping the whitespace so chunks concatenate back to the reply
+        return List.of(reply.content().split("(?<=\\s)"));
+    }
+
+    private static int estimateTokens(JsonNode messages) {
+        int chars = 0;
+        for (JsonNode message : messages) {
+            chars += message.path("content").asText().length();
+        }
+        return Math.max(1, chars / 4);
+    }
+
+    private void writeLine(OutputStream out, ObjectNode chunk) throws IOException {
+        out.write(mapper.writeValueAsBytes(chunk));
+        out.write('\n');
+        out.flush();
+    }
+
+    private static void write(HttpExchange exchange, int status, String contentType, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", contentType);
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(Duration duration) throws InterruptedException {
+        if (!duration.isZero()) {
+            Thread.sleep(duration);
+        }
+    }
+
+    /**
+     * Response timing: a log-normal time to first token with the given median and shape,
+     * followed by a fixed delay per generated token.
+     */
+    public record LatencyModel(Duration firstTokenMedian, double firstTokenSigma, Duration tokenDelay) {
+
+        public static final LatencyModel NONE = new LatencyModel(Duration.ZERO, 0, Duration.ZERO);
+
+        Duration sampleFirstToken() {
+            double factor = Math.exp(firstTokenSigma * ThreadLocalRandom.current().nextGaussian());
+            return Duration.ofNanos((long) (firstTokenMedian.toNanos() * factor));
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package com.hotel.chatbot.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.ollama.OllamaChatModel;
+import org.springframework.ai.ollama.api.OllamaApi;
+import org.springframework.ai.ollama.api.OllamaOptions;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.function.FunctionToolCallback;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests StubOllamaServer against Spring AI's Ollama client.
+ */
+class StubOllamaServerTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private StubOllamaServer stub;
+
+    @AfterEach
+    void tearDown() {
+        if (stub != null) {
+            stub.close();
+        }
+    }
+
+    @Test
+    @DisplayName("Should run a scripted tool-call sequence through the Ollama client")
+    void call_ToolRule_CallsToolThenReplies() throws IOException {
+        // Given
+        var chatModel = chatModel(StubOllamaServer.LatencyModel.NONE);
+        List<String> searchedCities = new CopyOnWriteArrayList<>();
+        ToolCallback searchHotels = FunctionToolCallback.builder("searchHotels", (SearchRequest request) -> {
+                    searchedCities.add(request.city());
+                    return "Calangute Beach Resort - 4500 INR/night";
+                })
+                .description("Search hotels in a city")
+                .inputType(SearchRequest.class)
+                .build();
+
+        // When
+        ChatResponse response = chatModel.call(new Prompt("Show me hotels in Goa",
+                OllamaOptions.builder().model("stub-model").toolCallbacks(searchHotels).build()));
+
+        // Then
+        assertThat(searchedCities).containsExactly("Goa");
+        assertThat(response.getResult().getOutput().getText()).contains("Calangute Beach Resort - 4500 INR/night");
+        assertThat(stub.getRequestCount()).isEqualTo(2);
+        assertThat(stub.getToolCallCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should stream a scripted reply word by word with usage on the last chunk")
+    void stream_TextRule_StreamsTokens() throws IOException {
+        // Given
+        var chatModel = chatModel(StubOllamaServer.LatencyModel.NONE);
+
+        // When
+        List<ChatResponse> chunks = chatModel.stream(new Prompt("Hello there")).collectList().block();
+
+        // Then
+        String text = chunks.stream()
+                .map(chunk -> chunk.getResult().getOutput().getText())
+                .filter(content -> content != null)
+                .collect(Collectors.joining());
+        assertThat(text).startsWith("Hello! I'm HotelBot.");
+        assertThat(chunks).hasSizeGreaterThan(10);
+        assertThat(chunks.get(chunks.size() - 1).getMetadata().getUsage().getCompletionTokens())
+                .isEqualTo(text.split("\\s+").length);
+    }
+
+    @Test
+    @DisplayName("Should hold each reply for the configured time to first token")
+    void call_Latency_DelaysReply() throws IOException {
+        // Given
+        var chatModel = chatModel(new StubOllamaServer.LatencyModel(Duration.ofMillis(150), 0, Duration.ZERO));
+
+        // When
+        long start = System.nanoTime();
+        String reply = chatModel.call("Thanks!");
+        long elapsedMs = (System.nanoTime() - start) / 1_000_000;
+
+        // Then
+        assertThat(reply).startsWith("You're welcome!");
+        assertThat(elapsedMs).isGreaterThanOrEqualTo(150);
+    }
+
+    private OllamaChatModel chatModel(StubOllamaServer.LatencyModel latency) throws IOException {
+        stub = new StubOllamaServer(0, StubScript.defaultScript(mapper), latency, mapper);
+        return OllamaChatModel.builder()
+                .ollamaApi(new OllamaApi("http://127.0.0.1:" + stub.getPort()))
+                .defaultOptions(OllamaOptions.builder().model("stub-model").build())
+                .build();
+    }
+
+    record SearchRequest(String city) {
+    }
+}
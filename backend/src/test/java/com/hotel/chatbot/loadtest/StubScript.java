@@ -0,0 +1,160 @@
+package com.hotel.chatbot.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.JsonNodeFactory;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Scripted replies for {@link StubOllamaServer}.
+ * <p>
+ * A script is a JSON document with an ordered list of rules. Each rule has a
+ * case-insensitive {@code match} regex tested against the latest user message and either
+ * a text {@code reply} or a {@code tool} call with {@code arguments}; {@code $1}, {@code $2}
+ * and so on are replaced with the regex groups. A tool rule only fires when the request
+ * offers that tool. After a tool result the {@code afterTool} template is returned with
+ * {@code $result} replaced by the tool output, which closes the tool-call sequence; when no
+ * rule matches, {@code fallback} is returned.
+ */
+public class StubScript {
+
+    /**
+     * Classpath location of the default booking script.
+     */
+    public static final String DEFAULT_SCRIPT = "/loadtest/stub-script.json";
+
+    private static final Pattern GROUP = Pattern.compile("\\$(\\d)");
+
+    private final List<Rule> rules;
+    private final String fallback;
+    private final String afterTool;
+
+    public StubScript(List<Rule> rules, String fallback, String afterTool) {
+        this.rules = List.copyOf(rules);
+        this.fallback = fallback;
+        this.afterTool = afterTool;
+    }
+
+    /**
+     * Reads a script from JSON.
+     */
+    public static StubScript read(InputStream in, ObjectMapper mapper) throws IOException {
+        JsonNode root = mapper.readTree(in);
+        List<Rule> rules = new ArrayList<>();
+        for (JsonNode rule : root.path("rules")) {
+            rules.add(new Rule(
+                    Pattern.compile(rule.path("match").asText(), Pattern.CASE_INSENSITIVE),
+                    rule.hasNonNull("reply") ? rule.get("reply").asText() : null,
+                    rule.hasNonNull("tool") ? rule.get("tool").asText() : null,
+                    rule.path("arguments")));
+        }
+        return new StubScript(rules, root.path("fallback").asText(""), root.path("afterTool").asText("$result"));
+    }
+
+    /**
+     * Returns a script that answers every request with the same text.
+     */
+    public static StubScript replyingWith(String reply) {
+        return new StubScript(List.of(), reply, "$result");
+    }
+
+    /**
+     * Loads the default booking script from the classpath.
+     */
+    public static StubScript defaultScript(ObjectMapper mapper) {
+        try (InputStream in = StubScript.class.getResourceAsStream(DEFAULT_SCRIPT)) {
+            if (in == null) {
+                throw new IllegalStateException("Missing " + DEFAULT_SCRIPT);
+            }
+            return read(in, mapper);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Picks the reply for an Ollama {@code /api/chat} request body.
+     */
+    public Reply reply(JsonNode request) {
+        JsonNode messages = request.path("messages");
+        JsonNode last = messages.isEmpty() ? null : messages.get(messages.size() - 1);
+        if (last != null && "tool".equals(last.path("role").asText())) {
+            return Reply.text(afterTool.replace("$result", last.path("content").asText()));
+        }
+        String userText = lastUserMessage(messages);
+        Set<String> tools = offeredTools(request);
+        for (Rule rule : rules) {
+            Matcher matcher = rule.match().matcher(userText);
+            if (!matcher.find()) {
+                continue;
+            }
+            if (rule.tool() != null && tools.contains(rule.tool())) {
+                ObjectNode arguments = JsonNodeFactory.instance.objectNode();
+                rule.arguments().properties().forEach(entry -> arguments.set(entry.getKey(),
+                        entry.getValue().isTextual()
+                                ? arguments.textNode(substitute(entry.getValue().asText(), matcher))
+                                : entry.getValue().deepCopy()));
+                return new Reply("", rule.tool(), arguments);
+            }
+            if (rule.reply() != null) {
+                return Reply.text(substitute(rule.reply(), matcher));
+            }
+        }
+        return Reply.text(fallback);
+    }
+
+    private static String lastUserMessage(JsonNode messages) {
+        for (int i = messages.size() - 1; i >= 0; i--) {
+            if ("user".equals(messages.get(i).path("role").asText())) {
+                return messages.get(i).path("content").asText();
+            }
+        }
+        return "";
+    }
+
+    private static Set<String> offeredTools(JsonNode request) {
+        Set<String> names = new HashSet<>();
+        for (JsonNode tool : request.path("tools")) {
+            names.add(tool.path("function").path("name").asText());
+        }
+        return names;
+    }
+
+    private static String substitute(String template, Matcher matcher) {
+        return GROUP.matcher(template).replaceAll(ref -> {
+            int group = Integer.parseInt(ref.group(1));
+            String value = group <= matcher.groupCount() ? matcher.group(group) : null;
+            return Matcher.quoteReplacement(value != null ? value.strip() : "");
+        });
+    }
+
+    /**
+     * One scripted rule; exactly one of {@code reply} and {@code tool} is normally set.
+     */
+    public record Rule(Pattern match, String reply, String tool, JsonNode arguments) {
+    }
+
+    /**
+     * The assistant turn to send back: text, or a single tool call.
+     */
+    public record Reply(String content, String toolName, ObjectNode toolArguments) {
+
+        static Reply text(String content) {
+            return new Reply(content, null, null);
+        }
+
+        public boolean isToolCall() {
+            return toolName != null;
+        }
+    }
+}
@@ -0,0 +1,112 @@
+package com.hotel.chatbot.memory;
+
+import com.hotel.chatbot.support.MutableClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.UserMessage;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for BoundedChatMemory.
+ */
+class BoundedChatMemoryTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-01T10:00:00Z"));
+
+    @Test
+    @DisplayName("Should keep only the most recent messages within the session window")
+    void add_ExceedsMessageWindow_TrimsOldest() {
+        // Given
+        var memory = new BoundedChatMemory(4, 10_000, Duration.ofMinutes(30), 1_000_000, clock);
+
+        // When
+        for (int i = 1; i <= 3; i++) {
+            memory.add("s1", turn("question " + i, "answer " + i));
+        }
+
+        // Then
+        List<Message> history = memory.get("s1", 100);
+        assertThat(history).extracting(Message::getText)
+                .containsExactly("question 2", "answer 2", "question 3", "answer 3");
+    }
+
+    @Test
+    @DisplayName("Should trim by estimated tokens and never start on an assistant reply")
+    void add_ExceedsTokenWindow_TrimsToUserTurn() {
+        // Given
+        var memory = new BoundedChatMemory(100, 10, Duration.ofMinutes(30), 1_000_000, clock);
+
+        // When
+        memory.add("s1", turn("q".repeat(20), "a".repeat(20)));
+        memory.add("s1", turn("hi", "hello"));
+
+        // Then
+        assertThat(memory.get("s1", 100)).extracting(Message::getText)
+                .containsExactly("hi", "hello");
+    }
+
+    @Test
+    @DisplayName("Should evict sessions idle longer than the TTL")
+    void evictIdleSessions_RemovesExpiredSessions() {
+        // Given
+        var memory = new BoundedChatMemory(10, 10_000, Duration.ofMinutes(30), 1_000_000, clock);
+        memory.add("idle", turn("hello", "hi"));
+        clock.advance(Duration.ofMinutes(20));
+        memory.add("active", turn("hello", "hi"));
+        clock.advance(Duration.ofMinutes(15));
+
+        // When
+        int evicted = memory.evictIdleSessions();
+
+        // Then
+        assertThat(evicted).isEqualTo(1);
+        assertThat(memory.contains("idle")).isFalse();
+        assertThat(memory.contains("active")).isTrue();
+        assertThat(memory.stats()).containsEntry("liveSessions", 1);
+    }
+
+    @Test
+    @DisplayName("Should evict least recently used sessions when over the global cap")
+    void add_ExceedsGlobalCap_EvictsLeastRecentlyUsed() {
+        // Given: each turn is roughly 2 * (64 + 2 * 5) = 148 bytes
+        var memory = new BoundedChatMemory(10, 10_000, Duration.ofMinutes(30), 400, clock);
+        memory.add("oldest", turn("aaaaa", "bbbbb"));
+        memory.add("middle", turn("aaaaa", "bbbbb"));
+        memory.get("oldest", 10); // touch, so "middle" becomes least recently used
+
+        // When
+        memory.add("newest", turn("aaaaa", "bbbbb"));
+
+        // Then
+        assertThat(memory.contains("middle")).isFalse();
+        assertThat(memory.contains("oldest")).isTrue();
+        assertThat(memory.contains("newest")).isTrue();
+        assertThat((long) memory.stats().get("bytesRetained")).isLessThanOrEqualTo(400);
+    }
+
+    @Test
+    @DisplayName("Should release retained bytes when a session is cleared")
+    void clear_RemovesSessionAndBytes() {
+        // Given
+        var memory = new BoundedChatMemory(10, 10_000, Duration.ofMinutes(30), 1_000_000, clock);
+        memory.add("s1", turn("hello", "hi"));
+
+        // When
+        memory.clear("s1");
+
+        // Then
+        assertThat(memory.get("s1", 10)).isEmpty();
+        assertThat(memory.stats()).containsEntry("bytesRetained", 0L).containsEntry("liveSessions", 0);
+    }
+
+    private static List<Message> turn(String user, String assistant) {
+        return List.of(new UserMessage(user), new AssistantMessage(assistant));
+    }
+}
@@ -0,0 +1,169 @@
+package com.hotel.chatbot.memory;
+
+import com.hotel.chatbot.repository.HotelRepository;
+import com.hotel.chatbot.service.LlmConcurrencyLimiter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.MessageType;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.prompt.Prompt;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ConversationCompactor.
+ */
+@ExtendWith(MockitoExtension.class)
+class ConversationCompactorTest {
+
+    @Mock
+    private ChatModel chatModel;
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    private BoundedChatMemory memory;
+    private ConversationCompactor compactor;
+
+    @BeforeEach
+    void setUp() {
+        memory = new BoundedChatMemory(100, 100_000, Duration.ofMinutes(30), 10_000_000);
+        var limiter = new LlmConcurrencyLimiter(1, 10, Duration.ofSeconds(1));
+        compactor = new ConversationCompactor(memory, chatModel, limiter, hotelRepository, true, 2, 2);
+    }
+
+    @Test
+    @DisplayName("Should fold older turns into a summary and keep recent turns verbatim")
+    void compact_LongSession_KeepsRecentTurnsAndKeyFacts() {
+        // Given
+        memory.add("s1", List.of(new UserMessage("Find hotels in Goa"), new AssistantMessage("Here are 3 hotels")));
+        memory.add("s1", List.of(new UserMessage("Book Sea View from 2026-03-10 to 2026-03-12"),
+                new AssistantMessage("Booked! Your reference is HBK-2026-00123")));
+        memory.add("s1", List.of(new UserMessage("Thanks"), new AssistantMessage("You're welcome")));
+        memory.add("s1", List.of(new UserMessage("What about Chennai?"), new AssistantMessage("Chennai has 2 hotels")));
+        memory.add("s1", List.of(new UserMessage("Show the cheapest"), new AssistantMessage("Marina Inn, 3000/night")));
+        when(hotelRepository.findDistinctCities()).thenReturn(List.of("Goa", "Chennai", "Mumbai"));
+        when(chatModel.call(any(Prompt.class))).thenReturn(
+                new ChatResponse(List.of(new Generation(new AssistantMessage("Guest booked a hotel in Goa.")))));
+
+        // When
+        boolean compacted = compactor.compact("s1");
+
+        // Then
+        assertThat(compacted).isTrue();
+        List<Message> history = memory.get("s1", 100);
+        assertThat(history).hasSize(5);
+        assertThat(history.get(0).getMessageType()).isEqualTo(MessageType.SYSTEM);
+        assertThat(history.get(0).getText())
+                .startsWith(ConversationCompactor.SUMMARY_PREFIX)
+                .contains("Guest booked a hotel in Goa.")
+                .contains("HBK-2026-00123")
+                .contains("2026-03-10, 2026-03-12")
+                .contains("Cities discussed: Goa")
+                .doesNotContain("Mumbai");
+        assertThat(history.subList(1, 5)).extracting(Message::getText)
+                .containsExactly("What about Chennai?", "Chennai has 2 hotels", "Show the cheapest", "Marina Inn, 3000/night");
+        assertThat(compactor.stats()).containsEntry("compactions", 1L).containsEntry("compactedMessages", 6L);
+    }
+
+    @Test
+    @DisplayName("Should keep the summary at the head of a bounded window that trims later turns")
+    void compact_ThenWindowTrims_KeepsSummary() {
+        // Given
+        var window = new BoundedChatMemory(6, 100_000, Duration.ofMinutes(30), 10_000_000);
+        var limiter = new LlmConcurrencyLimiter(1, 10, Duration.ofSeconds(1));
+        var windowCompactor = new ConversationCompactor(window, chatModel, limiter, hotelRepository, true, 1, 1);
+        window.add("s1", List.of(new UserMessage("Find hotels in Goa"), new AssistantMessage("Here are 3 hotels")));
+        window.add("s1", List.of(new UserMessage("Book Sea View"), new AssistantMessage("Booked HBK-2026-00123")));
+        window.add("s1", List.of(new UserMessage("Thanks"), new AssistantMessage("You're welcome")));
+        when(hotelRepository.findDistinctCities()).thenReturn(List.of("Goa"));
+        when(chatModel.call(any(Prompt.class))).thenReturn(
+                new ChatResponse(List.of(new Generation(new AssistantMessage("Guest booked Sea View in Goa.")))));
+        assertThat(windowCompactor.compact("s1")).isTrue();
+
+        // When
+        window.add("s1", List.of(new UserMessage("Any spa?"), new AssistantMessage("Yes, Sea View has a spa")));
+        window.add("s1", List.of(new UserMessage("Breakfast?"), new AssistantMessage("Breakfast is included")));
+
+        // Then
+        List<Message> history = window.get("s1", 100);
+        assertThat(history).hasSize(5);
+        assertThat(history.get(0).getMessageType()).isEqualTo(MessageType.SYSTEM);
+        assertThat(history.get(0).getText())
+                .startsWith(ConversationCompactor.SUMMARY_PREFIX)
+                .contains("HBK-2026-00123");
+        assertThat(history.subList(1, 5)).extracting(Message::getText)
+                .containsExactly("Any spa?", "Yes, Sea View has a spa", "Breakfast?", "Breakfast is included");
+    }
+
+    @Test
+    @DisplayName("Should leave short sessions untouched")
+    void compact_ShortSession_DoesNothing() {
+        // Given
+        memory.add("s1", List.of(new UserMessage("Hi"), new AssistantMessage("Hello")));
+
+        // When
+        boolean compacted = compactor.compact("s1");
+
+        // Then
+        assertThat(compacted).isFalse();
+        assertThat(memory.get("s1", 100)).hasSize(2);
+        verifyNoInteractions(chatModel);
+    }
+
+    @Test
+    @DisplayName("Should keep the full history when summarization fails")
+    void compact_ModelFails_KeepsHistory() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            memory.add("s1", List.of(new UserMessage("question " + i), new AssistantMessage("answer " + i)));
+        }
+        when(chatModel.call(any(Prompt.class))).thenThrow(new IllegalStateException("model unavailable"));
+
+        // When
+        boolean compacted = compactor.compact("s1");
+
+        // Then
+        assertThat(compacted).isFalse();
+        assertThat(memory.get("s1", 100)).hasSize(10);
+        assertThat(compactor.stats()).containsEntry("failures", 1L);
+    }
+
+    @Test
+    @DisplayName("Should keep messages added while the summary was being written")
+    void compact_TurnDuringSummary_KeepsNewMessages() {
+        // Given
+        for (int i = 0; i < 5; i++) {
+            memory.add("s1", List.of(new UserMessage("question " + i), new AssistantMessage("answer " + i)));
+        }
+        when(hotelRepository.findDistinctCities()).thenReturn(List.of());
+        when(chatModel.call(any(Prompt.class))).thenAnswer(invocation -> {
+            memory.add("s1", List.of(new UserMessage("question 5"), new AssistantMessage("answer 5")));
+            return new ChatResponse(List.of(new Generation(new AssistantMessage("Guest asked questions."))));
+        });
+
+        // When
+        boolean compacted = compactor.compact("s1");
+
+        // Then
+        assertThat(compacted).isTrue();
+        assertThat(memory.get("s1", 100)).extracting(Message::getText)
+                .endsWith("question 3", "answer 3", "question 4", "answer 4", "question 5", "answer 5")
+                .hasSize(7);
+    }
+}
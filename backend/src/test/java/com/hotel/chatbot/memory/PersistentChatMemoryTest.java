@@ -0,0 +1,163 @@
+package com.hotel.chatbot.memory;
+
+import com.hotel.chatbot.entity.ConversationMessage;
+import com.hotel.chatbot.repository.ConversationMessageRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.Message;
+import org.springframework.ai.chat.messages.SystemMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.data.domain.Limit;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for PersistentChatMemory.
+ */
+@ExtendWith(MockitoExtension.class)
+class PersistentChatMemoryTest {
+
+    @Mock
+    private ConversationMessageRepository repository;
+
+    private PersistentChatMemory memory;
+
+    @BeforeEach
+    void setUp() {
+        var cache = new BoundedChatMemory(40, 10_000, Duration.ofMinutes(30), 1_000_000);
+        memory = new PersistentChatMemory(cache, repository, 50, 1_000, 40);
+    }
+
+    @Test
+    @DisplayName("Should buffer writes instead of saving on every turn")
+    void add_DoesNotWriteSynchronously() {
+        // Given
+        when(repository.findByConversationIdOrderBySequenceDesc(eq("s1"), any(Limit.class))).thenReturn(List.of());
+
+        // When
+        memory.add("s1", List.of(new UserMessage("Find hotels in Goa"), new AssistantMessage("Here you go")));
+
+        // Then
+        verify(repository, never()).saveAll(anyList());
+        assertThat(memory.get("s1", 10)).extracting(Message::getText)
+                .containsExactly("Find hotels in Goa", "Here you go");
+        assertThat(memory.stats()).containsEntry("pendingWrites", 2);
+    }
+
+    @Test
+    @DisplayName("Should persist buffered writes in one batch on flush")
+    @SuppressWarnings("unchecked")
+    void flush_SavesBufferedMessagesInBatch() {
+        // Given
+        when(repository.findByConversationIdOrderBySequenceDesc(any(), any(Limit.class))).thenReturn(List.of());
+        memory.add("s1", List.of(new UserMessage("hello"), new AssistantMessage("hi")));
+        memory.add("s2", List.of(new UserMessage("hey")));
+
+        // When
+        memory.flush();
+
+        // Then
+        ArgumentCaptor<List<ConversationMessage>> batch = ArgumentCaptor.forClass(List.class);
+        verify(repository, times(1)).saveAll(batch.capture());
+        assertThat(batch.getValue()).extracting(ConversationMessage::getContent)
+                .containsExactly("hello", "hi", "hey");
+        assertThat(memory.stats()).containsEntry("pendingWrites", 0).containsEntry("flushedBatches", 1L);
+    }
+
+    @Test
+    @DisplayName("Should load a cold session from the database once")
+    void get_ColdSession_LoadsFromDatabaseOnce() {
+        // Given: repository returns newest first
+        when(repository.findByConversationIdOrderBySequenceDesc(eq("s1"), any(Limit.class))).thenReturn(List.of(
+                new ConversationMessage("s1", "ASSISTANT", "Booked!", 2),
+                new ConversationMessage("s1", "USER", "Book it", 1)));
+
+        // When
+        List<Message> first = memory.get("s1", 10);
+        List<Message> second = memory.get("s1", 10);
+
+        // Then
+        assertThat(first).extracting(Message::getText).containsExactly("Book it", "Booked!");
+        assertThat(second).isEqualTo(first);
+        verify(repository, times(1)).findByConversationIdOrderBySequenceDesc(eq("s1"), any(Limit.class));
+    }
+
+    @Test
+    @DisplayName("Should keep buffered writes when a flush fails")
+    void flush_RepositoryFails_RequeuesBatch() {
+        // Given
+        when(repository.findByConversationIdOrderBySequenceDesc(eq("s1"), any(Limit.class))).thenReturn(List.of());
+        when(repository.saveAll(anyList())).thenThrow(new IllegalStateException("database down"));
+        memory.add("s1", List.of(new UserMessage("hello")));
+
+        // When
+        memory.flush();
+
+        // Then
+        assertThat(memory.stats()).containsEntry("pendingWrites", 1).containsEntry("flushFailures", 1L);
+    }
+
+    @Test
+    @DisplayName("Should drop buffered writes and stored rows on clear")
+    void clear_RemovesPendingAndStoredMessages() {
+        // Given
+        when(repository.findByConversationIdOrderBySequenceDesc(eq("s1"), any(Limit.class))).thenReturn(List.of());
+        memory.add("s1", List.of(new UserMessage("hello")));
+
+        // When
+        memory.clear("s1");
+        memory.flush();
+
+        // Then
+        verify(repository).deleteByConversationId("s1");
+        verify(repository, never()).saveAll(anyList());
+        assertThat(memory.stats()).containsEntry("pendingWrites", 0);
+    }
+
+    @Test
+    @DisplayName("Should swap the head of a history for a summary in the cache and the database")
+    @SuppressWarnings("unchecked")
+    void replacePrefix_RewritesCacheAndStoredRows() {
+        // Given
+        when(repository.findByConversationIdOrderBySequenceDesc(eq("s1"), any(Limit.class))).thenReturn(List.of());
+        memory.add("s1", List.of(new UserMessage("Find hotels in Goa"), new AssistantMessage("Here you go"),
+                new UserMessage("Book the first"), new AssistantMessage("Booked HBK-2026-00001")));
+        List<Message> older = memory.get("s1", 10).subList(0, 2);
+        memory.flush();
+        ArgumentCaptor<List<ConversationMessage>> batch = ArgumentCaptor.forClass(List.class);
+        verify(repository).saveAll(batch.capture());
+        List<ConversationMessage> stored = batch.getValue();
+        when(repository.findByConversationIdAndSequenceLessThanEqualOrderBySequenceDesc(eq("s1"),
+                eq(stored.get(3).getSequence()), eq(Limit.of(2))))
+                .thenReturn(List.of(stored.get(3), stored.get(2)));
+
+        // When
+        boolean replaced = memory.replacePrefix("s1", older, new SystemMessage("Summary: looking in Goa"));
+
+        // Then
+        assertThat(replaced).isTrue();
+        assertThat(memory.get("s1", 10)).extracting(Message::getText)
+                .containsExactly("Summary: looking in Goa", "Book the first", "Booked HBK-2026-00001");
+        ArgumentCaptor<ConversationMessage> summary = ArgumentCaptor.forClass(ConversationMessage.class);
+        verify(repository).replaceBefore(eq("s1"), eq(stored.get(2).getSequence()), summary.capture());
+        assertThat(summary.getValue().getContent()).isEqualTo("Summary: looking in Goa");
+        assertThat(summary.getValue().getSequence()).isLessThan(stored.get(2).getSequence());
+        assertThat(memory.replacePrefix("s1", older, new SystemMessage("stale"))).isFalse();
+    }
+}
@@ -1,14 +1,18 @@
 package com.hotel.chatbot.repository;
 
+import com.hotel.chatbot.dto.HotelSearchResult;
 import com.hotel.chatbot.entity.Hotel;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
 import org.springframework.test.context.ActiveProfiles;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -90,6 +94,132 @@ class HotelRepositoryTest {
         assertThat(hotels).isEmpty();
     }
 
+    @Test
+    @DisplayName("Should apply every search filter in one query")
+    void search_CombinedFilters_FindsMatchingHotels() {
+        // Given
+        var criteria = new HotelSearchCriteria("chenn", 2000, 5000, "double", new BigDecimal("4.0"),
+                HotelSearchCriteria.Order.PRICE);
+
+        // When
+        Window<HotelSearchResult> hotels = hotelRepository.search(criteria, ScrollPosition.keyset(), 10);
+
+        // Then
+        assertThat(hotels.getContent()).extracting(HotelSearchResult::name).containsExactly("Grand Chennai");
+        assertThat(hotels.hasNext()).isFalse();
+        assertThat(hotelRepository.search(new HotelSearchCriteria("Chennai", null, null, null,
+                new BigDecimal("4.5"), HotelSearchCriteria.Order.RATING), ScrollPosition.keyset(), 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should page through search results by keyset, cheapest first")
+    void search_KeysetPages_ContinuesAfterLastHotel() {
+        // When
+        Window<HotelSearchResult> first = hotelRepository.search(HotelSearchCriteria.inCity("Chennai"),
+                ScrollPosition.keyset(), 2);
+        Window<HotelSearchResult> second = hotelRepository.search(HotelSearchCriteria.inCity("Chennai"),
+                first.positionAt(first.size() - 1), 2);
+
+        // Then
+        assertThat(first.getContent()).extracting(HotelSearchResult::name)
+                .containsExactly("Budget Chennai Inn", "Grand Chennai");
+        assertThat(first.hasNext()).isTrue();
+        assertThat(second.getContent()).extracting(HotelSearchResult::name).containsExactly("Chennai Beach Resort");
+        assertThat(second.hasNext()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should find only hotels changed after the given time")
+    void findSearchResultsUpdatedAfter_FindsChangedHotels() {
+        // Given
+        hotelRepository.flush();
+        LocalDateTime since = hotelRepository.findLatestUpdate().orElseThrow();
+        Hotel hotel = hotelRepository.findByCityIgnoreCase("Bangalore").get(0);
+
+        // When
+        hotel.setAvailability(false);
+        hotelRepository.saveAndFlush(hotel);
+        List<HotelSearchResult> changed = hotelRepository.findSearchResultsUpdatedAfter(since);
+
+        // Then
+        assertThat(changed).singleElement().satisfies(result -> {
+            assertThat(result.name()).isEqualTo("Bangalore Tech Hub");
+            assertThat(result.available()).isFalse();
+        });
+        assertThat(hotelRepository.findLatestUpdate()).contains(hotel.getUpdatedAt());
+    }
+
+    @Test
+    @DisplayName("Should search by neighbourhood or landmark, requiring every word while any hotel has them all")
+    void searchByLocation_Landmark_MatchesAllWordsFirst() {
+        // Given
+        hotelRepository.saveAll(List.of(
+                createHotel("Marina Bay Resort", "Chennai", "ECR Beach", 6800),
+                createHotel("The Grand Chennai", "Chennai", "Marina Beach Road", 4500),
+                createHotel("Bandra Bay View", "Mumbai", "Bandra West", 5800)));
+
+        // When
+        List<HotelSearchResult> nearMarina = hotelRepository.searchByLocation("near Marina Beach", null, null, 10);
+        List<HotelSearchResult> bandra = hotelRepository.searchByLocation("Bandra", null, null, 10);
+
+        // Then
+        assertThat(nearMarina).extracting(HotelSearchResult::name).containsExactly("The Grand Chennai");
+        assertThat(bandra).extracting(HotelSearchResult::name).containsExactly("Bandra Bay View");
+        assertThat(hotelRepository.searchByLocation("Marina Beach", 5000, null, 10)).extracting(HotelSearchResult::name)
+                .containsExactly("The Grand Chennai");
+        assertThat(hotelRepository.searchByLocation("near the", null, null, 10)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should match any word of a location only when no hotel matches them all")
+    void searchByLocation_NoHotelHasEveryWord_MatchesAnyWord() {
+        // Given
+        hotelRepository.saveAll(List.of(
+                createHotel("Marina Bay Resort", "Chennai", "ECR Beach", 6800),
+                createHotel("The Grand Chennai", "Chennai", "Marina Beach Road", 4500),
+                createHotel("Bandra Bay View", "Mumbai", "Bandra West", 5800)));
+
+        // When
+        List<HotelSearchResult> found = hotelRepository.searchByLocation("Beach near Bandra", null, null, 10);
+
+        // Then
+        assertThat(found).extracting(HotelSearchResult::name)
+                .containsExactly("The Grand Chennai", "Bandra Bay View", "Marina Bay Resort");
+    }
+
+    @Test
+    @DisplayName("Should apply the location filter before the limit")
+    void searchByLocation_WithFilter_FillsLimitFromLaterMatches() {
+        // Given
+        hotelRepository.saveAll(List.of(
+                createHotel("Marina Bay Resort", "Chennai", "ECR Beach", 6800),
+                createHotel("The Grand Chennai", "Chennai", "Marina Beach Road", 4500)));
+
+        // When
+        List<HotelSearchResult> found = hotelRepository.searchByLocation("Beach", null, null,
+                hotel -> !hotel.name().equals("The Grand Chennai"), 1);
+
+        // Then
+        assertThat(found).extracting(HotelSearchResult::name).containsExactly("Marina Bay Resort");
+    }
+
+    @Test
+    @DisplayName("Should find a hotel by id while locking its row")
+    void findByIdForUpdate_LocksAndFindsHotel() {
+        // Given
+        Hotel hotel = hotelRepository.findByCityIgnoreCase("Bangalore").get(0);
+
+        // When / Then
+        assertThat(hotelRepository.findByIdForUpdate(hotel.getId()))
+                .get().extracting(Hotel::getName).isEqualTo("Bangalore Tech Hub");
+    }
+
+    private Hotel createHotel(String name, String city, String address, int price) {
+        var hotel = createHotel(name, city, price, "Double");
+        hotel.setAddress(address);
+        return hotel;
+    }
+
     private Hotel createHotel(String name, String city, int price, String roomType) {
         var hotel = new Hotel(name, city, price, roomType);
         hotel.setRating(new BigDecimal("4.0"));
@@ -3,19 +3,30 @@ package com.hotel.chatbot.service;
 import com.hotel.chatbot.entity.Booking;
 import com.hotel.chatbot.entity.BookingStatus;
 import com.hotel.chatbot.entity.Hotel;
+import com.hotel.chatbot.exception.RoomsUnavailableException;
 import com.hotel.chatbot.repository.BookingRepository;
+import com.hotel.chatbot.repository.HotelRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
 
+import java.time.Clock;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -27,13 +38,19 @@ class BookingServiceTest {
     @Mock
     private BookingRepository bookingRepository;
 
+    @Mock
+    private HotelRepository hotelRepository;
+
     private BookingService bookingService;
     private Hotel testHotel;
 
     @BeforeEach
     void setUp() {
-        bookingService = new BookingService(bookingRepository);
+        var inventory = new InventoryService(bookingRepository, 730, Clock.systemDefaultZone());
+        bookingService = new BookingService(bookingRepository, hotelRepository, inventory);
         testHotel = new Hotel("Test Hotel", "Chennai", 3500, "Double");
+        ReflectionTestUtils.setField(testHotel, "id", UUID.randomUUID());
+        lenient().when(hotelRepository.findByIdForUpdate(testHotel.getId())).thenReturn(Optional.of(testHotel));
     }
 
     @Test
@@ -132,4 +149,77 @@ class BookingServiceTest {
         // Then
         assertThat(booking1.getBookingReference()).isNotEqualTo(booking2.getBookingReference());
     }
+
+    @Test
+    @DisplayName("Should refuse a booking once the database shows every room taken for some night")
+    void createBooking_NoRoomLeft_ThrowsException() {
+        // Given
+        testHotel.setTotalRooms(2);
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        storeBookings();
+        bookingService.createBooking(testHotel, checkIn, checkIn.plusDays(2), 2, null);
+        bookingService.createBooking(testHotel, checkIn.plusDays(1), checkIn.plusDays(3), 2, null);
+
+        // When / Then
+        assertThatThrownBy(() -> bookingService.createBooking(testHotel, checkIn.plusDays(1), checkIn.plusDays(2), 2, null))
+                .isInstanceOf(RoomsUnavailableException.class)
+                .hasMessageContaining("Test Hotel");
+        assertThat(bookingService.createBooking(testHotel, checkIn.plusDays(3), checkIn.plusDays(4), 2, null))
+                .isNotNull();
+        verify(hotelRepository, times(4)).findByIdForUpdate(testHotel.getId());
+    }
+
+    @Test
+    @DisplayName("Should move a booking's room to free dates, keep it when full, and free it on cancel")
+    void modifyAndCancelBooking_UpdatesRooms() {
+        // Given
+        testHotel.setTotalRooms(1);
+        LocalDate checkIn = LocalDate.now().plusDays(1);
+        storeBookings();
+        Booking first = bookingService.createBooking(testHotel, checkIn, checkIn.plusDays(2), 2, null);
+        Booking second = bookingService.createBooking(testHotel, checkIn.plusDays(5), checkIn.plusDays(6), 2, null);
+        when(bookingRepository.findByBookingReference(first.getBookingReference())).thenReturn(Optional.of(first));
+        when(bookingRepository.findByBookingReference(second.getBookingReference())).thenReturn(Optional.of(second));
+
+        // When the first stay moves past its old check-out
+        bookingService.modifyBooking(first.getBookingReference(), checkIn.plusDays(3), checkIn.plusDays(5), null);
+
+        // Then
+        assertThat(first.getCheckIn()).isEqualTo(checkIn.plusDays(3));
+        assertThat(first.getStatus()).isEqualTo(BookingStatus.MODIFIED);
+        assertThatThrownBy(() -> bookingService.modifyBooking(second.getBookingReference(), checkIn.plusDays(4), null, null))
+                .isInstanceOf(RoomsUnavailableException.class);
+        assertThat(second.getCheckIn()).isEqualTo(checkIn.plusDays(5));
+
+        // When the first booking is cancelled, its nights are free again
+        bookingService.cancelBooking(first.getBookingReference().toLowerCase());
+        bookingService.modifyBooking(second.getBookingReference(), checkIn.plusDays(4), null, 3);
+
+        // Then
+        assertThat(first.getStatus()).isEqualTo(BookingStatus.CANCELLED);
+        assertThat(second.getCheckIn()).isEqualTo(checkIn.plusDays(4));
+        assertThat(second.getGuests()).isEqualTo(3);
+        assertThatThrownBy(() -> bookingService.cancelBooking(first.getBookingReference()))
+                .isInstanceOf(IllegalStateException.class);
+    }
+
+    // Keeps saved bookings in a list and answers the overlap query from it, like the database
+    private void storeBookings() {
+        List<Booking> stored = new ArrayList<>();
+        when(bookingRepository.save(any(Booking.class))).thenAnswer(invocation -> {
+            Booking booking = invocation.getArgument(0);
+            if (stored.stream().noneMatch(existing -> existing == booking)) {
+                stored.add(booking);
+            }
+            return booking;
+        });
+        when(bookingRepository.findOverlappingBookings(any(), any(), any())).thenAnswer(invocation -> {
+            LocalDate start = invocation.getArgument(1);
+            LocalDate end = invocation.getArgument(2);
+            return stored.stream()
+                    .filter(booking -> booking.getStatus() != BookingStatus.CANCELLED)
+                    .filter(booking -> !booking.getCheckIn().isAfter(end) && !booking.getCheckOut().isBefore(start))
+                    .toList();
+        });
+    }
 }
@@ -0,0 +1,103 @@
+package com.hotel.chatbot.service;
+
+import com.hotel.chatbot.dto.ChatJob;
+import com.hotel.chatbot.dto.ChatResponse;
+import com.hotel.chatbot.exception.ChatCapacityExceededException;
+import com.hotel.chatbot.exception.ChatJobNotFoundException;
+import com.hotel.chatbot.exception.LlmUnavailableException;
+import com.hotel.chatbot.support.MutableClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ChatJobService.
+ */
+@ExtendWith(MockitoExtension.class)
+class ChatJobServiceTest {
+
+    @Mock
+    private ChatService chatService;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-01T10:00:00Z"));
+
+    @Test
+    @DisplayName("Should queue a job and expose its result once the turn completes")
+    void submit_JobRuns_ResultAvailable() {
+        // Given
+        List<Runnable> pending = new ArrayList<>();
+        var jobService = new ChatJobService(chatService, pending::add, 10, Duration.ofMinutes(10), clock);
+        when(chatService.chat("Hotels in Goa", "session-1")).thenReturn(ChatResponse.textOnly("Found 3 hotels"));
+
+        // When
+        ChatJob queued = jobService.submit("Hotels in Goa", "session-1");
+        pending.forEach(Runnable::run);
+        ChatJob done = jobService.get(queued.jobId());
+
+        // Then
+        assertThat(queued.status()).isEqualTo(ChatJob.Status.QUEUED);
+        assertThat(done.status()).isEqualTo(ChatJob.Status.COMPLETED);
+        assertThat(done.result().message()).isEqualTo("Found 3 hotels");
+        assertThat(done.completedAt()).isEqualTo(clock.instant());
+    }
+
+    @Test
+    @DisplayName("Should mark a job failed when the model is unavailable")
+    void submit_ModelUnavailable_JobFails() {
+        // Given
+        var jobService = new ChatJobService(chatService, Runnable::run, 10, Duration.ofMinutes(10), clock);
+        when(chatService.chat("Hi", "session-1"))
+                .thenThrow(new LlmUnavailableException("The assistant is taking too long", Duration.ofSeconds(5)));
+
+        // When
+        ChatJob job = jobService.get(jobService.submit("Hi", "session-1").jobId());
+
+        // Then
+        assertThat(job.status()).isEqualTo(ChatJob.Status.FAILED);
+        assertThat(job.error()).contains("taking too long");
+        assertThat(jobService.stats()).containsEntry("failed", 1L);
+    }
+
+    @Test
+    @DisplayName("Should expire completed results after the TTL")
+    void get_AfterTtl_NotFound() {
+        // Given
+        var jobService = new ChatJobService(chatService, Runnable::run, 10, Duration.ofMinutes(10), clock);
+        when(chatService.chat("Hi", "session-1")).thenReturn(ChatResponse.textOnly("Hello!"));
+        String jobId = jobService.submit("Hi", "session-1").jobId();
+
+        // When
+        clock.advance(Duration.ofMinutes(11));
+
+        // Then
+        assertThatThrownBy(() -> jobService.get(jobId)).isInstanceOf(ChatJobNotFoundException.class);
+        assertThat(jobService.evictExpired()).isEqualTo(1);
+        assertThat(jobService.stats()).containsEntry("held", 0);
+    }
+
+    @Test
+    @DisplayName("Should reject submissions while the job store is full")
+    void submit_StoreFull_Rejects() {
+        // Given
+        List<Runnable> pending = new ArrayList<>();
+        var jobService = new ChatJobService(chatService, pending::add, 2, Duration.ofMinutes(10), clock);
+        jobService.submit("first", "session-1");
+        jobService.submit("second", "session-2");
+
+        // When/Then
+        assertThatThrownBy(() -> jobService.submit("third", "session-3"))
+                .isInstanceOf(ChatCapacityExceededException.class);
+        assertThat(jobService.stats()).containsEntry("queued", 2L).containsEntry("rejected", 1L);
+    }
+}
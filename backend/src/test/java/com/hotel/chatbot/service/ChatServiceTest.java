@@ -0,0 +1,144 @@
+package com.hotel.chatbot.service;
+
+import com.hotel.chatbot.dto.ChatResponse;
+import com.hotel.chatbot.dto.ChatStreamEvent;
+import com.hotel.chatbot.dto.HotelSearchResult;
+import com.hotel.chatbot.memory.ConversationCompactor;
+import com.hotel.chatbot.tool.BookingToolCallback;
+import com.hotel.chatbot.tool.BookingToolCallbacks;
+import com.hotel.chatbot.tool.ParallelToolCallingManager;
+import com.hotel.chatbot.tool.PlainTextResultConverter;
+import com.hotel.chatbot.tool.TurnContext;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.client.ChatClient;
+import org.springframework.ai.chat.memory.ChatMemory;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.model.ChatModel;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.chat.prompt.ChatOptions;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingChatOptions;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.function.FunctionToolCallback;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ChatService against a model that asks for two return-direct searches at once.
+ */
+class ChatServiceTest {
+
+    private final ParallelToolCallingManager toolCallingManager = new ParallelToolCallingManager(
+            ToolCallingManager.builder().build(), Set.of("searchHotels"));
+    private ChatService chatService;
+
+    @BeforeEach
+    void setUp() {
+        var bookingTools = mock(BookingToolCallbacks.class);
+        when(bookingTools.all()).thenReturn(List.of(searchHotels()));
+        chatService = new ChatService(ChatClient.builder(new TwoSearchesModel()).build(), bookingTools,
+                new LlmConcurrencyLimiter(4, 10, Duration.ofSeconds(5)), mock(ChatMemory.class),
+                mock(IntentRouter.class), mock(ConversationCompactor.class), mock(ResponseCache.class),
+                new SessionLanes(2, Duration.ofSeconds(5), true), mock(HotelSearchPrefetcher.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        toolCallingManager.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should answer with every search returned directly, matching the hotels in the response")
+    void chat_TwoDirectSearches_ReturnsBothResults() {
+        // When
+        ChatResponse response = chatService.chat("Hotels in Goa and Mumbai", "session-1");
+
+        // Then
+        assertThat(response.message()).isEqualTo("Found hotels in Goa\n\nFound hotels in Mumbai");
+        assertThat(response.hotels()).extracting(HotelSearchResult::city).containsExactly("Goa", "Mumbai");
+    }
+
+    @Test
+    @DisplayName("Should stream every search returned directly, matching the hotels in the response")
+    void streamChat_TwoDirectSearches_StreamsBothResults() {
+        // When
+        List<ChatStreamEvent> events = chatService.streamChat("Hotels in Goa and Mumbai", "session-1")
+                .collectList()
+                .block();
+
+        // Then
+        assertThat(events).hasSize(2);
+        assertThat(events.get(0).content()).isEqualTo("Found hotels in Goa\n\nFound hotels in Mumbai");
+        ChatResponse response = events.get(1).response();
+        assertThat(response.message()).isEqualTo("Found hotels in Goa\n\nFound hotels in Mumbai");
+        assertThat(response.hotels()).extracting(HotelSearchResult::city).containsExactly("Goa", "Mumbai");
+    }
+
+    /**
+     * Compact result for the model, rich rendering and hotels recorded for the client,
+     * as the real search tool does.
+     */
+    private static ToolCallback searchHotels() {
+        ToolCallback search = FunctionToolCallback.builder("searchHotels",
+                        (SearchRequest request, ToolContext toolContext) -> {
+                    String compact = "hotels city=" + request.city();
+                    TurnContext.from(toolContext).ifPresent(turn -> {
+                        turn.recordRendering(compact, "Found hotels in " + request.city());
+                        turn.setHotels(List.of(new HotelSearchResult(UUID.randomUUID(), "Grand " + request.city(),
+                                request.city(), null, 3000, "Double", null, true, 10)));
+                    });
+                    return compact;
+                })
+                .description("Search hotels in a city")
+                .inputType(SearchRequest.class)
+                .toolCallResultConverter(new PlainTextResultConverter())
+                .build();
+        return new BookingToolCallback(search, true, false);
+    }
+
+    /**
+     * Asks for two searches in one response and, as Spring AI's chat models do for
+     * return-direct tools, answers with one generation per tool result.
+     */
+    private class TwoSearchesModel implements ChatModel {
+
+        @Override
+        public org.springframework.ai.chat.model.ChatResponse call(Prompt prompt) {
+            var toolCalls = new AssistantMessage("", Map.of(), List.of(
+                    new AssistantMessage.ToolCall("1", "function", "searchHotels", "{\"city\":\"Goa\"}"),
+                    new AssistantMessage.ToolCall("2", "function", "searchHotels", "{\"city\":\"Mumbai\"}")));
+            ToolExecutionResult result = toolCallingManager.executeToolCalls(prompt,
+                    new org.springframework.ai.chat.model.ChatResponse(List.of(new Generation(toolCalls))));
+            assertThat(result.returnDirect()).isTrue();
+            return new org.springframework.ai.chat.model.ChatResponse(ToolExecutionResult.buildGenerations(result));
+        }
+
+        @Override
+        public Flux<org.springframework.ai.chat.model.ChatResponse> stream(Prompt prompt) {
+            return Flux.defer(() -> Flux.just(call(prompt)));
+        }
+
+        @Override
+        public ChatOptions getDefaultOptions() {
+            return ToolCallingChatOptions.builder().build();
+        }
+    }
+
+    record SearchRequest(String city) {
+    }
+}
@@ -0,0 +1,139 @@
+package com.hotel.chatbot.service;
+
+import com.hotel.chatbot.dto.HotelSearchResult;
+import com.hotel.chatbot.repository.HotelRepository;
+import com.hotel.chatbot.support.MutableClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.InstanceOfAssertFactories.list;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for HotelCatalogIndex.
+ */
+@ExtendWith(MockitoExtension.class)
+class HotelCatalogIndexTest {
+
+    private static final LocalDateTime LOADED_AT = LocalDateTime.of(2026, 3, 1, 9, 0);
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-01T10:00:00Z"));
+
+    @Test
+    @DisplayName("Should filter by city substring, price and room type, cheapest first")
+    void findAvailable_Filters_SortedByPrice() {
+        // Given
+        when(hotelRepository.findLatestUpdate()).thenReturn(Optional.of(LOADED_AT));
+        when(hotelRepository.findAllSearchResults()).thenReturn(List.of(
+                hotel("Delhi Grand", "Delhi", 5200, "Suite"),
+                hotel("Connaught Stay", "New Delhi", 2400, "Double"),
+                hotel("Karol Bagh Lodge", "Delhi", 1800, "Double"),
+                new HotelSearchResult(UUID.randomUUID(), "Closed Delhi Inn", "Delhi", null, 1500, "Single", null, false, 10),
+                hotel("Marina Bay Resort", "Chennai", 6800, "Suite")));
+        var index = new HotelCatalogIndex(hotelRepository, true, Duration.ofMinutes(15), clock);
+
+        // Then
+        assertThat(index.findAvailable(" delhi", null, null, null, 20))
+                .get(list(HotelSearchResult.class))
+                .extracting(HotelSearchResult::name)
+                .containsExactly("Karol Bagh Lodge", "Connaught Stay", "Delhi Grand");
+        assertThat(index.findAvailable("Delhi", null, 2400, null, 20))
+                .get(list(HotelSearchResult.class))
+                .extracting(HotelSearchResult::name)
+                .containsExactly("Karol Bagh Lodge", "Connaught Stay");
+        assertThat(index.findAvailable("DELHI", null, 3000, "double", 20))
+                .get(list(HotelSearchResult.class))
+                .extracting(HotelSearchResult::name)
+                .containsExactly("Karol Bagh Lodge", "Connaught Stay");
+        assertThat(index.findAvailable("Goa", null, null, null, 20)).get(list(HotelSearchResult.class)).isEmpty();
+        assertThat(index.stats()).containsEntry("hotels", 5).containsEntry("cities", 3).containsEntry("fullLoads", 1L);
+        assertThat(new HotelCatalogIndex(hotelRepository, false, Duration.ofMinutes(15), clock)
+                .findAvailable("Delhi", null, null, null, 20)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should keep only hotels within a price range, including those priced at either bound")
+    void findAvailable_PriceRange_BoundsInclusive() {
+        // Given
+        when(hotelRepository.findLatestUpdate()).thenReturn(Optional.of(LOADED_AT));
+        when(hotelRepository.findAllSearchResults()).thenReturn(List.of(
+                hotel("Karol Bagh Lodge", "Delhi", 1800, "Double"),
+                hotel("Connaught Stay", "Delhi", 2400, "Double"),
+                hotel("Paharganj Inn", "Delhi", 2400, "Single"),
+                hotel("Lodhi Residency", "Delhi", 3000, "Double"),
+                hotel("Delhi Grand", "Delhi", 5200, "Suite")));
+        var index = new HotelCatalogIndex(hotelRepository, true, Duration.ofMinutes(15), clock);
+
+        // Then
+        assertThat(index.findAvailable("Delhi", 2400, 3000, null, 20))
+                .get(list(HotelSearchResult.class))
+                .extracting(HotelSearchResult::name)
+                .containsExactlyInAnyOrder("Connaught Stay", "Paharganj Inn", "Lodhi Residency");
+        assertThat(index.findAvailable("Delhi", 2401, null, null, 20))
+                .get(list(HotelSearchResult.class))
+                .extracting(HotelSearchResult::name)
+                .containsExactly("Lodhi Residency", "Delhi Grand");
+        assertThat(index.findAvailable("Delhi", 6000, null, null, 20)).get(list(HotelSearchResult.class)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should apply changed hotels incrementally and reload fully once the interval passes")
+    void refresh_ChangedHotels_AppliedThenReloaded() {
+        // Given
+        var budget = hotel("Budget Stay Goa", "Goa", 1800, "Single");
+        var resort = hotel("Calangute Beach Resort", "Goa", 4200, "Double");
+        when(hotelRepository.findLatestUpdate()).thenReturn(Optional.of(LOADED_AT));
+        when(hotelRepository.findAllSearchResults()).thenReturn(List.of(budget, resort));
+        var index = new HotelCatalogIndex(hotelRepository, true, Duration.ofMinutes(15), clock);
+        index.reload();
+
+        var repriced = new HotelSearchResult(budget.id(), "Budget Stay Goa", "Goa", null, 5000, "Single", null, true, 10);
+        var added = hotel("Panaji Heritage", "Goa", 2500, "Double");
+        when(hotelRepository.findLatestUpdate()).thenReturn(Optional.of(LOADED_AT.plusMinutes(5)));
+        when(hotelRepository.findSearchResultsUpdatedAfter(LOADED_AT.minusSeconds(5)))
+                .thenReturn(List.of(repriced, added));
+
+        // When
+        clock.advance(Duration.ofMinutes(1));
+        index.refresh();
+
+        // Then
+        assertThat(index.findAvailable("Goa", null, null, null, 20))
+                .get(list(HotelSearchResult.class))
+                .extracting(HotelSearchResult::name)
+                .containsExactly("Panaji Heritage", "Calangute Beach Resort", "Budget Stay Goa");
+        assertThat(index.stats()).containsEntry("incrementalRefreshes", 1L).containsEntry("refreshedHotels", 2L);
+
+        // When the full reload is due and a hotel was deleted
+        when(hotelRepository.findAllSearchResults()).thenReturn(List.of(resort));
+        clock.advance(Duration.ofMinutes(15));
+        index.refresh();
+
+        // Then
+        assertThat(index.findAvailable("Goa", null, null, null, 20))
+                .get(list(HotelSearchResult.class))
+                .extracting(HotelSearchResult::name)
+                .containsExactly("Calangute Beach Resort");
+        verify(hotelRepository, times(2)).findAllSearchResults();
+    }
+
+    private static HotelSearchResult hotel(String name, String city, int price, String roomType) {
+        return new HotelSearchResult(UUID.randomUUID(), name, city, null, price, roomType, null, true, 10);
+    }
+}
@@ -0,0 +1,127 @@
+package com.hotel.chatbot.service;
+
+import com.hotel.chatbot.dto.HotelSearchResult;
+import com.hotel.chatbot.repository.HotelRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for HotelNameResolver.
+ */
+@ExtendWith(MockitoExtension.class)
+class HotelNameResolverTest {
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Test
+    @DisplayName("Should resolve misspelled and partial names within the city only")
+    void resolve_MisspelledName_MatchedInCity() {
+        // Given
+        var resolver = resolver(List.of(
+                hotel("Calangute Beach Resort", "Goa"),
+                hotel("Budget Stay Goa", "Goa"),
+                hotel("Taj Mahal Palace", "Mumbai"),
+                hotel("Marina Bay Resort", "Chennai")));
+
+        // Then
+        assertThat(resolver.resolve("Calangute Beach Resrt", "goa")).get()
+                .satisfies(resolution -> {
+                    assertThat(resolution.status()).isEqualTo(HotelNameResolver.Status.MATCHED);
+                    assertThat(resolution.hotel().name()).isEqualTo("Calangute Beach Resort");
+                    assertThat(resolution.score()).isBetween(0.5, 1.0);
+                });
+        assertThat(resolver.resolve("Taj", "Mumbai")).get()
+                .extracting(resolution -> resolution.hotel().name()).isEqualTo("Taj Mahal Palace");
+        assertThat(resolver.resolve("Marina Bay Resort", "Goa")).get()
+                .satisfies(resolution -> {
+                    assertThat(resolution.status()).isEqualTo(HotelNameResolver.Status.NOT_FOUND);
+                    assertThat(resolution.candidates()).extracting("name").containsExactly("Calangute Beach Resort");
+                });
+        assertThat(resolver.resolve("Grand Hyatt", "Goa")).get()
+                .extracting(HotelNameResolver.Resolution::status).isEqualTo(HotelNameResolver.Status.NOT_FOUND);
+        assertThat(resolver.stats()).containsEntry("matched", 2L).containsEntry("notFound", 2L);
+        assertThat(new HotelNameResolver(new HotelCatalogIndex(hotelRepository, false, Duration.ofMinutes(15),
+                Clock.systemUTC()), 0.5, 0.05).resolve("Taj", "Mumbai")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should ask which hotel is meant when names match about equally, unless one is exact")
+    void resolve_NearTiedNames_Ambiguous() {
+        // Given
+        var resolver = resolver(List.of(
+                hotel("Taj Lands End", "Mumbai"),
+                hotel("Taj Mahal Palace", "Mumbai"),
+                hotel("Taj Mahal Palace Tower", "Mumbai")));
+
+        // Then
+        assertThat(resolver.resolve("Taj Mahal", "Mumbai")).get()
+                .satisfies(resolution -> {
+                    assertThat(resolution.status()).isEqualTo(HotelNameResolver.Status.AMBIGUOUS);
+                    assertThat(resolution.candidates()).extracting("name")
+                            .containsExactlyInAnyOrder("Taj Mahal Palace", "Taj Mahal Palace Tower");
+                });
+        assertThat(resolver.resolve("taj mahal palace", "Mumbai")).get()
+                .satisfies(resolution -> {
+                    assertThat(resolution.status()).isEqualTo(HotelNameResolver.Status.MATCHED);
+                    assertThat(resolution.hotel().name()).isEqualTo("Taj Mahal Palace");
+                    assertThat(resolution.score()).isEqualTo(1.0);
+                });
+    }
+
+    @Test
+    @DisplayName("Should not resolve hotels that cannot be booked")
+    void resolve_UnavailableHotel_NotFound() {
+        // Given
+        var closed = new HotelSearchResult(UUID.randomUUID(), "Taj Mahal Palace", "Mumbai", null, 9000, "Suite",
+                null, false, 10);
+        var resolver = resolver(List.of(closed, hotel("Taj Lands End", "Mumbai")));
+
+        // Then
+        assertThat(resolver.resolve("Taj Mahal Palace", "Mumbai")).get()
+                .satisfies(resolution -> {
+                    assertThat(resolution.status()).isEqualTo(HotelNameResolver.Status.NOT_FOUND);
+                    assertThat(resolution.candidates()).extracting("name").doesNotContain("Taj Mahal Palace");
+                });
+    }
+
+    @Test
+    @DisplayName("Should find the right hotel in a large catalog of similar names")
+    void resolve_LargeCatalog_FindsRareName() {
+        // Given
+        List<HotelSearchResult> hotels = new ArrayList<>();
+        for (int i = 0; i < 20_000; i++) {
+            hotels.add(hotel("Grand Hotel " + i, i % 2 == 0 ? "Delhi" : "Mumbai"));
+        }
+        hotels.add(hotel("Grand Hotel Zanzibar", "Delhi"));
+        var resolver = resolver(hotels);
+
+        // Then
+        assertThat(resolver.resolve("Grand Hotel Zanzibr", "Delhi")).get()
+                .extracting(resolution -> resolution.hotel().name()).isEqualTo("Grand Hotel Zanzibar");
+    }
+
+    private HotelNameResolver resolver(List<HotelSearchResult> hotels) {
+        when(hotelRepository.findLatestUpdate()).thenReturn(Optional.empty());
+        when(hotelRepository.findAllSearchResults()).thenReturn(hotels);
+        var index = new HotelCatalogIndex(hotelRepository, true, Duration.ofMinutes(15), Clock.systemUTC());
+        return new HotelNameResolver(index, 0.5, 0.05);
+    }
+
+    private static HotelSearchResult hotel(String name, String city) {
+        return new HotelSearchResult(UUID.randomUUID(), name, city, null, 3000, "Double", null, true, 10);
+    }
+}
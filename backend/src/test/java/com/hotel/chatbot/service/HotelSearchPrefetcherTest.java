@@ -0,0 +1,147 @@
+package com.hotel.chatbot.service;
+
+import com.hotel.chatbot.dto.HotelSearchResult;
+import com.hotel.chatbot.entity.Hotel;
+import com.hotel.chatbot.repository.BookingRepository;
+import com.hotel.chatbot.repository.HotelRepository;
+import com.hotel.chatbot.repository.HotelSearchCriteria;
+import com.hotel.chatbot.tool.ToolResultFormatter;
+import com.hotel.chatbot.tool.ToolResultMemo;
+import com.hotel.chatbot.tool.TurnContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for HotelSearchPrefetcher.
+ */
+@ExtendWith(MockitoExtension.class)
+class HotelSearchPrefetcherTest {
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(hotelRepository.findDistinctCities()).thenReturn(List.of("Goa", "Chennai", "Delhi", "New Delhi"));
+    }
+
+    @Test
+    @DisplayName("Should detect a single catalog city as a whole word")
+    void detectCity_SingleCity_ReturnsCatalogName() {
+        // Given
+        var prefetcher = new HotelSearchPrefetcher(hotelRepository, Runnable::run, true, 4, 20);
+
+        // Then
+        assertThat(prefetcher.detectCity("Any beach hotels in goa next week?")).contains("Goa");
+        assertThat(prefetcher.detectCity("Something near the airport in New Delhi")).contains("New Delhi");
+        assertThat(prefetcher.detectCity("Goa or Chennai, which is better?")).isEmpty();
+        assertThat(prefetcher.detectCity("I love goan food")).isEmpty();
+        assertThat(prefetcher.detectCity("hello")).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should match catalog cities the way city searches do")
+    void matchesCatalogCity_MatchesAsSubstring() {
+        // Given
+        var prefetcher = new HotelSearchPrefetcher(hotelRepository, Runnable::run, true, 4, 20);
+
+        // Then
+        assertThat(prefetcher.matchesCatalogCity("goa")).isTrue();
+        assertThat(prefetcher.matchesCatalogCity(" Delhi ")).isTrue();
+        assertThat(prefetcher.matchesCatalogCity(null)).isTrue();
+        assertThat(prefetcher.matchesCatalogCity("near Marina Beach")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should serve the tool's city search from the prefetched result")
+    void searchHotels_MatchingCity_UsesPrefetch() {
+        // Given
+        var prefetcher = new HotelSearchPrefetcher(hotelRepository, Runnable::run, true, 4, 20);
+        var inventory = new InventoryService(bookingRepository, 730, Clock.systemDefaultZone());
+        var tools = new HotelBookingTools(hotelRepository, bookingRepository,
+                new BookingService(bookingRepository, hotelRepository, inventory), new ToolResultFormatter(ToolResultFormatter.Format.RICH),
+                prefetcher, new ToolResultMemo(false, Duration.ofMinutes(2), 100, Clock.systemUTC()),
+                new HotelCatalogIndex(hotelRepository, false, Duration.ofMinutes(15), Clock.systemUTC()),
+                new HotelNameResolver(new HotelCatalogIndex(hotelRepository, false, Duration.ofMinutes(15), Clock.systemUTC()),
+                        0.5, 0.05), inventory, 20);
+        var hotel = new Hotel("Sea View Resort", "Goa", 4500, "Double");
+        ReflectionTestUtils.setField(hotel, "id", UUID.randomUUID());
+        when(hotelRepository.search(HotelSearchCriteria.inCity("Goa"), ScrollPosition.keyset(), 20))
+                .thenReturn(Window.from(List.of(HotelSearchResult.fromEntity(hotel)), ScrollPosition::offset));
+        var turn = new TurnContext("session-1");
+
+        // When
+        prefetcher.prefetch("I need a hotel in Goa for the weekend", turn);
+        String result = tools.searchHotels("goa ", null, null, null, null, turn.toToolContext());
+        String hedged = tools.searchHotels("Goa", null, null, null, null, turn.toToolContext());
+
+        // Then
+        assertThat(result).contains("Sea View Resort");
+        assertThat(hedged).contains("Sea View Resort");
+        assertThat(turn.getHotels()).hasSize(1);
+        verify(hotelRepository, times(1)).search(any(), any(), anyInt());
+        assertThat(prefetcher.stats()).containsEntry("started", 1L).containsEntry("used", 2L);
+    }
+
+    @Test
+    @DisplayName("Should not serve a prefetch for another city or another turn")
+    void take_DifferentCityOrTurn_Empty() {
+        // Given
+        var prefetcher = new HotelSearchPrefetcher(hotelRepository, Runnable::run, true, 4, 20);
+        when(hotelRepository.search(HotelSearchCriteria.inCity("Goa"), ScrollPosition.keyset(), 20))
+                .thenReturn(Window.from(List.of(), ScrollPosition::offset));
+        var turn = new TurnContext("session-1");
+        prefetcher.prefetch("hotels in Goa please", turn);
+
+        // Then
+        assertThat(prefetcher.take("Chennai", turn.toToolContext())).isEmpty();
+        assertThat(prefetcher.take("Goa", new TurnContext("session-1").toToolContext())).isEmpty();
+        assertThat(prefetcher.take("Goa", null)).isEmpty();
+        assertThat(prefetcher.take("Goa", turn.toToolContext())).contains(List.of());
+    }
+
+    @Test
+    @DisplayName("Should skip prefetching once the in-flight cap is reached")
+    void prefetch_AtCap_Skips() {
+        // Given
+        List<Runnable> pending = new ArrayList<>();
+        var prefetcher = new HotelSearchPrefetcher(hotelRepository, pending::add, true, 1, 20);
+
+        // When
+        prefetcher.prefetch("hotels in Goa", new TurnContext("session-1"));
+        prefetcher.prefetch("hotels in Chennai", new TurnContext("session-2"));
+
+        // Then
+        assertThat(pending).hasSize(1);
+        assertThat(prefetcher.stats())
+                .containsEntry("started", 1L)
+                .containsEntry("skipped", 1L)
+                .containsEntry("inFlight", 1);
+        verify(hotelRepository, never()).search(any(), any(), anyInt());
+    }
+}
@@ -0,0 +1,114 @@
+package com.hotel.chatbot.service;
+
+import com.hotel.chatbot.tool.TurnContext;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.ai.chat.model.ToolContext;
+
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for IntentRouter.
+ */
+@ExtendWith(MockitoExtension.class)
+class IntentRouterTest {
+
+    @Mock
+    private HotelBookingTools bookingTools;
+
+    private IntentRouter router;
+    private final TurnContext turn = new TurnContext("session-1");
+
+    @BeforeEach
+    void setUp() {
+        router = new IntentRouter(bookingTools, true);
+    }
+
+    @Test
+    @DisplayName("Should cancel directly when given a booking reference")
+    void route_CancelCommand_CallsCancelBooking() {
+        // Given
+        when(bookingTools.cancelBooking(eq("HBK-2026-00123"), any(ToolContext.class))).thenReturn("cancelled");
+
+        // When
+        Optional<String> reply = router.route("Please cancel my booking hbk-2026-00123.", turn);
+
+        // Then
+        assertThat(reply).contains("cancelled");
+        assertThat(router.stats()).containsEntry("cancelBooking", 1L);
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"show booking HBK-2026-00042", "get me the booking details for HBK-2026-00042", "HBK-2026-00042"})
+    @DisplayName("Should fetch booking details directly")
+    void route_ShowCommand_CallsGetBookingDetails(String message) {
+        // Given
+        when(bookingTools.getBookingDetails(eq("HBK-2026-00042"), any(ToolContext.class))).thenReturn("details");
+
+        // When
+        Optional<String> reply = router.route(message, turn);
+
+        // Then
+        assertThat(reply).contains("details");
+    }
+
+    @Test
+    @DisplayName("Should search hotels directly for a plain city request")
+    void route_HotelsInCity_CallsSearchHotels() {
+        // Given
+        when(bookingTools.searchHotels(eq("New Delhi"), isNull(), isNull(), isNull(), isNull(), any(ToolContext.class))).thenReturn("hotels");
+
+        // When
+        Optional<String> reply = router.route("show me hotels in New Delhi", turn);
+
+        // Then
+        assertThat(reply).contains("hotels");
+        verify(bookingTools).searchHotels(eq("New Delhi"), isNull(), isNull(), isNull(), isNull(), any(ToolContext.class));
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {
+            "hotels in Goa under 5000",
+            "hotels in Goa next weekend",
+            "cancel HBK-2026-00123 and HBK-2026-00124",
+            "can you cancel HBK-2026-00123 if the refund is full?",
+            "I want to book a hotel in Chennai"
+    })
+    @DisplayName("Should leave ambiguous or constrained requests to the LLM")
+    void route_AmbiguousMessage_ReturnsEmpty(String message) {
+        // When
+        Optional<String> reply = router.route(message, turn);
+
+        // Then
+        assertThat(reply).isEmpty();
+        verifyNoInteractions(bookingTools);
+    }
+
+    @Test
+    @DisplayName("Should not route anything when disabled")
+    void route_Disabled_ReturnsEmpty() {
+        // Given
+        router = new IntentRouter(bookingTools, false);
+
+        // When
+        Optional<String> reply = router.route("cancel HBK-2026-00123", turn);
+
+        // Then
+        assertThat(reply).isEmpty();
+        verifyNoInteractions(bookingTools);
+    }
+}
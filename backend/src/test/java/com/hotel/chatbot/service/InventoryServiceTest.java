@@ -0,0 +1,114 @@
+package com.hotel.chatbot.service;
+
+import com.hotel.chatbot.repository.BookedStay;
+import com.hotel.chatbot.repository.BookingRepository;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for InventoryService.
+ */
+@ExtendWith(MockitoExtension.class)
+class InventoryServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.of(2026, 3, 1);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private final Clock clock = Clock.fixed(Instant.parse("2026-03-01T10:00:00Z"), ZoneOffset.UTC);
+
+    @Test
+    @DisplayName("Should count rooms left per night from current bookings, loaded once")
+    void remainingRooms_LoadedStays_CountedPerNight() {
+        // Given
+        UUID hotel = UUID.randomUUID();
+        UUID other = UUID.randomUUID();
+        when(bookingRepository.findActiveStays(TODAY)).thenReturn(List.of(
+                new BookedStay(hotel, TODAY.minusDays(2), TODAY.plusDays(1)),
+                new BookedStay(hotel, TODAY.plusDays(1), TODAY.plusDays(4)),
+                new BookedStay(hotel, TODAY.plusDays(2), TODAY.plusDays(3)),
+                new BookedStay(other, TODAY.plusDays(2), TODAY.plusDays(3))));
+        var inventory = new InventoryService(bookingRepository, 365, clock);
+
+        // Then
+        assertThat(inventory.remainingRooms(hotel, 3, TODAY, TODAY.plusDays(1))).isEqualTo(2);
+        assertThat(inventory.remainingRooms(hotel, 3, TODAY.plusDays(1), TODAY.plusDays(4))).isEqualTo(1);
+        assertThat(inventory.remainingRooms(hotel, 3, TODAY.plusDays(3), TODAY.plusDays(10))).isEqualTo(2);
+        assertThat(inventory.isAvailable(hotel, 2, TODAY.plusDays(2), TODAY.plusDays(3))).isFalse();
+        assertThat(inventory.isAvailable(UUID.randomUUID(), 1, TODAY, TODAY.plusDays(30))).isTrue();
+        assertThat(inventory.stats()).containsEntry("hotels", 2);
+        verify(bookingRepository).findActiveStays(TODAY);
+    }
+
+    @Test
+    @DisplayName("Should apply booking changes once committed, drop them on rollback and refuse stays past the horizon")
+    void reserved_AppliedOnCommit_RoomTakenOnlyThen() {
+        // Given
+        UUID hotel = UUID.randomUUID();
+        when(bookingRepository.findActiveStays(TODAY)).thenReturn(List.of());
+        var inventory = new InventoryService(bookingRepository, 365, clock);
+        inventory.reserved(hotel, TODAY.plusDays(1), TODAY.plusDays(3));
+
+        // When a move commits and a release rolls back
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            inventory.moved(hotel, TODAY.plusDays(1), TODAY.plusDays(3), TODAY.plusDays(5), TODAY.plusDays(7));
+            assertThat(inventory.isAvailable(hotel, 1, TODAY.plusDays(5), TODAY.plusDays(7))).isTrue();
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            inventory.released(hotel, TODAY.plusDays(5), TODAY.plusDays(7));
+            TransactionSynchronizationManager.getSynchronizations()
+                    .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertThat(inventory.isAvailable(hotel, 1, TODAY.plusDays(1), TODAY.plusDays(3))).isTrue();
+        assertThat(inventory.isAvailable(hotel, 1, TODAY.plusDays(5), TODAY.plusDays(7))).isFalse();
+        assertThatThrownBy(() -> inventory.checkHorizon(TODAY.plusDays(401)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(inventory.stats()).containsEntry("reservations", 2L).containsEntry("releases", 0L);
+    }
+
+    @Test
+    @DisplayName("Should replace the calendars with the bookings in the database on reload")
+    void load_Reloaded_PicksUpOtherInstancesBookings() {
+        // Given
+        UUID hotel = UUID.randomUUID();
+        when(bookingRepository.findActiveStays(TODAY))
+                .thenReturn(List.of())
+                .thenReturn(List.of(new BookedStay(hotel, TODAY, TODAY.plusDays(2))));
+        var inventory = new InventoryService(bookingRepository, 365, clock);
+        assertThat(inventory.isAvailable(hotel, 1, TODAY, TODAY.plusDays(1))).isTrue();
+
+        // When
+        inventory.load();
+
+        // Then
+        assertThat(inventory.isAvailable(hotel, 1, TODAY, TODAY.plusDays(1))).isFalse();
+        assertThat(inventory.stats()).containsEntry("reloads", 2L);
+    }
+}
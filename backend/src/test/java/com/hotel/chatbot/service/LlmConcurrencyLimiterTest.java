@@ -0,0 +1,108 @@
+package com.hotel.chatbot.service;
+
+import com.hotel.chatbot.exception.ChatCapacityExceededException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for LlmConcurrencyLimiter.
+ */
+class LlmConcurrencyLimiterTest {
+
+    @Test
+    @DisplayName("Should run the call and release the permit")
+    void execute_ReleasesPermitAfterCall() {
+        // Given
+        var limiter = new LlmConcurrencyLimiter(1, 10, Duration.ofMillis(100));
+
+        // When
+        String first = limiter.execute(() -> "first");
+        String second = limiter.execute(() -> "second");
+
+        // Then
+        assertThat(first).isEqualTo("first");
+        assertThat(second).isEqualTo("second");
+        assertThat(limiter.stats()).containsEntry("inFlight", 0).containsEntry("acquired", 2L);
+    }
+
+    @Test
+    @DisplayName("Should time out when no permit frees up")
+    void execute_PermitsExhausted_TimesOut() throws Exception {
+        // Given
+        var limiter = new LlmConcurrencyLimiter(1, 10, Duration.ofMillis(50));
+        var holding = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> limiter.execute(() -> {
+                holding.countDown();
+                awaitQuietly(release);
+                return null;
+            }));
+            assertThat(holding.await(1, TimeUnit.SECONDS)).isTrue();
+
+            // When/Then
+            assertThatThrownBy(() -> limiter.execute(() -> "blocked"))
+                    .isInstanceOf(ChatCapacityExceededException.class);
+            assertThat(limiter.stats()).containsEntry("timedOut", 1L);
+
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject immediately when the wait queue is full")
+    void execute_QueueFull_Rejects() throws Exception {
+        // Given
+        var limiter = new LlmConcurrencyLimiter(1, 0, Duration.ofSeconds(5));
+        var holding = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> limiter.execute(() -> {
+                holding.countDown();
+                awaitQuietly(release);
+                return null;
+            }));
+            assertThat(holding.await(1, TimeUnit.SECONDS)).isTrue();
+
+            // When/Then
+            assertThatThrownBy(() -> limiter.execute(() -> "rejected"))
+                    .isInstanceOf(ChatCapacityExceededException.class);
+            assertThat(limiter.stats()).containsEntry("rejected", 1L);
+
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should release the permit when a stream completes")
+    void executeStream_ReleasesPermitOnCompletion() {
+        // Given
+        var limiter = new LlmConcurrencyLimiter(1, 10, Duration.ofMillis(100));
+
+        // When
+        var tokens = limiter.executeStream(() -> Flux.just("a", "b", "c")).collectList().block();
+
+        // Then
+        assertThat(tokens).containsExactly("a", "b", "c");
+        assertThat(limiter.stats()).containsEntry("inFlight", 0);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
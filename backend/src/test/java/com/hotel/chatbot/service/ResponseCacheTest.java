@@ -0,0 +1,80 @@
+package com.hotel.chatbot.service;
+
+import com.hotel.chatbot.support.MutableClock;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ResponseCache.
+ */
+class ResponseCacheTest {
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-01T10:00:00Z"));
+
+    @Test
+    @DisplayName("Should serve normalized variants of a cached question")
+    void get_NormalizedVariant_Hits() {
+        // Given
+        var cache = new ResponseCache(true, 10, Duration.ofHours(1), 200, clock);
+        cache.put("What can you do?", "I can search and book hotels.");
+
+        // When/Then
+        assertThat(cache.get("  what   CAN you do ")).contains("I can search and book hotels.");
+        assertThat(cache.get("what can you book")).isEmpty();
+        assertThat(cache.stats()).containsEntry("hits", 1L).containsEntry("misses", 1L);
+    }
+
+    @Test
+    @DisplayName("Should expire entries after the TTL")
+    void get_AfterTtl_Misses() {
+        // Given
+        var cache = new ResponseCache(true, 10, Duration.ofHours(1), 200, clock);
+        cache.put("hello", "Hi there!");
+
+        // When
+        clock.advance(Duration.ofMinutes(61));
+
+        // Then
+        assertThat(cache.get("hello")).isEmpty();
+        assertThat(cache.stats()).containsEntry("size", 0).containsEntry("evictions", 1L);
+    }
+
+    @Test
+    @DisplayName("Should evict the least recently used entry beyond the size limit")
+    void put_OverCapacity_EvictsLeastRecentlyUsed() {
+        // Given
+        var cache = new ResponseCache(true, 2, Duration.ofHours(1), 200, clock);
+        cache.put("first", "1");
+        cache.put("second", "2");
+        cache.get("first");
+
+        // When
+        cache.put("third", "3");
+
+        // Then
+        assertThat(cache.get("first")).contains("1");
+        assertThat(cache.get("second")).isEmpty();
+        assertThat(cache.get("third")).contains("3");
+    }
+
+    @Test
+    @DisplayName("Should not cache long messages or anything when disabled")
+    void put_NotCacheable_IsIgnored() {
+        // Given
+        var cache = new ResponseCache(true, 10, Duration.ofHours(1), 10, clock);
+        var disabled = new ResponseCache(false, 10, Duration.ofHours(1), 200, clock);
+
+        // When
+        cache.put("a message that is far too long", "answer");
+        disabled.put("hello", "Hi there!");
+
+        // Then
+        assertThat(cache.stats()).containsEntry("size", 0);
+        assertThat(disabled.get("hello")).isEmpty();
+    }
+}
@@ -0,0 +1,146 @@
+package com.hotel.chatbot.service;
+
+import com.hotel.chatbot.exception.SessionBusyException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for SessionLanes.
+ */
+class SessionLanesTest {
+
+    @Test
+    @DisplayName("Should run turns of one session in order while other sessions proceed")
+    void execute_SameSession_RunsSerially() throws Exception {
+        // Given
+        var lanes = new SessionLanes(2, Duration.ofSeconds(5), true);
+        var holding = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        List<String> order = new CopyOnWriteArrayList<>();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> lanes.execute("session-1", "book the suite", () -> {
+                holding.countDown();
+                awaitQuietly(release);
+                order.add("first");
+                return null;
+            }));
+            assertThat(holding.await(1, TimeUnit.SECONDS)).isTrue();
+            Future<?> second = executor.submit(() -> lanes.execute("session-1", "and breakfast", () -> order.add("second")));
+            awaitStat(lanes, "queued", 1L);
+
+            // When
+            String other = lanes.execute("session-2", "hello", () -> "other session");
+            release.countDown();
+            second.get(1, TimeUnit.SECONDS);
+
+            // Then
+            assertThat(other).isEqualTo("other session");
+            assertThat(order).containsExactly("first", "second");
+        }
+    }
+
+    @Test
+    @DisplayName("Should let a duplicate in-flight message share the first answer")
+    void execute_DuplicateMessage_Coalesces() throws Exception {
+        // Given
+        var lanes = new SessionLanes(2, Duration.ofSeconds(5), true);
+        var holding = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+        var runs = new AtomicInteger();
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<String> first = executor.submit(() -> lanes.execute("session-1", "Book Sea View", () -> {
+                runs.incrementAndGet();
+                holding.countDown();
+                awaitQuietly(release);
+                return "Booked HBK-2026-00123";
+            }));
+            assertThat(holding.await(1, TimeUnit.SECONDS)).isTrue();
+
+            // When
+            Future<String> duplicate = executor.submit(() -> lanes.execute("session-1", "book sea view ", () -> {
+                runs.incrementAndGet();
+                return "Booked again";
+            }));
+            awaitStat(lanes, "coalesced", 1L);
+            release.countDown();
+
+            // Then
+            assertThat(first.get(1, TimeUnit.SECONDS)).isEqualTo("Booked HBK-2026-00123");
+            assertThat(duplicate.get(1, TimeUnit.SECONDS)).isEqualTo("Booked HBK-2026-00123");
+            assertThat(runs).hasValue(1);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject turns beyond the session's queue depth")
+    void execute_LaneFull_Rejects() throws Exception {
+        // Given
+        var lanes = new SessionLanes(1, Duration.ofSeconds(5), true);
+        var holding = new CountDownLatch(1);
+        var release = new CountDownLatch(1);
+
+        try (var executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            executor.submit(() -> lanes.execute("session-1", "first", () -> {
+                holding.countDown();
+                awaitQuietly(release);
+                return null;
+            }));
+            assertThat(holding.await(1, TimeUnit.SECONDS)).isTrue();
+            executor.submit(() -> lanes.execute("session-1", "second", () -> null));
+            awaitStat(lanes, "queued", 1L);
+
+            // When/Then
+            assertThatThrownBy(() -> lanes.execute("session-1", "third", () -> null))
+                    .isInstanceOf(SessionBusyException.class);
+            assertThat(lanes.stats()).containsEntry("rejected", 1L);
+
+            release.countDown();
+        }
+    }
+
+    @Test
+    @DisplayName("Should free the lane when a stream completes")
+    void executeStream_ReleasesLaneOnCompletion() {
+        // Given
+        var lanes = new SessionLanes(2, Duration.ofSeconds(5), true);
+
+        // When
+        var tokens = lanes.executeStream("session-1", "hi", () -> Flux.just("a", "b")).collectList().block();
+        String next = lanes.execute("session-1", "hi", () -> "next turn");
+
+        // Then
+        assertThat(tokens).containsExactly("a", "b");
+        assertThat(next).isEqualTo("next turn");
+        assertThat(lanes.stats()).containsEntry("activeSessions", 0);
+    }
+
+    private static void awaitStat(SessionLanes lanes, String key, long value) throws InterruptedException {
+        for (int i = 0; i < 100 && !lanes.stats().get(key).equals(value); i++) {
+            Thread.sleep(10);
+        }
+        assertThat(lanes.stats()).containsEntry(key, value);
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
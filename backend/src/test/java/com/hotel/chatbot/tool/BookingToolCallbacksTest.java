@@ -0,0 +1,165 @@
+package com.hotel.chatbot.tool;
+
+import com.hotel.chatbot.dto.HotelSearchResult;
+import com.hotel.chatbot.entity.Booking;
+import com.hotel.chatbot.entity.Hotel;
+import com.hotel.chatbot.repository.BookingRepository;
+import com.hotel.chatbot.repository.HotelRepository;
+import com.hotel.chatbot.repository.HotelSearchCriteria;
+import com.hotel.chatbot.service.BookingService;
+import com.hotel.chatbot.service.HotelBookingTools;
+import com.hotel.chatbot.service.HotelCatalogIndex;
+import com.hotel.chatbot.service.HotelNameResolver;
+import com.hotel.chatbot.service.HotelSearchPrefetcher;
+import com.hotel.chatbot.service.InventoryService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for BookingToolCallbacks.
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingToolCallbacksTest {
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private BookingToolCallbacks callbacks;
+
+    @BeforeEach
+    void setUp() {
+        callbacks = callbacksWithFormat(ToolResultFormatter.Format.RICH);
+    }
+
+    @Test
+    @DisplayName("Should mark only the configured tools as return-direct")
+    void all_AppliesReturnDirectPerTool() {
+        // Then
+        assertThat(callbacks.all()).hasSize(5);
+        assertThat(callbacks.get("searchHotels").getToolMetadata().returnDirect()).isTrue();
+        assertThat(callbacks.get("cancelBooking").getToolMetadata().returnDirect()).isTrue();
+        assertThat(callbacks.get("modifyBooking").getToolMetadata().returnDirect()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should record structured search results in the turn context")
+    void searchHotels_RecordsHotelsInTurnContext() {
+        // Given
+        var hotel = new Hotel("Sea View Resort", "Goa", 4500, "Double");
+        ReflectionTestUtils.setField(hotel, "id", UUID.randomUUID());
+        when(hotelRepository.findDistinctCities()).thenReturn(List.of("Goa"));
+        when(hotelRepository.search(HotelSearchCriteria.inCity("Goa"), ScrollPosition.keyset(), 20))
+                .thenReturn(Window.from(List.of(HotelSearchResult.fromEntity(hotel)), ScrollPosition::offset));
+        var turn = new TurnContext("session-1");
+
+        // When
+        String result = callbacks.get("searchHotels").call("{\"city\":\"Goa\"}", turn.toToolContext());
+
+        // Then
+        assertThat(result).startsWith("Found 1 hotel(s) in Goa").contains("**Sea View Resort**");
+        var response = turn.toResponse(result);
+        assertThat(response.hotels()).singleElement()
+                .satisfies(h -> assertThat(h.name()).isEqualTo("Sea View Resort"));
+        assertThat(response.bookingInfo()).isNull();
+    }
+
+    @Test
+    @DisplayName("Should give the model compact output and the client the rich rendering")
+    void searchHotels_CompactFormat_KeepsRichRenderingForClient() {
+        // Given
+        callbacks = callbacksWithFormat(ToolResultFormatter.Format.COMPACT);
+        var hotel = new Hotel("Sea View Resort", "Goa", 4500, "Double");
+        ReflectionTestUtils.setField(hotel, "id", UUID.randomUUID());
+        when(hotelRepository.findDistinctCities()).thenReturn(List.of("Goa"));
+        when(hotelRepository.search(HotelSearchCriteria.inCity("Goa"), ScrollPosition.keyset(), 20))
+                .thenReturn(Window.from(List.of(HotelSearchResult.fromEntity(hotel)), ScrollPosition::offset));
+        var turn = new TurnContext("session-1");
+
+        // When
+        String result = callbacks.get("searchHotels").call("{\"city\":\"Goa\"}", turn.toToolContext());
+
+        // Then
+        assertThat(result).startsWith("hotels city=Goa count=1").contains("Sea View Resort|Goa|Double|4500|-");
+        assertThat(turn.toResponse(result).message()).startsWith("Found 1 hotel(s) in Goa");
+        assertThat(turn.toResponse("Sea View Resort looks great").message()).isEqualTo("Sea View Resort looks great");
+    }
+
+    @Test
+    @DisplayName("Should search a location that is not a catalog city by full text, without a city search first")
+    void searchHotels_NotCatalogCity_SearchesByLocationOnly() {
+        // Given
+        var hotel = new Hotel("Bandra Bay View", "Mumbai", 5800, "Double");
+        ReflectionTestUtils.setField(hotel, "id", UUID.randomUUID());
+        when(hotelRepository.findDistinctCities()).thenReturn(List.of("Goa", "Mumbai"));
+        when(hotelRepository.searchByLocation("Bandra West", null, null, null, 20))
+                .thenReturn(List.of(HotelSearchResult.fromEntity(hotel)));
+        var turn = new TurnContext("session-1");
+
+        // When
+        callbacks.get("searchHotels").call("{\"city\":\"Bandra West\"}", turn.toToolContext());
+
+        // Then
+        assertThat(turn.getHotels()).extracting(HotelSearchResult::name).containsExactly("Bandra Bay View");
+        verify(hotelRepository, never()).search(any(), any(), anyInt());
+    }
+
+    @Test
+    @DisplayName("Should run a mutating tool once per turn for the same arguments")
+    void cancelBooking_RepeatedInSameTurn_RunsOnce() {
+        // Given
+        var hotel = new Hotel("Sea View Resort", "Goa", 4500, "Double");
+        ReflectionTestUtils.setField(hotel, "id", UUID.randomUUID());
+        var booking = new Booking("HBK-2026-00123", hotel, LocalDate.of(2026, 3, 10), LocalDate.of(2026, 3, 12), 2);
+        when(bookingRepository.findByBookingReference("HBK-2026-00123")).thenReturn(Optional.of(booking));
+        var turn = new TurnContext("session-1");
+        var cancel = callbacks.get("cancelBooking");
+
+        // When
+        String first = cancel.call("{\"bookingReference\":\"HBK-2026-00123\"}", turn.toToolContext());
+        String repeat = cancel.call("{ \"bookingReference\" : \"HBK-2026-00123\" }", turn.toToolContext());
+        String nextTurn = cancel.call("{\"bookingReference\":\"HBK-2026-00123\"}", new TurnContext("session-1").toToolContext());
+
+        // Then
+        assertThat(repeat).isEqualTo(first);
+        assertThat(nextTurn).isNotEqualTo(first).contains("already been cancelled");
+        verify(bookingRepository, times(1)).save(booking);
+    }
+
+    private BookingToolCallbacks callbacksWithFormat(ToolResultFormatter.Format format) {
+        var inventory = new InventoryService(bookingRepository, 730, Clock.systemDefaultZone());
+        var tools = new HotelBookingTools(hotelRepository, bookingRepository,
+                new BookingService(bookingRepository, hotelRepository, inventory), new ToolResultFormatter(format),
+                new HotelSearchPrefetcher(hotelRepository, Runnable::run, false, 1, 20),
+                new ToolResultMemo(false, Duration.ofMinutes(2), 100, Clock.systemUTC()),
+                new HotelCatalogIndex(hotelRepository, false, Duration.ofMinutes(15), Clock.systemUTC()),
+                new HotelNameResolver(new HotelCatalogIndex(hotelRepository, false, Duration.ofMinutes(15), Clock.systemUTC()),
+                        0.5, 0.05), inventory, 20);
+        return new BookingToolCallbacks(tools, Set.of("searchHotels", "cancelBooking"));
+    }
+}
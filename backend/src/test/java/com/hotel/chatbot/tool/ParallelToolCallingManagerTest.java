@@ -0,0 +1,171 @@
+package com.hotel.chatbot.tool;
+
+import com.hotel.chatbot.dto.HotelSearchResult;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.ai.chat.messages.AssistantMessage;
+import org.springframework.ai.chat.messages.ToolResponseMessage;
+import org.springframework.ai.chat.messages.UserMessage;
+import org.springframework.ai.chat.model.ChatResponse;
+import org.springframework.ai.chat.model.Generation;
+import org.springframework.ai.chat.model.ToolContext;
+import org.springframework.ai.chat.prompt.Prompt;
+import org.springframework.ai.model.tool.ToolCallingManager;
+import org.springframework.ai.model.tool.ToolExecutionResult;
+import org.springframework.ai.ollama.api.OllamaOptions;
+import org.springframework.ai.tool.ToolCallback;
+import org.springframework.ai.tool.function.FunctionToolCallback;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ParallelToolCallingManager.
+ */
+class ParallelToolCallingManagerTest {
+
+    private final List<String> events = new CopyOnWriteArrayList<>();
+    // Released once two searches are running at the same time
+    private final CountDownLatch searchesOverlap = new CountDownLatch(2);
+
+    private final TurnContext turn = new TurnContext("session-1");
+
+    private final ParallelToolCallingManager manager = new ParallelToolCallingManager(
+            ToolCallingManager.builder().build(), Set.of("searchHotels", "getBookingDetails"));
+
+    @AfterEach
+    void tearDown() {
+        manager.shutdown();
+    }
+
+    @Test
+    @DisplayName("Should run consecutive read-only calls together and mutating calls alone, answering in call order")
+    void executeToolCalls_MixedCalls_ParallelReadsSerialMutations() {
+        // Given
+        var response = toolCalls(
+                new AssistantMessage.ToolCall("1", "function", "searchHotels", "{\"city\":\"Goa\"}"),
+                new AssistantMessage.ToolCall("2", "function", "searchHotels", "{\"city\":\"Mumbai\"}"),
+                new AssistantMessage.ToolCall("3", "function", "cancelBooking", "{\"reference\":\"HBK-1\"}"),
+                new AssistantMessage.ToolCall("4", "function", "cancelBooking", "{\"reference\":\"HBK-2\"}"),
+                new AssistantMessage.ToolCall("5", "function", "searchHotels", "{\"city\":\"Delhi\"}"));
+
+        // When
+        ToolExecutionResult result = manager.executeToolCalls(prompt(), response);
+
+        // Then
+        assertThat(result.conversationHistory()).hasSize(3);
+        var toolResponses = (ToolResponseMessage) result.conversationHistory().get(2);
+        assertThat(toolResponses.getResponses()).extracting(ToolResponseMessage.ToolResponse::id)
+                .containsExactly("1", "2", "3", "4", "5");
+        assertThat(toolResponses.getResponses().get(0).responseData()).contains("Goa: together");
+        assertThat(toolResponses.getResponses().get(1).responseData()).contains("Mumbai: together");
+        assertThat(toolResponses.getResponses().get(3).responseData()).contains("HBK-2 cancelled");
+        assertThat(events.subList(events.size() - 6, events.size())).containsExactly(
+                "start HBK-1", "end HBK-1", "start HBK-2", "end HBK-2", "start Delhi", "end Delhi");
+        assertThat(manager.stats())
+                .containsEntry("parallelBatches", 1L)
+                .containsEntry("parallelCalls", 2L)
+                .containsEntry("serialCalls", 3L);
+    }
+
+    @Test
+    @DisplayName("Should keep the hotels of every concurrent search in call order")
+    void executeToolCalls_ConcurrentSearches_MergeHotelsInCallOrder() {
+        // Given
+        var response = toolCalls(
+                new AssistantMessage.ToolCall("1", "function", "searchHotels", "{\"city\":\"Goa\"}"),
+                new AssistantMessage.ToolCall("2", "function", "searchHotels", "{\"city\":\"Mumbai\"}"));
+
+        // When
+        manager.executeToolCalls(prompt(), response);
+
+        // Then
+        assertThat(events).endsWith("end Mumbai", "end Goa");
+        assertThat(turn.getHotels()).extracting(HotelSearchResult::city).containsExactly("Goa", "Mumbai");
+    }
+
+    @Test
+    @DisplayName("Should leave responses without consecutive read-only calls to the default manager")
+    void executeToolCalls_NoParallelRun_Delegates() {
+        // Given
+        var response = toolCalls(
+                new AssistantMessage.ToolCall("1", "function", "searchHotels", "{\"city\":\"Goa\"}"),
+                new AssistantMessage.ToolCall("2", "function", "cancelBooking", "{\"reference\":\"HBK-1\"}"));
+
+        // When
+        ToolExecutionResult result = manager.executeToolCalls(prompt(), response);
+
+        // Then
+        var toolResponses = (ToolResponseMessage) result.conversationHistory().get(2);
+        assertThat(toolResponses.getResponses()).extracting(ToolResponseMessage.ToolResponse::name)
+                .containsExactly("searchHotels", "cancelBooking");
+        assertThat(toolResponses.getResponses().get(0).responseData()).contains("Goa: alone");
+        assertThat(manager.stats()).containsEntry("parallelBatches", 0L).containsEntry("serialCalls", 2L);
+    }
+
+    private Prompt prompt() {
+        ToolCallback searchHotels = FunctionToolCallback.builder("searchHotels",
+                        (SearchRequest request, ToolContext toolContext) -> {
+                    events.add("start " + request.city());
+                    searchesOverlap.countDown();
+                    boolean together = await(searchesOverlap);
+                    if ("Goa".equals(request.city())) {
+                        // Finish after the other searches
+                        await(new CountDownLatch(1), 100);
+                    }
+                    TurnContext.from(toolContext).ifPresent(t -> t.setHotels(List.of(hotel(request.city()))));
+                    events.add("end " + request.city());
+                    return request.city() + ": " + (together ? "together" : "alone");
+                })
+                .description("Search hotels in a city")
+                .inputType(SearchRequest.class)
+                .build();
+        ToolCallback cancelBooking = FunctionToolCallback.builder("cancelBooking", (CancelRequest request) -> {
+                    events.add("start " + request.reference());
+                    events.add("end " + request.reference());
+                    return request.reference() + " cancelled";
+                })
+                .description("Cancel a booking")
+                .inputType(CancelRequest.class)
+                .build();
+        return new Prompt(new UserMessage("Hotels in Goa and Mumbai, and cancel my bookings"),
+                OllamaOptions.builder()
+                        .toolCallbacks(searchHotels, cancelBooking)
+                        .toolContext(turn.asToolContext())
+                        .build());
+    }
+
+    private static ChatResponse toolCalls(AssistantMessage.ToolCall... toolCalls) {
+        return new ChatResponse(List.of(new Generation(new AssistantMessage("", Map.of(), List.of(toolCalls)))));
+    }
+
+    private static HotelSearchResult hotel(String city) {
+        return new HotelSearchResult(city.toLowerCase(), "Grand " + city, city, null, 3000, "Double", null, true, 10);
+    }
+
+    private static boolean await(CountDownLatch latch) {
+        return await(latch, 500);
+    }
+
+    private static boolean await(CountDownLatch latch, long millis) {
+        try {
+            return latch.await(millis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    record SearchRequest(String city) {
+    }
+
+    record CancelRequest(String reference) {
+    }
+}
@@ -0,0 +1,48 @@
+package com.hotel.chatbot.tool;
+
+import com.hotel.chatbot.entity.Booking;
+import com.hotel.chatbot.entity.Hotel;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for ToolResultFormatter.
+ */
+class ToolResultFormatterTest {
+
+    private final Booking booking = new Booking("HBK-2026-00042",
+            new Hotel("Marina Bay Inn", "Chennai", 3000, "Double"),
+            LocalDate.of(2026, 3, 10), LocalDate.of(2026, 3, 12), 2);
+
+    @Test
+    @DisplayName("Should render bookings as a single key=value line in compact form")
+    void bookingDetails_CompactForm_IsKeyValue() {
+        // Given
+        var formatter = new ToolResultFormatter(ToolResultFormatter.Format.COMPACT);
+
+        // When
+        String text = formatter.forModel(formatter.bookingDetails(booking));
+
+        // Then
+        assertThat(text).isEqualTo("booking ref=HBK-2026-00042 status=CONFIRMED hotel=\"Marina Bay Inn\" city=Chennai"
+                + " room=Double checkIn=2026-03-10 checkOut=2026-03-12 nights=2 guests=2 totalInr=6000\n");
+    }
+
+    @Test
+    @DisplayName("Should keep the decorated text for the model in rich form")
+    void bookingDetails_RichForm_IsDecorated() {
+        // Given
+        var formatter = new ToolResultFormatter(ToolResultFormatter.Format.RICH);
+
+        // When
+        var rendering = formatter.bookingDetails(booking);
+
+        // Then
+        assertThat(formatter.forModel(rendering)).isEqualTo(rendering.rich()).contains("**HBK-2026-00042**");
+        assertThat(rendering.compact().length()).isLessThan(rendering.rich().length());
+    }
+}
@@ -0,0 +1,137 @@
+package com.hotel.chatbot.tool;
+
+import com.hotel.chatbot.dto.HotelSearchResult;
+import com.hotel.chatbot.entity.Booking;
+import com.hotel.chatbot.entity.BookingStatus;
+import com.hotel.chatbot.entity.Hotel;
+import com.hotel.chatbot.repository.BookingRepository;
+import com.hotel.chatbot.repository.HotelRepository;
+import com.hotel.chatbot.repository.HotelSearchCriteria;
+import com.hotel.chatbot.service.BookingService;
+import com.hotel.chatbot.service.HotelBookingTools;
+import com.hotel.chatbot.service.HotelCatalogIndex;
+import com.hotel.chatbot.service.HotelNameResolver;
+import com.hotel.chatbot.service.HotelSearchPrefetcher;
+import com.hotel.chatbot.service.InventoryService;
+import com.hotel.chatbot.support.MutableClock;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Window;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Unit tests for ToolResultMemo around the booking tools.
+ */
+@ExtendWith(MockitoExtension.class)
+class ToolResultMemoTest {
+
+    @Mock
+    private HotelRepository hotelRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private final MutableClock clock = new MutableClock(Instant.parse("2026-03-01T10:00:00Z"));
+    private ToolResultMemo memo;
+    private HotelBookingTools tools;
+
+    @BeforeEach
+    void setUp() {
+        memo = new ToolResultMemo(true, Duration.ofMinutes(2), 100, clock);
+        var inventory = new InventoryService(bookingRepository, 730, Clock.systemDefaultZone());
+        tools = new HotelBookingTools(hotelRepository, bookingRepository, new BookingService(bookingRepository, hotelRepository, inventory),
+                new ToolResultFormatter(ToolResultFormatter.Format.COMPACT),
+                new HotelSearchPrefetcher(hotelRepository, Runnable::run, false, 1, 20), memo,
+                new HotelCatalogIndex(hotelRepository, false, Duration.ofMinutes(15), Clock.systemUTC()),
+                new HotelNameResolver(new HotelCatalogIndex(hotelRepository, false, Duration.ofMinutes(15), Clock.systemUTC()),
+                        0.5, 0.05), inventory, 20);
+    }
+
+    @Test
+    @DisplayName("Should replay a repeated search within the session until the entry expires")
+    void searchHotels_RepeatedInSession_ReplaysOutcome() {
+        // Given
+        var hotel = new Hotel("Sea View Resort", "Goa", 4500, "Double");
+        ReflectionTestUtils.setField(hotel, "id", UUID.randomUUID());
+        when(hotelRepository.findDistinctCities()).thenReturn(List.of("Goa"));
+        when(hotelRepository.search(HotelSearchCriteria.inCity("Goa"), ScrollPosition.keyset(), 20))
+                .thenReturn(Window.from(List.of(HotelSearchResult.fromEntity(hotel)), ScrollPosition::offset));
+        var firstTurn = new TurnContext("session-1");
+        var nextTurn = new TurnContext("session-1");
+
+        // When
+        String first = tools.searchHotels("Goa", null, null, null, null, firstTurn.toToolContext());
+        String repeat = tools.searchHotels(" goa", null, null, null, null, firstTurn.toToolContext());
+        String replayed = tools.searchHotels("Goa", null, null, null, null, nextTurn.toToolContext());
+
+        // Then
+        assertThat(repeat).isEqualTo(first);
+        assertThat(replayed).isEqualTo(first);
+        assertThat(nextTurn.toResponse(replayed).message()).startsWith("Found 1 hotel(s) in Goa");
+        assertThat(nextTurn.getHotels()).singleElement()
+                .satisfies(h -> assertThat(h.name()).isEqualTo("Sea View Resort"));
+        verify(hotelRepository, times(1)).search(any(), any(), anyInt());
+
+        // When another session searches, and the entry expires
+        tools.searchHotels("Goa", null, null, null, null, new TurnContext("session-2").toToolContext());
+        clock.advance(Duration.ofMinutes(3));
+        tools.searchHotels("Goa", null, null, null, null, new TurnContext("session-1").toToolContext());
+
+        // Then
+        verify(hotelRepository, times(3)).search(any(), any(), anyInt());
+        assertThat(memo.stats()).containsEntry("hits", 2L).containsEntry("misses", 3L);
+
+        // When a search for dates is repeated
+        String checkIn = LocalDate.now().plusDays(10).toString();
+        String checkOut = LocalDate.now().plusDays(12).toString();
+        tools.searchHotels("Goa", null, null, checkIn, checkOut, nextTurn.toToolContext());
+        tools.searchHotels("Goa", null, null, checkIn, checkOut, nextTurn.toToolContext());
+
+        // Then it runs each time, since bookings may have changed the rooms left
+        verify(hotelRepository, times(5)).search(any(), any(), anyInt());
+        assertThat(memo.stats()).containsEntry("hits", 2L).containsEntry("misses", 3L);
+    }
+
+    @Test
+    @DisplayName("Should drop remembered booking reads once the booking is cancelled")
+    void getBookingDetails_AfterCancel_ReadsAgain() {
+        // Given
+        var hotel = new Hotel("Sea View Resort", "Goa", 4500, "Double");
+        ReflectionTestUtils.setField(hotel, "id", UUID.randomUUID());
+        var booking = new Booking("HBK-2026-00123", hotel, LocalDate.of(2026, 3, 10), LocalDate.of(2026, 3, 12), 2);
+        when(bookingRepository.findByBookingReference("HBK-2026-00123")).thenReturn(Optional.of(booking));
+        var turn = new TurnContext("session-1");
+        tools.getBookingDetails("HBK-2026-00123", turn.toToolContext());
+        tools.getBookingDetails("hbk-2026-00123", turn.toToolContext());
+
+        // When
+        tools.cancelBooking("HBK-2026-00123", new TurnContext("session-2").toToolContext());
+        var nextTurn = new TurnContext("session-1");
+        tools.getBookingDetails("HBK-2026-00123", nextTurn.toToolContext());
+
+        // Then
+        verify(bookingRepository, times(3)).findByBookingReference("HBK-2026-00123");
+        assertThat(nextTurn.getBookingInfo().status()).isEqualTo(BookingStatus.CANCELLED);
+        assertThat(memo.stats()).containsEntry("hits", 1L).containsEntry("invalidations", 1L);
+    }
+}
@@ -27,11 +27,19 @@ CREATE TABLE IF NOT EXISTS hotels (
     price_per_night INTEGER NOT NULL,
     room_type VARCHAR(50) NOT NULL,
     availability BOOLEAN DEFAULT TRUE,
+    total_rooms INTEGER NOT NULL DEFAULT 10 CHECK (total_rooms >= 0),
     rating DECIMAL(2,1),
     amenities TEXT[],
-    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP,
+    updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
 );
 
+-- Hotels created before updated_at existed
+ALTER TABLE hotels ADD COLUMN IF NOT EXISTS updated_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP;
+
+-- Hotels created before room inventory existed
+ALTER TABLE hotels ADD COLUMN IF NOT EXISTS total_rooms INTEGER NOT NULL DEFAULT 10;
+
 -- Bookings table
 CREATE TABLE IF NOT EXISTS bookings (
     booking_id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
@@ -51,13 +59,26 @@ CREATE TABLE IF NOT EXISTS bookings (
     CONSTRAINT valid_status CHECK (status IN ('CONFIRMED', 'CANCELLED', 'MODIFIED'))
 );
 
+-- Chat messages table (durable conversation memory)
+CREATE TABLE IF NOT EXISTS chat_messages (
+    message_id UUID PRIMARY KEY DEFAULT uuid_generate_v4(),
+    conversation_id VARCHAR(100) NOT NULL,
+    message_type VARCHAR(20) NOT NULL,
+    content TEXT,
+    sequence BIGINT NOT NULL,
+    created_at TIMESTAMP DEFAULT CURRENT_TIMESTAMP
+);
+
 -- Create indexes for common queries
 CREATE INDEX IF NOT EXISTS idx_hotels_city ON hotels(city);
 CREATE INDEX IF NOT EXISTS idx_hotels_availability ON hotels(availability);
 CREATE INDEX IF NOT EXISTS idx_hotels_price ON hotels(price_per_night);
+CREATE INDEX IF NOT EXISTS idx_hotels_updated_at ON hotels(updated_at);
 CREATE INDEX IF NOT EXISTS idx_bookings_user ON bookings(user_id);
 CREATE INDEX IF NOT EXISTS idx_bookings_status ON bookings(status);
 CREATE INDEX IF NOT EXISTS idx_bookings_reference ON bookings(booking_reference);
+CREATE INDEX IF NOT EXISTS idx_bookings_check_out ON bookings(check_out);
+CREATE INDEX IF NOT EXISTS idx_chat_messages_conversation ON chat_messages(conversation_id, sequence);
 
 -- Full text search index for hotel location queries
 CREATE INDEX IF NOT EXISTS idx_hotels_city_search ON hotels USING gin(to_tsvector('english', city || ' ' || COALESCE(address, '')));